@@ -27,6 +27,7 @@ package org.geysermc.geyser.platform.mod.world;
 
 import com.github.steveice10.mc.protocol.data.game.entity.player.GameMode;
 import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityInfo;
+import com.google.common.collect.MapMaker;
 import net.minecraft.SharedConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.ByteArrayTag;
@@ -59,10 +60,12 @@ import net.minecraft.world.level.chunk.ChunkStatus;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtMapBuilder;
 import org.cloudburstmc.nbt.NbtType;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.erosion.util.LecternUtils;
 import org.geysermc.geyser.level.GeyserWorldManager;
 import org.geysermc.geyser.network.GameProtocol;
@@ -72,11 +75,16 @@ import org.geysermc.geyser.util.BlockEntityUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 public class GeyserModWorldManager extends GeyserWorldManager {
     private final MinecraftServer server;
+    /**
+     * The server player of each session, so lookups don't have to go through the player list every time.
+     */
+    private final Map<GeyserSession, ServerPlayer> players = new MapMaker().weakKeys().makeMap();
 
     public GeyserModWorldManager(MinecraftServer server) {
         this.server = server;
@@ -106,16 +114,78 @@ public class GeyserModWorldManager extends GeyserWorldManager {
             return 0;
         }
 
+        LevelChunkSection section = getSection(level, chunk, y);
+        if (section != null) {
+            return Block.getId(section.getBlockState(x & 15, y & 15, z & 15));
+        }
+
+        return 0;
+    }
+
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        if (SharedConstants.getCurrentVersion().getProtocolVersion() != GameProtocol.getJavaProtocolVersion()) {
+            return super.getBlocksAt(session, iter);
+        }
+
+        int[] blocks = new int[iter.getMaxIterations()];
+        ServerPlayer player = this.getPlayer(session);
+        if (player == null) {
+            return blocks; // All air
+        }
+
+        Level level = player.level();
+        int minY = level.getMinBuildHeight();
+
+        // Only look up the chunk and section again when the position leaves the current one
+        ChunkAccess chunk = null;
+        LevelChunkSection section = null;
+        int chunkX = Integer.MIN_VALUE;
+        int chunkZ = Integer.MIN_VALUE;
+        int sectionY = Integer.MIN_VALUE;
+        for (; iter.hasNext(); iter.next()) {
+            int x = iter.getX();
+            int y = iter.getY();
+            int z = iter.getZ();
+            if (y < minY) {
+                continue;
+            }
+
+            if (chunkX != x >> 4 || chunkZ != z >> 4) {
+                chunkX = x >> 4;
+                chunkZ = z >> 4;
+                chunk = level.getChunkSource().getChunk(chunkX, chunkZ, ChunkStatus.FULL, false);
+                sectionY = Integer.MIN_VALUE;
+            }
+            if (chunk == null) {
+                continue;
+            }
+            if (sectionY != y >> 4) {
+                sectionY = y >> 4;
+                section = getSection(level, chunk, y);
+            }
+
+            if (section != null) {
+                blocks[iter.getIteration()] = Block.getId(section.getBlockState(x & 15, y & 15, z & 15));
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * @return the section of this chunk containing the given Y coordinate, or null if it only contains air
+     */
+    private static @Nullable LevelChunkSection getSection(Level level, ChunkAccess chunk, int y) {
         int worldOffset = level.getMinBuildHeight() >> 4;
         int chunkOffset = (y >> 4) - worldOffset;
-        if (chunkOffset < chunk.getSections().length) {
-            LevelChunkSection section = chunk.getSections()[chunkOffset];
+        LevelChunkSection[] sections = chunk.getSections();
+        if (chunkOffset >= 0 && chunkOffset < sections.length) {
+            LevelChunkSection section = sections[chunkOffset];
             if (section != null && !section.hasOnlyAir()) {
-                return Block.getId(section.getBlockState(x & 15, y & 15, z & 15));
+                return section;
             }
         }
-
-        return 0;
+        return null;
     }
 
     @Override
@@ -253,8 +323,18 @@ public class GeyserModWorldManager extends GeyserWorldManager {
         return future;
     }
 
-    private ServerPlayer getPlayer(GeyserSession session) {
-        return server.getPlayerList().getPlayer(session.getPlayerEntity().getUuid());
+    private @Nullable ServerPlayer getPlayer(GeyserSession session) {
+        ServerPlayer player = players.get(session);
+        // The server replaces the player entity when they respawn
+        if (player == null || player.isRemoved()) {
+            player = server.getPlayerList().getPlayer(session.getPlayerEntity().getUuid());
+            if (player == null) {
+                players.remove(session);
+                return null;
+            }
+            players.put(session, player);
+        }
+        return player;
     }
 
     // Future considerations: option to clone; would affect arrays
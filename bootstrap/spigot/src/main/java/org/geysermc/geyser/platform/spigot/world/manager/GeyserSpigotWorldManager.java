@@ -28,10 +28,14 @@ package org.geysermc.geyser.platform.spigot.world.manager;
 import com.github.steveice10.mc.protocol.data.game.entity.player.GameMode;
 import com.github.steveice10.mc.protocol.data.game.level.block.BlockEntityInfo;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -41,6 +45,7 @@ import org.geysermc.erosion.bukkit.BukkitLecterns;
 import org.geysermc.erosion.bukkit.BukkitUtils;
 import org.geysermc.erosion.bukkit.PickBlockUtils;
 import org.geysermc.erosion.bukkit.SchedulerUtils;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.level.GameRule;
 import org.geysermc.geyser.level.WorldManager;
@@ -50,6 +55,7 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.BlockEntityUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
@@ -59,16 +65,59 @@ import java.util.concurrent.CompletableFuture;
 public class GeyserSpigotWorldManager extends WorldManager {
     private final Plugin plugin;
     private final BukkitLecterns lecterns;
+    /**
+     * Every block state of the server mapped to its Java network ID. Block data is compared by its underlying
+     * server block state, so this avoids serializing the block data to a string for every lookup.
+     * <p>
+     * Built when the world manager is created on the server thread, as creating block data may touch server state
+     * that isn't safe to use from the network threads that look blocks up.
+     */
+    private final Object2IntMap<BlockData> blockDataToId;
+    /**
+     * The Bukkit player of each session, so lookups don't have to search the online players every time.
+     */
+    private final Map<GeyserSession, Player> players = new MapMaker().weakKeys().makeMap();
 
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
         this.lecterns = new BukkitLecterns(plugin);
+        this.blockDataToId = buildBlockDataToId();
+    }
+
+    private static Object2IntMap<BlockData> buildBlockDataToId() {
+        Object2IntMap<String> identifierToId = BlockRegistries.JAVA_IDENTIFIER_TO_ID.get();
+        Object2IntMap<BlockData> blockDataToId = new Object2IntOpenHashMap<>(identifierToId.size());
+        blockDataToId.defaultReturnValue(-1);
+        for (Object2IntMap.Entry<String> entry : identifierToId.object2IntEntrySet()) {
+            try {
+                blockDataToId.put(Bukkit.createBlockData(entry.getKey()), entry.getIntValue());
+            } catch (IllegalArgumentException ignored) {
+                // This block state does not exist on this server version; it'll be looked up by string if it appears
+            }
+        }
+        return blockDataToId;
+    }
+
+    /**
+     * @return the Bukkit player of this session, or null if they are not online
+     */
+    protected @Nullable Player getPlayer(GeyserSession session) {
+        Player bukkitPlayer = players.get(session);
+        if (bukkitPlayer == null || !bukkitPlayer.isOnline()) {
+            bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername());
+            if (bukkitPlayer == null) {
+                players.remove(session);
+                return null;
+            }
+            players.put(session, bukkitPlayer);
+        }
+        return bukkitPlayer;
     }
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return BlockStateValues.JAVA_AIR_ID;
         }
         World world = bukkitPlayer.getWorld();
@@ -80,14 +129,56 @@ public class GeyserSpigotWorldManager extends WorldManager {
         return getBlockNetworkId(world.getBlockAt(x, y, z));
     }
 
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        int[] blocks = new int[iter.getMaxIterations()];
+        Player bukkitPlayer;
+        if ((bukkitPlayer = getPlayer(session)) == null) {
+            return blocks; // All air
+        }
+        World world = bukkitPlayer.getWorld();
+
+        // The positions are walked chunk column by chunk column, so only look up a chunk when it changes.
+        // A chunk that isn't loaded stays null until the next chunk is reached.
+        Chunk chunk = null;
+        boolean ownedChunk = false;
+        int chunkX = Integer.MIN_VALUE;
+        int chunkZ = Integer.MIN_VALUE;
+        for (; iter.hasNext(); iter.next()) {
+            int x = iter.getX();
+            int z = iter.getZ();
+            if (chunkX != x >> 4 || chunkZ != z >> 4) {
+                chunkX = x >> 4;
+                chunkZ = z >> 4;
+                chunk = world.isChunkLoaded(chunkX, chunkZ) ? world.getChunkAt(chunkX, chunkZ) : null;
+                ownedChunk = !SchedulerUtils.FOLIA || Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ);
+            }
+            if (chunk == null) {
+                blocks[iter.getIteration()] = BlockStateValues.JAVA_AIR_ID;
+                continue;
+            }
+            Block block = chunk.getBlock(x & 15, iter.getY(), z & 15);
+            blocks[iter.getIteration()] = ownedChunk ? getNetworkId(block.getBlockData()) : getBlockNetworkId(block);
+        }
+        return blocks;
+    }
+
     public int getBlockNetworkId(Block block) {
         if (SchedulerUtils.FOLIA && !Bukkit.isOwnedByCurrentRegion(block)) {
             // Terrible behavior, but this is basically what's always been happening behind the scenes anyway.
-            CompletableFuture<String> blockData = new CompletableFuture<>();
-            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData().getAsString()));
-            return BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(blockData.join(), BlockStateValues.JAVA_AIR_ID);
+            CompletableFuture<BlockData> blockData = new CompletableFuture<>();
+            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData()));
+            return getNetworkId(blockData.join());
+        }
+        return getNetworkId(block.getBlockData());
+    }
+
+    private int getNetworkId(BlockData blockData) {
+        int id = blockDataToId.getInt(blockData);
+        if (id == -1) {
+            return BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(blockData.getAsString(), BlockStateValues.JAVA_AIR_ID);
         }
-        return BlockRegistries.JAVA_IDENTIFIER_TO_ID.getOrDefault(block.getBlockData().getAsString(), BlockStateValues.JAVA_AIR_ID);
+        return id;
     }
 
     @Override
@@ -98,7 +189,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
     @Override
     public void sendLecternData(GeyserSession session, int x, int y, int z) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return;
         }
 
@@ -109,7 +200,7 @@ public class GeyserSpigotWorldManager extends WorldManager {
 
     public void sendLecternData(GeyserSession session, int x, int z, List<BlockEntityInfo> blockEntityInfos) {
         Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        if ((bukkitPlayer = getPlayer(session)) == null) {
             return;
         }
         if (SchedulerUtils.FOLIA) {
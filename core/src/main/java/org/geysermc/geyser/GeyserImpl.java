@@ -54,8 +54,6 @@ import org.geysermc.floodgate.crypto.FloodgateCipher;
 import org.geysermc.floodgate.news.NewsItemAction;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.command.CommandSource;
-import org.geysermc.geyser.api.event.EventBus;
-import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.event.lifecycle.*;
 import org.geysermc.geyser.api.network.AuthType;
 import org.geysermc.geyser.api.network.BedrockListener;
@@ -71,11 +69,12 @@ import org.geysermc.geyser.extension.GeyserExtensionManager;
 import org.geysermc.geyser.impl.MinecraftVersionImpl;
 import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.network.GameProtocol;
+import org.geysermc.geyser.network.JoinPacketCache;
 import org.geysermc.geyser.network.netty.GeyserServer;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.registry.populator.StartupTasks;
 import org.geysermc.geyser.registry.provider.ProviderSupplier;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionManager;
@@ -84,6 +83,7 @@ import org.geysermc.geyser.skin.ProvidedSkins;
 import org.geysermc.geyser.skin.SkinProvider;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.MinecraftLocale;
+import org.geysermc.geyser.translator.protocol.java.JavaCommandsTranslator;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.*;
 
@@ -152,7 +152,7 @@ public class GeyserImpl implements GeyserApi {
     private final PlatformType platformType;
     private final GeyserBootstrap bootstrap;
 
-    private final EventBus<EventRegistrar> eventBus;
+    private final GeyserEventBus eventBus;
     private final GeyserExtensionManager extensionManager;
 
     private Metrics metrics;
@@ -209,11 +209,11 @@ public class GeyserImpl implements GeyserApi {
         logger.info("******************************************");
 
         /* Initialize registries */
-        Registries.init();
-        BlockRegistries.init();
+        StartupTasks.run("Registries", Registries::init);
+        StartupTasks.run("BlockRegistries", BlockRegistries::init);
 
         /* Initialize translators */
-        EntityDefinitions.init();
+        StartupTasks.run("entity definitions", EntityDefinitions::init);
         MessageTranslator.init();
 
         // Download the latest asset list and cache it
@@ -224,14 +224,19 @@ public class GeyserImpl implements GeyserApi {
 
             MinecraftLocale.ensureEN_US();
             String locale = GeyserLocale.getDefaultLocale();
+            CompletableFuture<Void> defaultLocale;
             if (!"en_us".equals(locale)) {
                 // English will be loaded after assets are downloaded, if necessary
-                MinecraftLocale.downloadAndLoadLocale(locale);
+                defaultLocale = MinecraftLocale.downloadAndLoadLocale(locale);
+            } else {
+                defaultLocale = CompletableFuture.completedFuture(null);
             }
 
-            ProvidedSkins.init();
+            defaultLocale.whenComplete((ignored, localeException) -> {
+                ProvidedSkins.init();
 
-            CompletableFuture.runAsync(AssetUtils::downloadAndRunClientJarTasks);
+                CompletableFuture.runAsync(AssetUtils::downloadAndRunClientJarTasks);
+            });
         });
 
         startInstance();
@@ -265,8 +270,6 @@ public class GeyserImpl implements GeyserApi {
         GeyserLogger logger = bootstrap.getGeyserLogger();
         GeyserConfiguration config = bootstrap.getGeyserConfig();
 
-        ScoreboardUpdater.init();
-
         SkinProvider.registerCacheImageTask(this);
 
         Registries.RESOURCE_PACKS.load();
@@ -670,6 +673,9 @@ public class GeyserImpl implements GeyserApi {
         this.eventBus.fire(new GeyserPreReloadEvent(this.extensionManager, this.eventBus));
 
         bootstrap.onGeyserDisable();
+        // Translations shared between sessions may depend on the old configuration, mappings or extensions
+        JavaCommandsTranslator.invalidateCommandCache();
+        JoinPacketCache.clear();
         bootstrap.onGeyserEnable();
 
         isReloading = false;
@@ -710,7 +716,7 @@ public class GeyserImpl implements GeyserApi {
 
     @Override
     @NonNull
-    public EventBus<EventRegistrar> eventBus() {
+    public GeyserEventBus eventBus() {
         return this.eventBus;
     }
 
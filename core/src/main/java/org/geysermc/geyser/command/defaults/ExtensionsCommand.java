@@ -56,11 +56,16 @@ public class ExtensionsCommand extends GeyserCommand {
 
         this.geyser.extensionManager().extensions().stream().sorted(Comparator.comparing(Extension::name)).forEach(extension -> {
             String extensionName = (extension.isEnabled() ? ChatColor.GREEN : ChatColor.RED) + extension.name();
-            sender.sendMessage("- " + extensionName + ChatColor.RESET + " v" + extension.description().version() + formatAuthors(extension.description().authors()));
+            sender.sendMessage("- " + extensionName + ChatColor.RESET + " v" + extension.description().version() + formatAuthors(extension.description().authors())
+                    + formatLoadTime(this.geyser.extensionManager().loadTime(extension)));
         });
     }
 
     private String formatAuthors(List<String> authors) {
         return authors.isEmpty() ? "" : " by: " + String.join(", ", authors);
     }
+
+    private String formatLoadTime(long loadTime) {
+        return loadTime < 0 ? "" : ChatColor.GRAY + " (" + loadTime + "ms)";
+    }
 }
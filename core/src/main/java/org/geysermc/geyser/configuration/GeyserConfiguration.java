@@ -177,6 +177,8 @@ public interface GeyserConfiguration {
 
     boolean isDisableCompression();
 
+    boolean isSharedChunkCache();
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
@@ -338,6 +338,9 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("disable-compression")
     private boolean isDisableCompression = true;
 
+    @JsonProperty("shared-chunk-cache")
+    private boolean sharedChunkCache = false;
+
     @JsonProperty("config-version")
     private int configVersion = 0;
 
@@ -28,6 +28,7 @@ package org.geysermc.geyser.dump;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.CacheStats;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.Files;
@@ -41,9 +42,15 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
+import org.geysermc.geyser.level.chunk.SectionStore;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.AsteriskSerializer;
+import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
+import org.geysermc.geyser.translator.protocol.java.JavaCommandsTranslator;
+import org.geysermc.geyser.translator.protocol.java.JavaUpdateRecipesTranslator;
+import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.CpuUtils;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
@@ -84,6 +91,8 @@ public class DumpInfo {
     private final BootstrapDumpInfo bootstrapInfo;
     private final FlagsInfo flagsInfo;
     private final List<ExtensionInfo> extensionInfo;
+    private final CacheInfo cacheInfo;
+    private final ChunkCacheInfo chunkCacheInfo;
 
     public DumpInfo(boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -135,8 +144,12 @@ public class DumpInfo {
 
         this.extensionInfo = new ArrayList<>();
         for (Extension extension : GeyserApi.api().extensionManager().extensions()) {
-            this.extensionInfo.add(new ExtensionInfo(extension.isEnabled(), extension.name(), extension.description().version(), extension.description().apiVersion(), extension.description().main(), extension.description().authors()));
+            this.extensionInfo.add(new ExtensionInfo(extension.isEnabled(), extension.name(), extension.description().version(), extension.description().apiVersion(), extension.description().main(), extension.description().authors(),
+                    GeyserImpl.getInstance().extensionManager().loadTime(extension)));
         }
+
+        this.cacheInfo = new CacheInfo();
+        this.chunkCacheInfo = new ChunkCacheInfo();
     }
 
     @Getter
@@ -278,7 +291,36 @@ public class DumpInfo {
         }
     }
 
-    public record ExtensionInfo(boolean enabled, String name, String version, String apiVersion, String main, List<String> authors) {
+    /**
+     * @param loadTime the time it took to load the extension in milliseconds, or -1 if unknown
+     */
+    public record ExtensionInfo(boolean enabled, String name, String version, String apiVersion, String main, List<String> authors, long loadTime) {
+    }
+
+    public record CacheInfo(CacheStatsInfo messageConversion, CacheStatsInfo itemTranslation, CacheStatsInfo recipes, CacheStatsInfo commands) {
+        public CacheInfo() {
+            this(new CacheStatsInfo(MessageTranslator.getConversionCacheStats(), MessageTranslator.getConversionCacheSize()),
+                    new CacheStatsInfo(ItemTranslator.getItemCacheStats(), ItemTranslator.getItemCacheSize()),
+                    new CacheStatsInfo(JavaUpdateRecipesTranslator.getRecipeCacheStats(), JavaUpdateRecipesTranslator.getRecipeCacheSize()),
+                    new CacheStatsInfo(JavaCommandsTranslator.getCommandCacheStats(), JavaCommandsTranslator.getCommandCacheSize()));
+        }
+    }
+
+    /**
+     * @param sessionsSizeInBytes the sum of all session chunk caches, counting shared sections once per session
+     */
+    public record ChunkCacheInfo(int uniqueSections, long uniqueSizeInBytes, long sessionsSizeInBytes, long sharedColumns, long divergentColumns) {
+        public ChunkCacheInfo() {
+            this(SectionStore.getSectionCount(), SectionStore.getSizeInBytes(), GeyserImpl.getInstance().getSessionManager().getAllSessions()
+                    .stream().mapToLong(session -> session.getChunkCache().getSizeInBytes()).sum(),
+                    SharedChunkStore.getSharedColumns(), SharedChunkStore.getDivergentColumns());
+        }
+    }
+
+    public record CacheStatsInfo(long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+        public CacheStatsInfo(CacheStats stats, long size) {
+            this(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+        }
     }
 
     public record GitInfo(String buildNumber, @JsonProperty("git.commit.id.abbrev") String commitHashAbbrev, @JsonProperty("git.commit.id") String commitHash,
@@ -52,7 +52,6 @@ public final class GeyserboundHandshakePacketHandler extends AbstractGeyserbound
         } else {
             handler.onConnect();
         }
-        session.ensureInEventLoop(() -> session.getChunkCache().clear());
     }
 
     @Override
@@ -33,17 +33,20 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.protocol.bedrock.data.SoundEvent;
 import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
 import org.geysermc.erosion.packet.ErosionPacketHandler;
 import org.geysermc.erosion.packet.ErosionPacketSender;
+import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
+import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundInitializePacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundPacket;
 import org.geysermc.erosion.packet.geyserbound.*;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.Direction;
 import org.geysermc.geyser.network.GameProtocol;
@@ -52,17 +55,21 @@ import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.util.BlockEntityUtils;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacketHandler {
     private final ErosionPacketSender<BackendboundPacket> packetSender;
-    @Setter
-    private CompletableFuture<Integer> pendingLookup = null;
-    @Getter
-    private final Int2ObjectMap<CompletableFuture<Integer>> asyncPendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
-    @Setter
-    private CompletableFuture<int[]> pendingBatchLookup = null;
+    /**
+     * Every single block lookup gets its own transaction ID, so any number of them can be in flight at once.
+     */
+    private final Int2ObjectMap<CompletableFuture<Integer>> pendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
+    /**
+     * Batch lookups carry no transaction ID; the backend answers them in the order they were sent.
+     */
+    private final Queue<CompletableFuture<int @Nullable []>> pendingBatchLookups = new ArrayDeque<>();
     @Setter
     private CompletableFuture<CompoundTag> pickBlockLookup = null;
 
@@ -73,10 +80,43 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         this.packetSender = packetSender;
     }
 
+    /**
+     * Requests a block from the backend server without waiting for the answer.
+     */
+    public CompletableFuture<Integer> lookupBlock(int x, int y, int z) {
+        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
+        int transactionId = getNextTransactionId();
+        this.pendingLookups.put(transactionId, future);
+        sendPacket(new BackendboundBlockRequestPacket(transactionId, Vector3i.from(x, y, z)));
+        return future;
+    }
+
+    /**
+     * Requests the blocks of this iterator from the backend server without waiting for the answer.
+     *
+     * @return a future completed with the blocks, or with null if the backend could not look them up
+     */
+    public CompletableFuture<int @Nullable []> lookupBlocks(BlockPositionIterator iter) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        synchronized (this.pendingBatchLookups) {
+            // Queue and send together so the queue order always matches the order the backend answers in
+            this.pendingBatchLookups.add(future);
+            sendPacket(new BackendboundBatchBlockRequestPacket(iter));
+        }
+        return future;
+    }
+
+    private @Nullable CompletableFuture<int @Nullable []> pollBatchLookup() {
+        synchronized (this.pendingBatchLookups) {
+            return this.pendingBatchLookups.poll();
+        }
+    }
+
     @Override
     public void handleBatchBlockId(GeyserboundBatchBlockIdPacket packet) {
-        if (this.pendingBatchLookup != null) {
-            this.pendingBatchLookup.complete(packet.getBlocks());
+        CompletableFuture<int[]> future = pollBatchLookup();
+        if (future != null) {
+            future.complete(packet.getBlocks());
         } else {
             session.getGeyser().getLogger().warning("Batch block ID packet received with no future to complete.");
         }
@@ -90,13 +130,7 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     @Override
     public void handleBlockId(GeyserboundBlockIdPacket packet) {
-        if (packet.getTransactionId() == 0) {
-            if (this.pendingLookup != null) {
-                this.pendingLookup.complete(packet.getBlockId());
-                return;
-            }
-        }
-        CompletableFuture<Integer> future = this.asyncPendingLookups.remove(packet.getTransactionId());
+        CompletableFuture<Integer> future = this.pendingLookups.remove(packet.getTransactionId());
         if (future != null) {
             future.complete(packet.getBlockId());
             return;
@@ -107,18 +141,14 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockLookupFail(GeyserboundBlockLookupFailPacket packet) {
         if (packet.getTransactionId() == 0) {
-            if (this.pendingBatchLookup != null) {
-                this.pendingBatchLookup.complete(null);
-                return;
+            CompletableFuture<int[]> future = pollBatchLookup();
+            if (future != null) {
+                future.complete(null);
             }
+            return;
         }
         int transactionId = packet.getTransactionId() - 1;
-        if (transactionId == 0) {
-            if (this.pendingLookup != null) {
-                this.pendingLookup.complete(0);
-            }
-        }
-        CompletableFuture<Integer> future = this.asyncPendingLookups.remove(transactionId);
+        CompletableFuture<Integer> future = this.pendingLookups.remove(transactionId);
         if (future != null) {
             future.complete(BlockStateValues.JAVA_AIR_ID);
         }
@@ -194,6 +224,15 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     public void close() {
         this.packetSender.close();
+        // Nothing will answer these anymore; don't leave anyone waiting on them
+        synchronized (this.pendingLookups) {
+            this.pendingLookups.values().forEach(future -> future.complete(BlockStateValues.JAVA_AIR_ID));
+            this.pendingLookups.clear();
+        }
+        CompletableFuture<int[]> batchLookup;
+        while ((batchLookup = pollBatchLookup()) != null) {
+            batchLookup.complete(null);
+        }
     }
 
     public int getNextTransactionId() {
@@ -27,21 +27,230 @@ package org.geysermc.geyser.event;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.event.Event;
+import org.geysermc.event.FireResult;
 import org.geysermc.event.PostOrder;
 import org.geysermc.event.bus.impl.OwnedEventBusImpl;
 import org.geysermc.event.subscribe.OwnedSubscriber;
 import org.geysermc.event.subscribe.Subscribe;
+import org.geysermc.event.subscribe.Subscriber;
 import org.geysermc.geyser.api.event.EventBus;
 import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.event.EventSubscriber;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 @SuppressWarnings("unchecked")
 public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Event, EventSubscriber<EventRegistrar, ? extends Event>>
         implements EventBus<EventRegistrar> {
+    /**
+     * Whether an event class or one of its supertypes has subscribers. Cleared on every (un)registration.
+     */
+    private final Map<Class<?>, Boolean> subscribedClasses = new ConcurrentHashMap<>();
+    private final AtomicInteger generation = new AtomicInteger();
+    /**
+     * What firing an event without subscribers returns. It doesn't depend on the event, so it's reused.
+     */
+    private volatile FireResult emptyFireResult;
+
+    /**
+     * Checks if firing an event of this class would reach any subscriber, so hot paths can skip creating the event
+     * entirely. Unlike {@link #subscribers(Class)}, this also considers subscribers of supertypes and is cached until
+     * the next (un)registration.
+     *
+     * @param eventClass the event class, typically the API interface of the event
+     * @return whether there are subscribers for this event class
+     */
+    public boolean hasSubscribers(@NonNull Class<? extends Event> eventClass) {
+        Boolean cached = subscribedClasses.get(eventClass);
+        if (cached != null) {
+            return cached;
+        }
+
+        int generation = this.generation.get();
+        boolean subscribed = hasSubscribersUncached(eventClass);
+        subscribedClasses.put(eventClass, subscribed);
+        if (this.generation.get() != generation) {
+            // A subscriber was (un)registered while computing this, it might be outdated already
+            subscribedClasses.remove(eventClass);
+        }
+        return subscribed;
+    }
+
+    private boolean hasSubscribersUncached(Class<?> type) {
+        if (type == null || !Event.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (!super.subscribers((Class<? extends Event>) type).isEmpty()) {
+            return true;
+        }
+        for (Class<?> superInterface : type.getInterfaces()) {
+            if (hasSubscribersUncached(superInterface)) {
+                return true;
+            }
+        }
+        return hasSubscribersUncached(type.getSuperclass());
+    }
+
+    private void invalidateSubscribedClasses() {
+        generation.incrementAndGet();
+        subscribedClasses.clear();
+    }
+
+    @Override
+    public @NonNull FireResult fire(@NonNull Event event) {
+        if (hasSubscribers(event.getClass())) {
+            return super.fire(event);
+        }
+        FireResult emptyFireResult = this.emptyFireResult;
+        return emptyFireResult != null ? emptyFireResult : rememberEmptyResult(super::fire, event);
+    }
+
+    @Override
+    public @NonNull FireResult fireSilently(@NonNull Event event) {
+        if (hasSubscribers(event.getClass())) {
+            return super.fireSilently(event);
+        }
+        FireResult emptyFireResult = this.emptyFireResult;
+        return emptyFireResult != null ? emptyFireResult : rememberEmptyResult(super::fireSilently, event);
+    }
+
+    private FireResult rememberEmptyResult(Function<Event, FireResult> fire, Event event) {
+        int generation = this.generation.get();
+        FireResult result = fire.apply(event);
+        if (this.generation.get() == generation) {
+            // Nobody subscribed in the meantime, so no subscriber could have contributed to this result
+            emptyFireResult = result;
+        }
+        return result;
+    }
+
+    /**
+     * Subscribes every {@link Subscribe} method declared by the listener's class. The methods are bound once with
+     * {@link LambdaMetafactory}, so firing an event calls them directly instead of through reflection.
+     * <p>
+     * Every method is checked before the first one is subscribed, so a listener is either registered completely or
+     * not at all.
+     */
+    @Override
+    public void register(@NonNull EventRegistrar owner, @NonNull Object listener) {
+        List<Runnable> registrations = new ArrayList<>();
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            Subscribe subscribe = method.getAnnotation(Subscribe.class);
+            if (subscribe == null) {
+                continue;
+            }
+            if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                throw new IllegalArgumentException("Method " + method + " annotated with @Subscribe must have exactly one event parameter");
+            }
+
+            Class<Event> eventClass = (Class<Event>) method.getParameterTypes()[0];
+            EventSubscriber<EventRegistrar, Event> subscriber = makeSubscription(owner, eventClass, subscribe, listener, bindHandler(method));
+            registrations.add(() -> register(eventClass, subscriber));
+        }
+
+        registrations.forEach(Runnable::run);
+        invalidateSubscribedClasses();
+    }
+
+    private static BiConsumer<Object, Event> bindHandler(Method method) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+        } catch (IllegalAccessException exception) {
+            // The listener's module isn't open to us, so its method can only be called if it's public
+            lookup = MethodHandles.publicLookup();
+        }
+
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("Cannot access event listener method " + method, exception);
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            // Still called with the listener instance, which it doesn't need
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        } else {
+            CallSite site;
+            try {
+                site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0])
+                );
+            } catch (LambdaConversionException ignored) {
+                // Lambdas can only be spun with a full privilege lookup; the method handle works all the same
+                site = null;
+            }
+            if (site != null) {
+                try {
+                    return (BiConsumer<Object, Event>) site.getTarget().invoke();
+                } catch (Throwable throwable) {
+                    throw new IllegalStateException("Could not create handler for event listener method " + method, throwable);
+                }
+            }
+        }
+
+        MethodHandle fallback = handle.asType(MethodType.methodType(void.class, Object.class, Event.class));
+        return (listener, event) -> {
+            try {
+                fallback.invokeExact(listener, event);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        };
+    }
+
+    @Override
+    public <T extends Event, U extends Subscriber<T>> @NonNull U subscribe(
+            @NonNull EventRegistrar owner, @NonNull Class<T> eventClass, @NonNull Consumer<T> handler) {
+        U subscriber = super.subscribe(owner, eventClass, handler);
+        invalidateSubscribedClasses();
+        return subscriber;
+    }
+
+    @Override
+    public <T extends Event, U extends Subscriber<T>> @NonNull U subscribe(
+            @NonNull EventRegistrar owner, @NonNull Class<T> eventClass, @NonNull Consumer<T> handler, @NonNull PostOrder postOrder) {
+        U subscriber = super.subscribe(owner, eventClass, handler, postOrder);
+        invalidateSubscribedClasses();
+        return subscriber;
+    }
+
+    @Override
+    public void unsubscribe(@NonNull EventSubscriber<EventRegistrar, ? extends Event> subscription) {
+        super.unsubscribe(subscription);
+        invalidateSubscribedClasses();
+    }
+
+    @Override
+    public void unregisterAll(@NonNull EventRegistrar owner) {
+        super.unregisterAll(owner);
+        invalidateSubscribedClasses();
+    }
+
     @Override
     protected <L, T extends Event, B extends OwnedSubscriber<EventRegistrar, T>> B makeSubscription(
             @NonNull EventRegistrar owner,
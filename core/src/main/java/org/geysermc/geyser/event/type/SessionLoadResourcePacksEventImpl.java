@@ -30,23 +30,46 @@ import org.geysermc.geyser.api.event.bedrock.SessionLoadResourcePacksEvent;
 import org.geysermc.geyser.api.pack.ResourcePack;
 import org.geysermc.geyser.session.GeyserSession;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 public class SessionLoadResourcePacksEventImpl extends SessionLoadResourcePacksEvent {
 
-    private final Map<String, ResourcePack> packs;
+    /**
+     * Shared with the resource pack registry until a listener changes the packs of this session.
+     */
+    private Map<String, ResourcePack> packs;
+    private Map<String, ResourcePack> packsView;
+    private boolean copied;
 
+    /**
+     * @param packMap the resource packs to start with. Never modified; it is copied on the first change.
+     */
     public SessionLoadResourcePacksEventImpl(GeyserSession session, Map<String, ResourcePack> packMap) {
         super(session);
         this.packs = packMap;
+        this.packsView = Collections.unmodifiableMap(packMap);
     }
 
-    public @NonNull Map<String, ResourcePack> getPacks() {
+    private Map<String, ResourcePack> mutablePacks() {
+        if (!copied) {
+            packs = new HashMap<>(packs);
+            packsView = Collections.unmodifiableMap(packs);
+            copied = true;
+        }
         return packs;
     }
 
+    /**
+     * @return a read-only view of the packs of this session
+     */
+    public @NonNull Map<String, ResourcePack> getPacks() {
+        return packsView;
+    }
+
     @Override
     public @NonNull List<ResourcePack> resourcePacks() {
         return List.copyOf(packs.values());
@@ -58,12 +81,12 @@ public class SessionLoadResourcePacksEventImpl extends SessionLoadResourcePacksE
         if (packs.containsValue(resourcePack) || packs.containsKey(packID)) {
             return false;
         }
-        packs.put(resourcePack.manifest().header().uuid().toString(), resourcePack);
+        mutablePacks().put(resourcePack.manifest().header().uuid().toString(), resourcePack);
         return true;
     }
 
     @Override
     public boolean unregister(@NonNull UUID uuid) {
-        return packs.remove(uuid.toString()) != null;
+        return packs.containsKey(uuid.toString()) && mutablePacks().remove(uuid.toString()) != null;
     }
 }
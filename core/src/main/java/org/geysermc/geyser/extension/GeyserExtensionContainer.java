@@ -28,6 +28,7 @@ package org.geysermc.geyser.extension;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.geysermc.geyser.api.event.ExtensionEventBus;
 import org.geysermc.geyser.api.extension.Extension;
@@ -49,4 +50,8 @@ public class GeyserExtensionContainer {
     private final ExtensionEventBus eventBus;
 
     @Getter(AccessLevel.NONE) protected boolean enabled;
+    /**
+     * The time it took to read the description, load the classes and create the extension, in milliseconds.
+     */
+    @Setter(AccessLevel.PACKAGE) private long loadTime;
 }
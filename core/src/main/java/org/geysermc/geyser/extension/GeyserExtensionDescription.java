@@ -49,7 +49,11 @@ public record GeyserExtensionDescription(@NonNull String id,
                                          @NonNull String version,
                                          @NonNull List<String> authors) implements ExtensionDescription {
 
-    private static final Yaml YAML = new Yaml(new CustomClassLoaderConstructor(Source.class.getClassLoader(), new LoaderOptions()));
+    /**
+     * Yaml instances are not thread-safe, and descriptions are read in parallel.
+     */
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() ->
+            new Yaml(new CustomClassLoaderConstructor(Source.class.getClassLoader(), new LoaderOptions())));
 
     public static final Pattern ID_PATTERN = Pattern.compile("[a-z][a-z0-9-_]{0,63}");
     public static final Pattern NAME_PATTERN = Pattern.compile("^[A-Za-z_.-]+$");
@@ -59,7 +63,7 @@ public record GeyserExtensionDescription(@NonNull String id,
     public static GeyserExtensionDescription fromYaml(Reader reader) throws InvalidDescriptionException {
         Source source;
         try {
-            source = YAML.loadAs(reader, Source.class);
+            source = YAML.get().loadAs(reader, Source.class);
         } catch (Exception e) {
             throw new InvalidDescriptionException(e);
         }
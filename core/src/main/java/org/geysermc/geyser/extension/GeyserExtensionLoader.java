@@ -29,6 +29,7 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.api.Geyser;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.event.ExtensionEventBus;
@@ -45,7 +46,9 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class GeyserExtensionLoader extends ExtensionLoader {
@@ -119,6 +122,31 @@ public class GeyserExtensionLoader extends ExtensionLoader {
         }
     }
 
+    private ScannedExtension scanExtension(Path path) {
+        long start = System.nanoTime();
+        try {
+            return new ScannedExtension(path, this.extensionDescription(path), null, System.nanoTime() - start);
+        } catch (Throwable e) {
+            return new ScannedExtension(path, null, e, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The description of an extension jar, or why it could not be read.
+     *
+     * @param scanTime the time spent reading the description, in nanoseconds
+     */
+    private record ScannedExtension(Path path, @Nullable GeyserExtensionDescription description, @Nullable Throwable error, long scanTime) {
+    }
+
+    /**
+     * @return the time it took to load this extension in milliseconds, or -1 if it was not loaded by this loader
+     */
+    public long loadTime(@NonNull Extension extension) {
+        GeyserExtensionContainer container = this.extensionContainers.get(extension);
+        return container == null ? -1 : container.loadTime();
+    }
+
     public Pattern[] extensionFilters() {
         return EXTENSION_FILTERS;
     }
@@ -154,47 +182,64 @@ public class GeyserExtensionLoader extends ExtensionLoader {
             Map<String, GeyserExtensionContainer> loadedExtensions = new LinkedHashMap<>();
 
             Pattern[] extensionFilters = this.extensionFilters();
-            List<Path> extensionPaths = Files.walk(extensionsDirectory).toList();
-            extensionPaths.forEach(path -> {
-                if (Files.isDirectory(path)) {
-                    return;
-                }
+            List<Path> extensionPaths;
+            try (Stream<Path> walk = Files.walk(extensionsDirectory)) {
+                extensionPaths = walk.filter(path -> {
+                    if (Files.isDirectory(path)) {
+                        return false;
+                    }
 
-                for (Pattern filter : extensionFilters) {
-                    if (!filter.matcher(path.getFileName().toString()).matches()) {
-                        return;
+                    for (Pattern filter : extensionFilters) {
+                        if (!filter.matcher(path.getFileName().toString()).matches()) {
+                            return false;
+                        }
                     }
-                }
+                    return true;
+                }).toList();
+            }
+
+            // Opening each jar and parsing its description is independent of the other extensions
+            List<ScannedExtension> scannedExtensions = extensionPaths.parallelStream().map(this::scanExtension).toList();
 
+            // Class loading stays in order: extensions can find each other's classes through this loader, and there is
+            // no way to declare that one depends on another
+            for (ScannedExtension scanned : scannedExtensions) {
+                Path path = scanned.path();
                 try {
-                    GeyserExtensionDescription description = this.extensionDescription(path);
+                    if (scanned.error() != null) {
+                        throw scanned.error();
+                    }
+                    GeyserExtensionDescription description = scanned.description();
 
                     String name = description.name();
                     String id = description.id();
                     if (extensions.containsKey(id) || extensionManager.extension(id) != null) {
                         GeyserImpl.getInstance().getLogger().warning(GeyserLocale.getLocaleStringLog("geyser.extensions.load.duplicate", name, path.toString()));
-                        return;
+                        continue;
                     }
 
                     // Completely different API version
                     if (description.majorApiVersion() != Geyser.api().majorApiVersion()) {
                         GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.extensions.load.failed_api_version", name, description.apiVersion()));
-                        return;
+                        continue;
                     }
 
                     // If the extension requires new API features, being backwards compatible
                     if (description.minorApiVersion() > Geyser.api().minorApiVersion()) {
                         GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.extensions.load.failed_api_version", name, description.apiVersion()));
-                        return;
+                        continue;
                     }
 
+                    long loadStart = System.nanoTime();
                     GeyserExtensionContainer container = this.loadExtension(path, description);
+                    container.loadTime(TimeUnit.NANOSECONDS.toMillis(scanned.scanTime() + System.nanoTime() - loadStart));
+                    GeyserImpl.getInstance().getLogger().debug("Loaded extension " + id + " in " + container.loadTime() + "ms");
                     extensions.put(id, path);
                     loadedExtensions.put(id, container);
                 } catch (Throwable e) {
                     GeyserImpl.getInstance().getLogger().error(GeyserLocale.getLocaleStringLog("geyser.extensions.load.failed_with_name", path.getFileName(), path.toAbsolutePath()), e);
                 }
-            });
+            }
 
             for (GeyserExtensionContainer container : loadedExtensions.values()) {
                 this.extensionContainers.put(container.extension(), container);
@@ -119,6 +119,13 @@ public class GeyserExtensionManager extends ExtensionManager {
         return this.extensionLoader;
     }
 
+    /**
+     * @return the time it took to load this extension in milliseconds, or -1 if it was not loaded from a jar
+     */
+    public long loadTime(@NonNull Extension extension) {
+        return this.extensionLoader.loadTime(extension);
+    }
+
     @Override
     public void register(@NonNull Extension extension) {
         this.extensions.put(extension.description().id(), extension);
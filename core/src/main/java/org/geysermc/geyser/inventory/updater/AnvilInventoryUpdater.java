@@ -38,7 +38,6 @@ import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtMapBuilder;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ContainerId;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.inventory.AnvilContainer;
 import org.geysermc.geyser.inventory.GeyserItemStack;
@@ -72,11 +71,7 @@ public class AnvilInventoryUpdater extends InventoryUpdater {
             if (i == targetSlot) {
                 updateTargetSlot(translator, session, anvilContainer, targetSlot);
             } else {
-                InventorySlotPacket slotPacket = new InventorySlotPacket();
-                slotPacket.setContainerId(ContainerId.UI);
-                slotPacket.setSlot(bedrockSlot);
-                slotPacket.setItem(inventory.getItem(i).getItemData(session));
-                session.sendUpstreamPacket(slotPacket);
+                session.getInventorySlotTracker().sendSlotIfChanged(session, ContainerId.UI, bedrockSlot, inventory.getItem(i).getItemData(session));
             }
         }
     }
@@ -92,18 +87,12 @@ public class AnvilInventoryUpdater extends InventoryUpdater {
         int targetSlot = getTargetSlot(anvilContainer);
         if (targetSlot != javaSlot) {
             // Update the requested slot
-            InventorySlotPacket slotPacket = new InventorySlotPacket();
-            slotPacket.setContainerId(ContainerId.UI);
-            slotPacket.setSlot(translator.javaSlotToBedrock(javaSlot));
-            slotPacket.setItem(inventory.getItem(javaSlot).getItemData(session));
-            session.sendUpstreamPacket(slotPacket);
+            session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, translator.javaSlotToBedrock(javaSlot),
+                    inventory.getItem(javaSlot).getItemData(session));
         } else if (lastTargetSlot != javaSlot) {
             // Update the previous target slot to remove repair cost changes
-            InventorySlotPacket slotPacket = new InventorySlotPacket();
-            slotPacket.setContainerId(ContainerId.UI);
-            slotPacket.setSlot(translator.javaSlotToBedrock(lastTargetSlot));
-            slotPacket.setItem(inventory.getItem(lastTargetSlot).getItemData(session));
-            session.sendUpstreamPacket(slotPacket);
+            session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, translator.javaSlotToBedrock(lastTargetSlot),
+                    inventory.getItem(lastTargetSlot).getItemData(session));
         }
 
         updateTargetSlot(translator, session, anvilContainer, targetSlot);
@@ -162,11 +151,7 @@ public class AnvilInventoryUpdater extends InventoryUpdater {
 
         anvilContainer.setLastTargetSlot(slot);
 
-        InventorySlotPacket slotPacket = new InventorySlotPacket();
-        slotPacket.setContainerId(ContainerId.UI);
-        slotPacket.setSlot(translator.javaSlotToBedrock(slot));
-        slotPacket.setItem(itemData);
-        session.sendUpstreamPacket(slotPacket);
+        session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, translator.javaSlotToBedrock(slot), itemData);
     }
 
     private ItemData hijackRepairCost(GeyserSession session, AnvilContainer anvilContainer, ItemData itemData) {
@@ -26,14 +26,10 @@
 package org.geysermc.geyser.inventory.updater;
 
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
-import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.inventory.InventoryTranslator;
 
-import java.util.Arrays;
-
 public class HorseInventoryUpdater extends InventoryUpdater {
     public static final HorseInventoryUpdater INSTANCE = new HorseInventoryUpdater();
 
@@ -46,10 +42,7 @@ public class HorseInventoryUpdater extends InventoryUpdater {
             bedrockItems[translator.javaSlotToBedrock(i)] = inventory.getItem(i).getItemData(session);
         }
 
-        InventoryContentPacket contentPacket = new InventoryContentPacket();
-        contentPacket.setContainerId(inventory.getBedrockId());
-        contentPacket.setContents(Arrays.asList(bedrockItems));
-        session.sendUpstreamPacket(contentPacket);
+        session.getInventorySlotTracker().sendContents(session, inventory.getBedrockId(), bedrockItems);
     }
 
     @Override
@@ -57,11 +50,11 @@ public class HorseInventoryUpdater extends InventoryUpdater {
         if (super.updateSlot(translator, session, inventory, javaSlot))
             return true;
 
-        InventorySlotPacket slotPacket = new InventorySlotPacket();
-        slotPacket.setContainerId(4); // Horse GUI?
-        slotPacket.setSlot(translator.javaSlotToBedrock(javaSlot));
-        slotPacket.setItem(inventory.getItem(javaSlot).getItemData(session));
-        session.sendUpstreamPacket(slotPacket);
+        int bedrockSlot = translator.javaSlotToBedrock(javaSlot);
+        session.getInventorySlotTracker().sendSlot(session, 4, bedrockSlot, inventory.getItem(javaSlot).getItemData(session)); // Horse GUI?
+        if (inventory.getBedrockId() != 4) {
+            session.getInventorySlotTracker().invalidate(inventory.getBedrockId(), bedrockSlot);
+        }
         return true;
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.inventory.updater;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Arrays;
+
+/**
+ * Tracks the last {@link ItemData} sent to the Bedrock client for each container slot, so an inventory refresh only
+ * sends the slots that changed.
+ * <p>
+ * A slot is only known while nothing else could have changed it on the client. All inventory slot and content packets
+ * are sent through this tracker; code that processes an inventory action from the client, or rejects one, must
+ * invalidate the affected containers.
+ */
+public final class InventorySlotTracker {
+    /**
+     * If more than this fraction of a container changed, a single content packet is cheaper than the slot packets.
+     */
+    private static final int FULL_UPDATE_DIVISOR = 4;
+
+    private final Int2ObjectMap<Int2ObjectMap<ItemData>> sentItems = new Int2ObjectOpenHashMap<>();
+
+    /**
+     * Sends the contents of a container, either as individual slot updates or as a full content packet.
+     */
+    public void sendContents(GeyserSession session, int containerId, ItemData[] items) {
+        Int2ObjectMap<ItemData> sent = this.sentItems.get(containerId);
+        if (sent != null) {
+            IntList changedSlots = new IntArrayList();
+            for (int slot = 0; slot < items.length; slot++) {
+                // An unknown slot is null in the map, so it is always seen as changed
+                if (!items[slot].equals(sent.get(slot))) {
+                    changedSlots.add(slot);
+                }
+            }
+
+            if (changedSlots.size() * FULL_UPDATE_DIVISOR <= items.length) {
+                for (int i = 0; i < changedSlots.size(); i++) {
+                    int slot = changedSlots.getInt(i);
+                    sendSlot(session, containerId, slot, items[slot]);
+                }
+                return;
+            }
+        } else {
+            sent = new Int2ObjectOpenHashMap<>(items.length);
+            this.sentItems.put(containerId, sent);
+        }
+
+        sent.clear();
+        for (int slot = 0; slot < items.length; slot++) {
+            sent.put(slot, items[slot]);
+        }
+
+        InventoryContentPacket contentPacket = new InventoryContentPacket();
+        contentPacket.setContainerId(containerId);
+        contentPacket.setContents(Arrays.asList(items));
+        session.sendUpstreamPacket(contentPacket);
+    }
+
+    /**
+     * Sends a slot update only if the client is not known to already show this item.
+     */
+    public void sendSlotIfChanged(GeyserSession session, int containerId, int slot, ItemData item) {
+        Int2ObjectMap<ItemData> sent = this.sentItems.get(containerId);
+        if (sent == null || !item.equals(sent.get(slot))) {
+            sendSlot(session, containerId, slot, item);
+        }
+    }
+
+    /**
+     * Sends a slot update.
+     */
+    public void sendSlot(GeyserSession session, int containerId, int slot, ItemData item) {
+        this.sentItems.computeIfAbsent(containerId, $ -> new Int2ObjectOpenHashMap<>()).put(slot, item);
+
+        InventorySlotPacket slotPacket = new InventorySlotPacket();
+        slotPacket.setContainerId(containerId);
+        slotPacket.setSlot(slot);
+        slotPacket.setItem(item);
+        session.sendUpstreamPacket(slotPacket);
+    }
+
+    /**
+     * Forgets a slot that was updated without this tracker.
+     */
+    public void invalidate(int containerId, int slot) {
+        Int2ObjectMap<ItemData> sent = this.sentItems.get(containerId);
+        if (sent != null) {
+            sent.remove(slot);
+        }
+    }
+
+    /**
+     * Forgets a container that was updated without this tracker.
+     */
+    public void invalidate(int containerId) {
+        this.sentItems.remove(containerId);
+    }
+
+    /**
+     * Forgets every slot - for example, when the client changed its inventory itself or a new inventory is opened.
+     */
+    public void invalidateAll() {
+        this.sentItems.clear();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.item;
+
+import it.unimi.dsi.fastutil.Pair;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
+import org.geysermc.geyser.api.item.custom.CustomItemOptions;
+import org.geysermc.geyser.api.util.TriState;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * The custom item options of one Java item, compiled into threshold tables.
+ * <p>
+ * Java's predicate system works exclusively on comparing float numbers. A value doesn't necessarily have to match 100%;
+ * it just has to be the first to meet all predicate conditions. For example, if CustomModelData is set to 2f as the
+ * requirement, then the NBT can be any number greater or equal (2, 3, 4...). The same behavior exists for Damage
+ * (in fraction form instead of whole numbers), and Damaged/Unbreakable handles no damage as 0f and damaged as 1f.
+ * <p>
+ * For options with only a CustomModelData predicate, only the options with a lower threshold than every option before
+ * them can ever be the first match. These form a staircase of strictly decreasing thresholds, so the first match is
+ * found with a binary search. The few options with a damage predicate are checked in order, but only up to the best
+ * match of the staircase.
+ */
+public final class CustomItemSelector {
+    public static final CustomItemSelector EMPTY = new CustomItemSelector(new ItemDefinition[0], false,
+            Staircase.EMPTY, Staircase.EMPTY, new int[0], new int[0], new int[0], new boolean[0]);
+
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    /**
+     * The result of each option, in order. Null for default items.
+     */
+    private final ItemDefinition[] definitions;
+    private final boolean checkDamage;
+    /**
+     * Options without a damage predicate.
+     */
+    private final Staircase breakable;
+    /**
+     * Options without a damage predicate that can match unbreakable items.
+     */
+    private final Staircase unbreakable;
+    /**
+     * Options with a damage predicate, in order.
+     */
+    private final int[] damagedPositions;
+    private final int[] damagedThresholds;
+    private final int[] damagedCustomModelData;
+    private final boolean[] damagedNeedsBreakable;
+
+    private CustomItemSelector(ItemDefinition[] definitions, boolean checkDamage, Staircase breakable, Staircase unbreakable,
+                               int[] damagedPositions, int[] damagedThresholds, int[] damagedCustomModelData, boolean[] damagedNeedsBreakable) {
+        this.definitions = definitions;
+        this.checkDamage = checkDamage;
+        this.breakable = breakable;
+        this.unbreakable = unbreakable;
+        this.damagedPositions = damagedPositions;
+        this.damagedThresholds = damagedThresholds;
+        this.damagedCustomModelData = damagedCustomModelData;
+        this.damagedNeedsBreakable = damagedNeedsBreakable;
+    }
+
+    /**
+     * @param options the options of one Java item, in the order they should be tested
+     * @param checkDamage if the Java item can be damaged. If not, options with damage or unbreakable predicates never match
+     */
+    public static CustomItemSelector compile(List<Pair<CustomItemOptions, ItemDefinition>> options, boolean checkDamage) {
+        if (options.isEmpty()) {
+            return EMPTY;
+        }
+
+        ItemDefinition[] definitions = new ItemDefinition[options.size()];
+        IntList breakablePositions = new IntArrayList();
+        IntList unbreakablePositions = new IntArrayList();
+        IntList damagedPositions = new IntArrayList();
+        int[] customModelData = new int[options.size()];
+
+        for (int i = 0; i < options.size(); i++) {
+            CustomItemOptions option = options.get(i).key();
+            definitions[i] = option.defaultItem() ? null : options.get(i).value();
+            customModelData[i] = threshold(option.customModelData());
+
+            if (!checkDamage) {
+                if (option.unbreakable() != TriState.NOT_SET || option.damagePredicate().isPresent()) {
+                    // These will never match on this item. 1.19.2 behavior
+                    continue;
+                }
+                breakablePositions.add(i);
+            } else if (option.damagePredicate().isPresent()) {
+                damagedPositions.add(i);
+            } else {
+                breakablePositions.add(i);
+                if (option.unbreakable() != TriState.FALSE) {
+                    unbreakablePositions.add(i);
+                }
+            }
+        }
+
+        int[] damaged = damagedPositions.toIntArray();
+        int[] damagedThresholds = new int[damaged.length];
+        int[] damagedCustomModelData = new int[damaged.length];
+        boolean[] damagedNeedsBreakable = new boolean[damaged.length];
+        for (int i = 0; i < damaged.length; i++) {
+            CustomItemOptions option = options.get(damaged[i]).key();
+            damagedThresholds[i] = option.damagePredicate().getAsInt();
+            damagedCustomModelData[i] = customModelData[damaged[i]];
+            damagedNeedsBreakable[i] = option.unbreakable() == TriState.FALSE;
+        }
+
+        return new CustomItemSelector(definitions, checkDamage, Staircase.of(breakablePositions, customModelData),
+                checkDamage ? Staircase.of(unbreakablePositions, customModelData) : Staircase.EMPTY,
+                damaged, damagedThresholds, damagedCustomModelData, damagedNeedsBreakable);
+    }
+
+    /**
+     * @param customModelData the CustomModelData of the item, or 0
+     * @param damage the damage of the item, or 0
+     * @param unbreakable if the item cannot be damaged. Ignored for items that can never be damaged
+     * @return the first matching custom item, or null if no option matches or the first match is a default item
+     */
+    @Nullable
+    public ItemDefinition select(int customModelData, int damage, boolean unbreakable) {
+        if (this.definitions.length == 0) {
+            return null;
+        }
+
+        int best;
+        if (this.checkDamage && unbreakable) {
+            best = this.unbreakable.find(customModelData);
+        } else {
+            best = this.breakable.find(customModelData);
+        }
+
+        if (this.checkDamage) {
+            for (int i = 0; i < this.damagedPositions.length; i++) {
+                int position = this.damagedPositions[i];
+                if (position >= best) {
+                    break;
+                }
+                if (unbreakable && this.damagedNeedsBreakable[i]) {
+                    continue;
+                }
+                if (damage >= this.damagedThresholds[i] && customModelData >= this.damagedCustomModelData[i]) {
+                    best = position;
+                    break;
+                }
+            }
+        }
+
+        return best == NOT_FOUND ? null : this.definitions[best];
+    }
+
+    private static int threshold(OptionalInt predicate) {
+        return predicate.isPresent() ? predicate.getAsInt() : Integer.MIN_VALUE;
+    }
+
+    /**
+     * @param positions the positions of the options that can ever be the first match, in order
+     * @param thresholds the CustomModelData threshold of each of these options, strictly decreasing
+     */
+    private record Staircase(int[] positions, int[] thresholds) {
+        static final Staircase EMPTY = new Staircase(new int[0], new int[0]);
+
+        static Staircase of(IntList candidates, int[] customModelData) {
+            IntList positions = new IntArrayList();
+            IntList thresholds = new IntArrayList();
+            int lowest = Integer.MAX_VALUE;
+            for (int i = 0; i < candidates.size(); i++) {
+                int position = candidates.getInt(i);
+                int threshold = customModelData[position];
+                // Any later option with a threshold at least this high is shadowed by this option
+                if (threshold < lowest || positions.isEmpty()) {
+                    positions.add(position);
+                    thresholds.add(threshold);
+                    lowest = threshold;
+                }
+            }
+            return new Staircase(positions.toIntArray(), thresholds.toIntArray());
+        }
+
+        /**
+         * @return the position of the first option with a threshold of at most this value, or {@link #NOT_FOUND}
+         */
+        int find(int customModelData) {
+            // Binary search for the first threshold <= customModelData in a strictly decreasing array
+            int low = 0;
+            int high = this.thresholds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.thresholds[middle] <= customModelData) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low == this.thresholds.length ? NOT_FOUND : this.positions[low];
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry;
+import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.GeyserBedrockBlock;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.translator.level.block.entity.BedrockOnlyBlockEntity;
+import org.geysermc.geyser.util.BlockEntityUtils;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.Map;
+
+/**
+ * Collects block and block entity updates and sends them together, with one packet per sub-chunk instead of two
+ * packets per block. The chunk cache is still updated right away, so the world can be read back before sending.
+ * <p>
+ * If a position is updated more than once, only the last update is sent. Blocks that need more than a plain
+ * block update on Bedrock (skulls, item frames, doors...) are sent through {@link ChunkUtils} as usual.
+ */
+public class BlockUpdateBatch {
+    /**
+     * Stands in for a Java block state to place a Bedrock moving block, which has no Java equivalent.
+     */
+    private static final int MOVING_BLOCK = -1;
+    private static final int UPDATE_FLAGS = 0b11; // NEIGHBORS, NETWORK
+
+    private final GeyserSession session;
+    /**
+     * Maps a position, packed with {@link MathUtils#blockPositionToLong(int, int, int)}, to its new Java block state.
+     */
+    private final Long2IntMap blocks = new Long2IntLinkedOpenHashMap();
+    private final Map<Vector3i, NbtMap> blockEntities = new Object2ObjectLinkedOpenHashMap<>();
+    /**
+     * Queued positions whose previous block state had an extended collision box, which has to be cleared above them.
+     */
+    private final LongSet replacedExtendedCollisions = new LongOpenHashSet();
+    /**
+     * Only used while flushing; keyed by the packed sub-chunk position.
+     */
+    private final Long2ObjectMap<UpdateSubChunkBlocksPacket> subChunkPackets = new Long2ObjectLinkedOpenHashMap<>();
+
+    public BlockUpdateBatch(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Queue a block update for both Bedrock and the chunk cache. See {@link ChunkUtils#updateBlock(GeyserSession, int, Vector3i)}.
+     */
+    public void updateBlock(int blockState, Vector3i position) {
+        long packedPosition = MathUtils.blockPositionToLong(position);
+        Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes = session.getBlockMappings().getExtendedCollisionBoxes();
+        if (!extendedCollisionBoxes.isEmpty()) {
+            int previousState = session.getChunkCache().getBlockAt(position.getX(), position.getY(), position.getZ());
+            if (extendedCollisionBoxes.containsKey(previousState)) {
+                replacedExtendedCollisions.add(packedPosition);
+            }
+        }
+        session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
+        blocks.put(packedPosition, blockState);
+    }
+
+    /**
+     * Queue a Bedrock moving block. Its block entity should be queued with {@link #updateBlockEntity(NbtMap, Vector3i)}.
+     */
+    public void placeMovingBlock(Vector3i position) {
+        blocks.put(MathUtils.blockPositionToLong(position), MOVING_BLOCK);
+    }
+
+    /**
+     * Queue a block entity update. Block entities are sent after all blocks, so they always apply to the new block.
+     */
+    public void updateBlockEntity(NbtMap blockEntity, Vector3i position) {
+        blockEntities.put(position, blockEntity);
+    }
+
+    /**
+     * Drop anything queued for this position, as a newer update for it is being applied directly.
+     */
+    public void discard(Vector3i position) {
+        long packedPosition = MathUtils.blockPositionToLong(position);
+        blocks.remove(packedPosition);
+        replacedExtendedCollisions.remove(packedPosition);
+        blockEntities.remove(position);
+    }
+
+    /**
+     * Send everything that was queued since the last flush.
+     */
+    public void flush() {
+        if (!blocks.isEmpty()) {
+            BlockDefinition air = session.getBlockMappings().getBedrockAir();
+            BlockDefinition water = session.getBlockMappings().getBedrockWater();
+            for (Long2IntMap.Entry entry : blocks.long2IntEntrySet()) {
+                long packedPosition = entry.getLongKey();
+                int blockState = entry.getIntValue();
+                Vector3i position = Vector3i.from(MathUtils.unpackBlockX(packedPosition), MathUtils.unpackBlockY(packedPosition), MathUtils.unpackBlockZ(packedPosition));
+
+                if (blockState == MOVING_BLOCK) {
+                    getSubChunkPacket(position).getStandardBlocks().add(blockChange(position, session.getBlockMappings().getBedrockMovingBlock()));
+                    continue;
+                }
+
+                if (!isPlainBlock(blockState, packedPosition, position)) {
+                    ChunkUtils.updateBlockClientSide(session, blockState, position);
+                    continue;
+                }
+
+                UpdateSubChunkBlocksPacket packet = getSubChunkPacket(position);
+                packet.getStandardBlocks().add(blockChange(position, session.getBlockMappings().getBedrockBlock(blockState)));
+                BlockDefinition waterlogged = BlockRegistries.WATERLOGGED.get().get(blockState) ? water : air;
+                packet.getExtraBlocks().add(new BlockChangeEntry(position, waterlogged, 0, 0, BlockChangeEntry.MessageType.NONE));
+
+                // The rest of what ChunkUtils#updateBlockClientSide does for a block that isn't a skull
+                session.getSkullCache().removeSkull(position);
+                BlockStateValues.getLecternBookStates().handleBlockChange(session, blockState, position);
+            }
+            blocks.clear();
+            replacedExtendedCollisions.clear();
+
+            for (UpdateSubChunkBlocksPacket packet : subChunkPackets.values()) {
+                session.sendUpstreamPacket(packet);
+            }
+            subChunkPackets.clear();
+        }
+
+        if (!blockEntities.isEmpty()) {
+            for (Map.Entry<Vector3i, NbtMap> entry : blockEntities.entrySet()) {
+                BlockEntityUtils.updateBlockEntity(session, entry.getValue(), entry.getKey());
+            }
+            blockEntities.clear();
+        }
+    }
+
+    /**
+     * Drop everything that was queued without sending it.
+     */
+    public void clear() {
+        blocks.clear();
+        replacedExtendedCollisions.clear();
+        blockEntities.clear();
+    }
+
+    /**
+     * @return true if this block is fully translated by a block update on layers 0 and 1
+     */
+    private boolean isPlainBlock(int blockState, long packedPosition, Vector3i position) {
+        if (BlockStateValues.isMovingPiston(blockState) || BlockStateValues.getSkullVariant(blockState) != -1
+                || BlockStateValues.isUpperDoor(blockState)) {
+            return false;
+        }
+        Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes = session.getBlockMappings().getExtendedCollisionBoxes();
+        if (!extendedCollisionBoxes.isEmpty()) {
+            // Only blocks that place, extend or clear an extended collision box need the extra updates
+            if (extendedCollisionBoxes.containsKey(blockState) || replacedExtendedCollisions.contains(packedPosition)) {
+                return false;
+            }
+            if (blockState == BlockStateValues.JAVA_AIR_ID && extendedCollisionBoxes.containsKey(
+                    session.getChunkCache().getBlockAt(position.getX(), position.getY() - 1, position.getZ()))) {
+                return false;
+            }
+        }
+        if (ItemFrameEntity.getItemFrameEntity(session, position) != null) {
+            return false;
+        }
+        for (BedrockOnlyBlockEntity bedrockOnlyBlockEntity : BlockEntityUtils.BEDROCK_ONLY_BLOCK_ENTITIES) {
+            if (bedrockOnlyBlockEntity.isBlock(blockState)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private UpdateSubChunkBlocksPacket getSubChunkPacket(Vector3i position) {
+        int chunkX = position.getX() >> 4;
+        int chunkY = position.getY() >> 4;
+        int chunkZ = position.getZ() >> 4;
+        return subChunkPackets.computeIfAbsent(MathUtils.blockPositionToLong(chunkX, chunkY, chunkZ), k -> {
+            UpdateSubChunkBlocksPacket packet = new UpdateSubChunkBlocksPacket();
+            packet.setChunkX(chunkX);
+            packet.setChunkY(chunkY);
+            packet.setChunkZ(chunkZ);
+            return packet;
+        });
+    }
+
+    private static BlockChangeEntry blockChange(Vector3i position, BlockDefinition definition) {
+        return new BlockChangeEntry(position, definition, UPDATE_FLAGS, 0, BlockChangeEntry.MessageType.NONE);
+    }
+}
@@ -40,49 +40,83 @@ import org.geysermc.erosion.packet.backendbound.*;
 import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.erosion.util.LecternUtils;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
 import org.geysermc.geyser.util.BlockEntityUtils;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * The world manager used when Geyser has no direct access to the world.
+ * <p>
+ * With Erosion, the session chunk cache still mirrors every chunk and block update the backend sends to the player,
+ * so it answers all lookups for chunks it holds. The backend is only asked about chunks the player hasn't received,
+ * and never from the session event loop, as that would stall the session on a socket round trip. Callers that need
+ * the backend's current state use {@link #getLiveBlockAtAsync(GeyserSession, int, int, int)}, which always asks it.
+ */
 public class GeyserWorldManager extends WorldManager {
     private final Object2ObjectMap<String, String> gameruleCache = new Object2ObjectOpenHashMap<>();
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
         var erosionHandler = session.getErosionHandler().getAsActive();
-        if (erosionHandler == null) {
+        if (erosionHandler == null || !shouldAskBackend(session, x >> 4, z >> 4)) {
             return session.getChunkCache().getBlockAt(x, y, z);
         }
-        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
-        erosionHandler.setPendingLookup(future);
-        erosionHandler.sendPacket(new BackendboundBlockRequestPacket(0, Vector3i.from(x, y, z)));
-        return future.join();
+        return erosionHandler.lookupBlock(x, y, z).join();
     }
 
     @Override
-    public CompletableFuture<Integer> getBlockAtAsync(GeyserSession session, int x, int y, int z) {
+    public CompletableFuture<Integer> getLiveBlockAtAsync(GeyserSession session, int x, int y, int z) {
         var erosionHandler = session.getErosionHandler().getAsActive();
         if (erosionHandler == null) {
+            return CompletableFuture.completedFuture(session.getChunkCache().getBlockAt(x, y, z));
+        }
+        // Piston events from the backend arrive before the block changes that go with them
+        return erosionHandler.lookupBlock(x, y, z);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getBlockAtAsync(GeyserSession session, int x, int y, int z) {
+        var erosionHandler = session.getErosionHandler().getAsActive();
+        if (erosionHandler == null || session.getChunkCache().isChunkLoaded(x >> 4, z >> 4)) {
             return super.getBlockAtAsync(session, x, y, z);
         }
-        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
-        int transactionId = erosionHandler.getNextTransactionId();
-        erosionHandler.getAsyncPendingLookups().put(transactionId, future);
-        erosionHandler.sendPacket(new BackendboundBlockRequestPacket(transactionId, Vector3i.from(x, y, z)));
-        return future;
+        return erosionHandler.lookupBlock(x, y, z);
     }
 
     @Override
     public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
         var erosionHandler = session.getErosionHandler().getAsActive();
-        if (erosionHandler == null) {
+        if (erosionHandler == null || session.getEventLoop().inEventLoop()) {
             return super.getBlocksAt(session, iter);
         }
-        CompletableFuture<int[]> future = new CompletableFuture<>();
-        erosionHandler.setPendingBatchLookup(future);
-        erosionHandler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
-        return future.join();
+
+        boolean allLoaded = true;
+        ChunkCache chunkCache = session.getChunkCache();
+        for (; iter.hasNext(); iter.next()) {
+            if (!chunkCache.isChunkLoaded(iter.getX() >> 4, iter.getZ() >> 4)) {
+                allLoaded = false;
+                break;
+            }
+        }
+        iter.reset();
+        if (!allLoaded) {
+            int[] blocks = erosionHandler.lookupBlocks(iter).join();
+            if (blocks != null) {
+                return blocks;
+            }
+        }
+
+        int[] blocks = new int[iter.getMaxIterations()];
+        for (; iter.hasNext(); iter.next()) {
+            blocks[iter.getIteration()] = chunkCache.getBlockAt(iter.getX(), iter.getY(), iter.getZ());
+        }
+        return blocks;
+    }
+
+    private boolean shouldAskBackend(GeyserSession session, int chunkX, int chunkZ) {
+        return !session.getChunkCache().isChunkLoaded(chunkX, chunkZ) && !session.getEventLoop().inEventLoop();
     }
 
     @Override
@@ -276,6 +276,16 @@ public enum MapColor {
     COLOR_247(79, 88, 67);
 
     private static final MapColor[] VALUES = values();
+    /**
+     * The ARGB value of every possible color id, with unknown ids being transparent
+     */
+    private static final int[] ARGB_BY_ID = new int[256];
+
+    static {
+        for (int i = 0; i < ARGB_BY_ID.length; i++) {
+            ARGB_BY_ID[i] = fromId(i).value;
+        }
+    }
 
     private final int value;
 
@@ -294,6 +304,14 @@ public enum MapColor {
         return id >= 0 && id < VALUES.length ? VALUES[id] : COLOR_0;
     }
 
+    /**
+     * @param id the color id, as an unsigned byte
+     * @return the ARGB value of this color id
+     */
+    public static int toARGB(int id) {
+        return ARGB_BY_ID[id & 0xFF];
+    }
+
     public int getARGB() {
         return value;
     }
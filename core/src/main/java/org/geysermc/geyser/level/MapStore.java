@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import com.github.steveice10.mc.protocol.data.game.level.map.MapData;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the color ids of Java maps once for all sessions, instead of once per session.
+ * <p>
+ * Like {@link org.geysermc.geyser.level.chunk.SharedChunkStore}, an image is only shared if its content is exactly
+ * the same as what another session received, since plugins can render a map differently for each player. Every
+ * session holds its own reference to the image it last received. An image held by one session is patched in place;
+ * a shared one is copied first.
+ */
+public final class MapStore {
+    public static final int MAP_SIZE = 128;
+    /**
+     * How many maps can be found for sharing. The least recently used maps are forgotten first, but stay alive for
+     * the sessions still holding them.
+     */
+    private static final int MAX_INDEXED_MAPS = 4096;
+
+    /**
+     * The most recently received image of each map, in access order.
+     */
+    private static final Map<MapKey, MapPixels> LATEST = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MapKey, MapPixels> eldest) {
+            return size() > MAX_INDEXED_MAPS;
+        }
+    };
+    private static int mapCount;
+
+    private MapStore() {
+    }
+
+    /**
+     * Applies a map update received by one session.
+     *
+     * @param key the map that was updated
+     * @param current the image this session currently holds, which is released if a different image is returned
+     * @param data the full image or patch that was received
+     * @return the image the session should hold from now on, or null if it has no full image of this map yet
+     */
+    public static @Nullable MapPixels update(MapKey key, @Nullable MapPixels current, MapData data) {
+        int x = data.getX();
+        int y = data.getY();
+        int columns = data.getColumns();
+        int rows = data.getRows();
+        if (x < 0 || y < 0 || x + columns > MAP_SIZE || y + rows > MAP_SIZE || data.getData().length < columns * rows) {
+            // Invalid patch; keep what we have
+            return current;
+        }
+        boolean fullImage = columns == MAP_SIZE && rows == MAP_SIZE;
+
+        synchronized (LATEST) {
+            if (current == null && !fullImage) {
+                // There is nothing to patch
+                return null;
+            }
+            if (current != null && matches(current.colors, data)) {
+                // Usually another session already applied the same update to this shared image
+                return current;
+            }
+
+            MapPixels updated;
+            if (current != null && current.users == 1) {
+                apply(current.colors, data);
+                updated = current;
+            } else {
+                byte[] colors = current == null ? new byte[MAP_SIZE * MAP_SIZE] : current.colors.clone();
+                apply(colors, data);
+                updated = new MapPixels(key, colors);
+                mapCount++;
+                if (current != null) {
+                    release0(current);
+                }
+            }
+
+            MapPixels latest = LATEST.get(key);
+            if (latest == null || latest == updated) {
+                LATEST.put(key, updated);
+                return updated;
+            }
+            if (Arrays.equals(latest.colors, updated.colors)) {
+                // Another session holds the same image; share that one
+                release0(updated);
+                latest.users++;
+                return latest;
+            }
+            LATEST.put(key, updated);
+            return updated;
+        }
+    }
+
+    /**
+     * Drops one reference to this image.
+     */
+    public static void release(MapPixels pixels) {
+        synchronized (LATEST) {
+            release0(pixels);
+        }
+    }
+
+    private static void release0(MapPixels pixels) {
+        if (--pixels.users == 0) {
+            LATEST.remove(pixels.key, pixels);
+            mapCount--;
+        }
+    }
+
+    /**
+     * @return the ARGB colors of this image, as Bedrock expects them
+     */
+    public static int[] toARGB(MapPixels pixels) {
+        byte[] colors;
+        synchronized (LATEST) {
+            // Images are only patched while holding this lock; convert a snapshot so other sessions aren't held up
+            colors = pixels.colors.clone();
+        }
+        int[] argb = new int[colors.length];
+        for (int i = 0; i < argb.length; i++) {
+            argb[i] = MapColor.toARGB(colors[i]);
+        }
+        return argb;
+    }
+
+    /**
+     * @return how many map images are held by all sessions together
+     */
+    public static int getMapCount() {
+        synchronized (LATEST) {
+            return mapCount;
+        }
+    }
+
+    private static boolean matches(byte[] colors, MapData data) {
+        int columns = data.getColumns();
+        for (int row = 0; row < data.getRows(); row++) {
+            int start = (data.getY() + row) * MAP_SIZE + data.getX();
+            if (!Arrays.equals(colors, start, start + columns, data.getData(), row * columns, (row + 1) * columns)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void apply(byte[] colors, MapData data) {
+        int columns = data.getColumns();
+        for (int row = 0; row < data.getRows(); row++) {
+            System.arraycopy(data.getData(), row * columns, colors, (data.getY() + row) * MAP_SIZE + data.getX(), columns);
+        }
+    }
+
+    /**
+     * @param server the address of the remote server
+     * @param mapId the Java map id
+     */
+    public record MapKey(String server, int mapId) {
+    }
+
+    /**
+     * The color ids of one map image, in rows of {@link #MAP_SIZE}.
+     */
+    public static final class MapPixels {
+        private final MapKey key;
+        private final byte[] colors;
+        /**
+         * How many sessions hold this image. Guarded by the {@link MapStore} lock.
+         */
+        private int users = 1;
+
+        private MapPixels(MapKey key, byte[] colors) {
+            this.key = key;
+            this.colors = colors;
+        }
+    }
+}
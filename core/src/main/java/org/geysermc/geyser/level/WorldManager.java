@@ -70,6 +70,29 @@ public abstract class WorldManager {
      */
     public abstract int getBlockAt(GeyserSession session, int x, int y, int z);
 
+    /**
+     * Gets the Java block state at the specified location as the server has it right now. Unlike
+     * {@link #getBlockAtAsync(GeyserSession, Vector3i)}, this is never answered from a copy of the world that can lag
+     * behind the server, such as the chunk cache while Erosion is active.
+     * <p>
+     * The future may complete on another thread, so callers on the session event loop should move back onto it
+     * before touching session state.
+     *
+     * @param session the session
+     * @param vector the position
+     * @return the block state at the specified location
+     */
+    public final CompletableFuture<Integer> getLiveBlockAtAsync(GeyserSession session, Vector3i vector) {
+        return this.getLiveBlockAtAsync(session, vector.getX(), vector.getY(), vector.getZ());
+    }
+
+    /**
+     * See {@link #getLiveBlockAtAsync(GeyserSession, Vector3i)}.
+     */
+    public CompletableFuture<Integer> getLiveBlockAtAsync(GeyserSession session, int x, int y, int z) {
+        return this.getBlockAtAsync(session, x, y, z);
+    }
+
     public final CompletableFuture<Integer> getBlockAtAsync(GeyserSession session, Vector3i vector) {
         return this.getBlockAtAsync(session, vector.getX(), vector.getY(), vector.getZ());
     }
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * A compact 16x16x16 section of Java block states.
+ * <p>
+ * Block states are stored as indices into a palette, packed into as few bits as the palette needs; sections with
+ * only one block state store no indices at all. Sections are immutable and their palette is always ordered by first
+ * appearance, so two sections with the same blocks are equal and can be shared through {@link SectionStore}.
+ * <p>
+ * A {@link #mutableCopy() mutable copy} is owned by a single chunk cache and patched in place instead. It is never
+ * shared, its palette may contain states that are no longer used, and it is only equal to itself.
+ */
+public final class BlockSection {
+    public static final int SIZE = 16 * 16 * 16;
+
+    private int[] palette;
+    private int paletteSize;
+    private int bitsPerEntry;
+    /**
+     * The packed palette indices, or null if this section only has one block state.
+     */
+    private long[] data;
+    private final boolean mutable;
+    private final int hash;
+
+    private BlockSection(int[] palette, int bitsPerEntry, long[] data, boolean mutable) {
+        this.palette = palette;
+        this.paletteSize = palette.length;
+        this.bitsPerEntry = bitsPerEntry;
+        this.data = data;
+        this.mutable = mutable;
+        this.hash = mutable ? 0 : 31 * Arrays.hashCode(palette) + Arrays.hashCode(data);
+    }
+
+    public static BlockSection from(DataPalette palette) {
+        int[] states = new int[SIZE];
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    states[index(x, y, z)] = palette.get(x, y, z);
+                }
+            }
+        }
+        return of(states);
+    }
+
+    /**
+     * @param states all block states of the section, in YZX order
+     */
+    public static BlockSection of(int[] states) {
+        Int2IntOpenHashMap stateToIndex = new Int2IntOpenHashMap();
+        stateToIndex.defaultReturnValue(-1);
+        int[] palette = new int[16];
+        int paletteSize = 0;
+        int[] indices = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int index = stateToIndex.get(states[i]);
+            if (index == -1) {
+                index = paletteSize++;
+                stateToIndex.put(states[i], index);
+                if (index == palette.length) {
+                    palette = Arrays.copyOf(palette, palette.length * 2);
+                }
+                palette[index] = states[i];
+            }
+            indices[i] = index;
+        }
+        palette = Arrays.copyOf(palette, paletteSize);
+
+        if (paletteSize == 1) {
+            return new BlockSection(palette, 0, null, false);
+        }
+        int bitsPerEntry = Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1);
+        int valuesPerLong = Long.SIZE / bitsPerEntry;
+        long[] data = new long[(SIZE + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < SIZE; i++) {
+            data[i / valuesPerLong] |= (long) indices[i] << ((i % valuesPerLong) * bitsPerEntry);
+        }
+        return new BlockSection(palette, bitsPerEntry, data, false);
+    }
+
+    public int get(int x, int y, int z) {
+        return getIndex(index(x, y, z));
+    }
+
+    private int getIndex(int i) {
+        if (data == null) {
+            return palette[0];
+        }
+        int valuesPerLong = Long.SIZE / bitsPerEntry;
+        long mask = (1L << bitsPerEntry) - 1;
+        return palette[(int) ((data[i / valuesPerLong] >>> ((i % valuesPerLong) * bitsPerEntry)) & mask)];
+    }
+
+    /**
+     * @return a section with the block at this position changed. Palette entries that are no longer used are dropped.
+     */
+    public BlockSection with(int x, int y, int z, int state) {
+        if (get(x, y, z) == state) {
+            return this;
+        }
+        int[] states = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            states[i] = getIndex(i);
+        }
+        states[index(x, y, z)] = state;
+        return of(states);
+    }
+
+    /**
+     * @return a copy of this section that can be changed with {@link #set(int, int, int, int)}
+     */
+    public BlockSection mutableCopy() {
+        return new BlockSection(Arrays.copyOf(palette, paletteSize), bitsPerEntry, data == null ? null : data.clone(), true);
+    }
+
+    /**
+     * Changes a block of a {@link #mutableCopy() mutable} section in place. The indices are only repacked if the
+     * palette needs more bits.
+     */
+    public void set(int x, int y, int z, int state) {
+        if (!mutable) {
+            throw new IllegalStateException("Shared sections cannot be modified");
+        }
+
+        int paletteIndex = -1;
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == state) {
+                paletteIndex = i;
+                break;
+            }
+        }
+        if (paletteIndex == -1) {
+            paletteIndex = paletteSize;
+            if (paletteSize == palette.length) {
+                palette = Arrays.copyOf(palette, Math.max(4, palette.length * 2));
+            }
+            palette[paletteSize++] = state;
+            if (data == null || paletteIndex >>> bitsPerEntry != 0) {
+                resize(Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1));
+            }
+        } else if (data == null) {
+            // The only state of this section
+            return;
+        }
+
+        int i = index(x, y, z);
+        int valuesPerLong = Long.SIZE / bitsPerEntry;
+        int shift = (i % valuesPerLong) * bitsPerEntry;
+        long mask = (1L << bitsPerEntry) - 1;
+        data[i / valuesPerLong] = (data[i / valuesPerLong] & ~(mask << shift)) | ((long) paletteIndex << shift);
+    }
+
+    private void resize(int newBitsPerEntry) {
+        int valuesPerLong = Long.SIZE / newBitsPerEntry;
+        long[] newData = new long[(SIZE + valuesPerLong - 1) / valuesPerLong];
+        if (data != null) {
+            int oldValuesPerLong = Long.SIZE / bitsPerEntry;
+            long oldMask = (1L << bitsPerEntry) - 1;
+            for (int i = 0; i < SIZE; i++) {
+                long paletteIndex = (data[i / oldValuesPerLong] >>> ((i % oldValuesPerLong) * bitsPerEntry)) & oldMask;
+                newData[i / valuesPerLong] |= paletteIndex << ((i % valuesPerLong) * newBitsPerEntry);
+            }
+        }
+        // Without data every block was palette index 0, which the new data already is
+        this.bitsPerEntry = newBitsPerEntry;
+        this.data = newData;
+    }
+
+    public boolean isMutable() {
+        return mutable;
+    }
+
+    /**
+     * @return true if every block in this section is the given block state. Mutable sections only report this if
+     * they have never held another block state.
+     */
+    public boolean isSingleValue(int state) {
+        return data == null && palette[0] == state;
+    }
+
+    /**
+     * @return an estimate of the heap used by this section
+     */
+    public int getSizeInBytes() {
+        // Object header and fields, then both arrays with their headers
+        return 32 + 16 + palette.length * Integer.BYTES + (data == null ? 0 : 16 + data.length * Long.BYTES);
+    }
+
+    private static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockSection other) || mutable || other.mutable) {
+            return false;
+        }
+        return hash == other.hash && Arrays.equals(palette, other.palette) && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return mutable ? System.identityHashCode(this) : hash;
+    }
+}
@@ -26,13 +26,63 @@
 package org.geysermc.geyser.level.chunk;
 
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
+import org.geysermc.geyser.level.block.BlockStateValues;
 
 /**
  * Acts as a lightweight chunk class that doesn't store biomes, heightmaps or block entities.
+ * <p>
+ * Sections are shared through {@link SectionStore}, unless a block update made them {@link BlockSection#mutableCopy()
+ * mutable}; air-only sections are null.
  */
-public record GeyserChunk(DataPalette[] sections) {
+public record GeyserChunk(BlockSection[] sections) {
 
     public static GeyserChunk from(DataPalette[] sections) {
-        return new GeyserChunk(sections);
+        BlockSection[] blockSections = new BlockSection[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != null) {
+                BlockSection section = BlockSection.from(sections[i]);
+                if (!section.isSingleValue(BlockStateValues.JAVA_AIR_ID)) {
+                    blockSections[i] = SectionStore.intern(section);
+                }
+            }
+        }
+        return new GeyserChunk(blockSections);
+    }
+
+    /**
+     * @return a copy of this chunk that holds its own references to the same sections
+     */
+    public GeyserChunk copy() {
+        BlockSection[] copy = sections.clone();
+        for (BlockSection section : copy) {
+            if (section != null) {
+                SectionStore.intern(section);
+            }
+        }
+        return new GeyserChunk(copy);
+    }
+
+    /**
+     * Releases all shared sections of this chunk from the {@link SectionStore}.
+     */
+    public void release() {
+        for (BlockSection section : sections) {
+            if (section != null && !section.isMutable()) {
+                SectionStore.release(section);
+            }
+        }
+    }
+
+    /**
+     * @return an estimate of the heap used by the sections of this chunk
+     */
+    public long getSizeInBytes() {
+        long size = 16 + sections.length * 4L;
+        for (BlockSection section : sections) {
+            if (section != null) {
+                size += section.getSizeInBytes();
+            }
+        }
+        return size;
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares equal {@link BlockSection}s between all chunk caches, so terrain that many players see is only stored once.
+ * <p>
+ * Every cache that holds a section has to {@link #release(BlockSection)} it again once it stops holding it. Reference
+ * counts are only updated under the lock of their map bin, so sessions loading different sections don't contend.
+ */
+public final class SectionStore {
+    private static final Map<BlockSection, Entry> SECTIONS = new ConcurrentHashMap<>();
+    private static final AtomicLong SIZE_IN_BYTES = new AtomicLong();
+
+    private SectionStore() {
+    }
+
+    /**
+     * @param section an immutable section
+     * @return the shared section equal to this one
+     */
+    public static BlockSection intern(BlockSection section) {
+        if (section.isMutable()) {
+            throw new IllegalArgumentException("Mutable sections cannot be shared");
+        }
+        return SECTIONS.compute(section, (key, entry) -> {
+            if (entry == null) {
+                entry = new Entry(key);
+                SIZE_IN_BYTES.addAndGet(key.getSizeInBytes());
+            }
+            entry.references++;
+            return entry;
+        }).section;
+    }
+
+    public static void release(BlockSection section) {
+        SECTIONS.computeIfPresent(section, (key, entry) -> {
+            if (--entry.references == 0) {
+                SIZE_IN_BYTES.addAndGet(-entry.section.getSizeInBytes());
+                return null;
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * @return the amount of unique sections currently stored
+     */
+    public static int getSectionCount() {
+        return SECTIONS.size();
+    }
+
+    /**
+     * @return an estimate of the heap used by all unique sections
+     */
+    public static long getSizeInBytes() {
+        return SIZE_IN_BYTES.get();
+    }
+
+    private static final class Entry {
+        private final BlockSection section;
+        private int references;
+
+        private Entry(BlockSection section) {
+            this.section = section;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares whole chunk columns between sessions that are connected to the same backend world, if enabled in the
+ * config.
+ * <p>
+ * A column is only shared if its content is exactly the same as what another session received. Players can see
+ * different blocks (e.g. anti-xray or fake blocks sent to one player, or different servers behind one proxy), so a
+ * column that differs simply becomes the latest version for its position, while sessions holding the older one keep
+ * their own copy. Shared columns are never modified; a session {@link #detach(GeyserChunk) detaches} a column
+ * before applying a block update, and the detached column is private to that session from then on.
+ * <p>
+ * Reference counts of a column are only changed while holding the map bin of its position in {@link #LATEST}, so
+ * sessions only contend when they load or modify the same position.
+ */
+public final class SharedChunkStore {
+    /**
+     * The most recently received column for each position.
+     */
+    private static final Map<ColumnKey, GeyserChunk> LATEST = new ConcurrentHashMap<>();
+    /**
+     * Every column held by at least one session. Columns are records of an array, so they are compared by identity.
+     */
+    private static final Map<GeyserChunk, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final LongAdder SHARED_COLUMNS = new LongAdder();
+    private static final LongAdder DIVERGENT_COLUMNS = new LongAdder();
+
+    private SharedChunkStore() {
+    }
+
+    /**
+     * Shares a newly built column.
+     *
+     * @param chunk a column that no one else holds yet
+     * @return the column the caller should hold from now on: either an equal column already held by another session,
+     * or the given column
+     */
+    public static GeyserChunk share(ColumnKey key, GeyserChunk chunk) {
+        GeyserChunk shared = LATEST.compute(key, (k, latest) -> {
+            if (latest != null) {
+                if (Arrays.equals(latest.sections(), chunk.sections())) {
+                    ENTRIES.get(latest).references++;
+                    SHARED_COLUMNS.increment();
+                    return latest;
+                }
+                DIVERGENT_COLUMNS.increment();
+            }
+            ENTRIES.put(chunk, new Entry(k));
+            return chunk;
+        });
+        if (shared != chunk) {
+            chunk.release();
+        }
+        return shared;
+    }
+
+    /**
+     * Drops one reference to this column, releasing its sections once no session holds it anymore.
+     */
+    public static void release(GeyserChunk chunk) {
+        Entry entry = ENTRIES.get(chunk);
+        if (entry == null) {
+            chunk.release();
+            return;
+        }
+        boolean[] released = new boolean[1];
+        LATEST.compute(entry.key, (key, latest) -> {
+            if (--entry.references == 0) {
+                ENTRIES.remove(chunk);
+                released[0] = true;
+                return latest == chunk ? null : latest;
+            }
+            return latest;
+        });
+        if (released[0]) {
+            chunk.release();
+        }
+    }
+
+    /**
+     * Makes a column safe to modify. The returned column is not offered to other sessions anymore, but is still
+     * released with {@link #release(GeyserChunk)}.
+     *
+     * @param chunk a column held by the caller
+     * @return the column itself if only the caller held it, which is no longer offered to other sessions, or a copy
+     * if other sessions hold it too, in which case the caller's reference to the column is dropped
+     */
+    public static GeyserChunk detach(GeyserChunk chunk) {
+        Entry entry = ENTRIES.get(chunk);
+        if (entry == null) {
+            return chunk;
+        }
+        GeyserChunk[] detached = new GeyserChunk[1];
+        LATEST.compute(entry.key, (key, latest) -> {
+            if (entry.references == 1) {
+                // Nobody else can get hold of this column once it's not indexed anymore
+                ENTRIES.remove(chunk);
+                detached[0] = chunk;
+                return latest == chunk ? null : latest;
+            }
+            // Copied while still holding the reference, so the sections can't be released in the meantime
+            detached[0] = chunk.copy();
+            entry.references--;
+            return latest;
+        });
+        return detached[0];
+    }
+
+    /**
+     * @return how many sessions hold this column through the store, or 0 if it isn't shared
+     */
+    static int getReferences(GeyserChunk chunk) {
+        Entry entry = ENTRIES.get(chunk);
+        if (entry == null) {
+            return 0;
+        }
+        int[] references = new int[1];
+        LATEST.compute(entry.key, (key, latest) -> {
+            references[0] = entry.references;
+            return latest;
+        });
+        return references[0];
+    }
+
+    /**
+     * @return how often a session received a column equal to one another session already held
+     */
+    public static long getSharedColumns() {
+        return SHARED_COLUMNS.sum();
+    }
+
+    /**
+     * @return how often a session received a column that differed from the latest one at that position
+     */
+    public static long getDivergentColumns() {
+        return DIVERGENT_COLUMNS.sum();
+    }
+
+    /**
+     * Identifies a world of one backend server. Proxies forward many backends from one address, so the world name
+     * and hashed seed of the world the backend sent are part of the key too.
+     *
+     * @param server the address of the remote server
+     * @param worldName the Java world identifier, as sent in the login and respawn packets
+     * @param hashedSeed the hashed seed of the world, as sent in the login and respawn packets
+     * @param dimension the Java dimension identifier
+     * @param position see {@link org.geysermc.geyser.util.MathUtils#chunkPositionToLong(int, int)}
+     */
+    public record ColumnKey(String server, String worldName, long hashedSeed, String dimension, long position) {
+    }
+
+    private static final class Entry {
+        private final ColumnKey key;
+        /**
+         * Only accessed while holding the map bin of {@link #key}.
+         */
+        private int references = 1;
+
+        private Entry(ColumnKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.physics;
+
+import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.session.GeyserSession;
+
+/**
+ * A snapshot of the blocks around the player, fetched in one {@link org.geysermc.geyser.level.WorldManager#getBlocksAt}
+ * call so the collision passes of a single movement don't each go to the world manager for every block.
+ * <p>
+ * Only valid while the movement is being processed: it is loaded and cleared around it. Positions outside the
+ * snapshot, or any lookup while nothing is loaded, go to the world manager as before.
+ */
+final class BlockNeighborhood {
+    /**
+     * Larger volumes (teleports, very fast movement) are not worth copying, since most of it would not be checked.
+     */
+    private static final int MAX_VOLUME = 4096;
+
+    private int[] blocks = new int[256];
+    private boolean loaded;
+
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int sizeX;
+    private int sizeY;
+    private int sizeZ;
+
+    /**
+     * Fetches all blocks within the given bounds, inclusive.
+     */
+    void load(GeyserSession session, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int sizeX = maxX - minX + 1;
+        int sizeY = maxY - minY + 1;
+        int sizeZ = maxZ - minZ + 1;
+        int volume = sizeX * sizeY * sizeZ;
+        if (volume <= 0 || volume > MAX_VOLUME) {
+            this.loaded = false;
+            return;
+        }
+
+        BlockPositionIterator iter = BlockPositionIterator.fromMinMax(minX, minY, minZ, maxX, maxY, maxZ);
+        int[] fetched = session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+        if (this.blocks.length < volume) {
+            this.blocks = new int[Math.max(volume, this.blocks.length * 2)];
+        }
+
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            this.blocks[index(iter.getX(), iter.getY(), iter.getZ())] = fetched[iter.getIteration()];
+        }
+        this.loaded = true;
+    }
+
+    void clear() {
+        this.loaded = false;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    int getBlockAt(GeyserSession session, int x, int y, int z) {
+        if (loaded) {
+            int localX = x - minX;
+            int localY = y - minY;
+            int localZ = z - minZ;
+            // Unsigned comparisons also reject negative offsets
+            if (Integer.compareUnsigned(localX, sizeX) < 0 && Integer.compareUnsigned(localY, sizeY) < 0
+                    && Integer.compareUnsigned(localZ, sizeZ) < 0) {
+                return blocks[(localX * sizeY + localY) * sizeZ + localZ];
+            }
+        }
+        return session.getGeyser().getWorldManager().getBlockAt(session, x, y, z);
+    }
+
+    /**
+     * @return the blocks of every position of the iterator, in iteration order
+     */
+    int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        if (!loaded) {
+            return session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+        }
+        int[] result = new int[iter.getMaxIterations()];
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            result[iter.getIteration()] = getBlockAt(session, iter.getX(), iter.getY(), iter.getZ());
+        }
+        return result;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((x - minX) * sizeY + (y - minY)) * sizeZ + (z - minZ);
+    }
+}
@@ -39,10 +39,11 @@ import org.geysermc.geyser.entity.EntityDefinitions;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.translator.collision.BlockCollision;
-import org.geysermc.geyser.translator.collision.ScaffoldingCollision;
+import org.geysermc.geyser.translator.collision.CollisionShapeTable;
 import org.geysermc.geyser.util.BlockUtils;
 
 import java.text.DecimalFormat;
@@ -56,6 +57,15 @@ public class CollisionManager {
     @Getter
     private final BoundingBox playerBoundingBox;
 
+    /**
+     * The blocks around the player while a movement is being processed.
+     */
+    private final BlockNeighborhood neighborhood = new BlockNeighborhood();
+    /**
+     * Reused by {@link #computeCollidableBounds(BoundingBox)}: min X, Y, Z, then max X, Y, Z.
+     */
+    private final int[] collidableBounds = new int[6];
+
     /**
      * Whether the player is inside scaffolding
      */
@@ -149,6 +159,22 @@ public class CollisionManager {
 
         Vector3d startingPos = playerBoundingBox.getBottomCenter();
         Vector3d movement = position.sub(startingPos);
+
+        // Every block this movement can touch, including a step up and being pushed by pistons
+        BoundingBox sweptBoundingBox = playerBoundingBox.clone();
+        sweptBoundingBox.extend(movement);
+        sweptBoundingBox.extend(0, PLAYER_STEP_UP, 0);
+        sweptBoundingBox.extend(pistonCache.getPlayerMotion().toDouble());
+        loadNeighborhood(sweptBoundingBox);
+        try {
+            return adjustBedrockPosition(position, movement, onGround, teleported);
+        } finally {
+            neighborhood.clear();
+        }
+    }
+
+    private @Nullable Vector3d adjustBedrockPosition(Vector3d position, Vector3d movement, boolean onGround, boolean teleported) {
+        PistonCache pistonCache = session.getPistonCache();
         Vector3d adjustedMovement = correctPlayerMovement(movement, false, teleported);
         playerBoundingBox.translate(adjustedMovement.getX(), adjustedMovement.getY(), adjustedMovement.getZ());
         playerBoundingBox.translate(pistonCache.getPlayerMotion().getX(), pistonCache.getPlayerMotion().getY(), pistonCache.getPlayerMotion().getZ());
@@ -198,25 +224,42 @@ public class CollisionManager {
     }
 
     public BlockPositionIterator collidableBlocksIterator(BoundingBox box) {
-        Vector3d position = Vector3d.from(box.getMiddleX(),
-                box.getMiddleY() - (box.getSizeY() / 2),
-                box.getMiddleZ());
+        int[] bounds = computeCollidableBounds(box);
+        return BlockPositionIterator.fromMinMax(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * @return the bounds of {@link #collidableBlocksIterator(BoundingBox)}. Only valid until the next call.
+     */
+    private int[] computeCollidableBounds(BoundingBox box) {
+        double positionX = box.getMiddleX();
+        double positionY = box.getMiddleY() - (box.getSizeY() / 2);
+        double positionZ = box.getMiddleZ();
 
         // Expand volume by 1 in each direction to include moving blocks
         double pistonExpand = session.getPistonCache().getPistons().isEmpty() ? 0 : 1;
 
         // Loop through all blocks that could collide
-        int minCollisionX = (int) Math.floor(position.getX() - ((box.getSizeX() / 2) + COLLISION_TOLERANCE + pistonExpand));
-        int maxCollisionX = (int) Math.floor(position.getX() + (box.getSizeX() / 2) + COLLISION_TOLERANCE + pistonExpand);
+        int[] bounds = collidableBounds;
+        bounds[0] = (int) Math.floor(positionX - ((box.getSizeX() / 2) + COLLISION_TOLERANCE + pistonExpand));
+        bounds[3] = (int) Math.floor(positionX + (box.getSizeX() / 2) + COLLISION_TOLERANCE + pistonExpand);
 
         // Y extends 0.5 blocks down because of fence hitboxes
-        int minCollisionY = (int) Math.floor(position.getY() - 0.5 - COLLISION_TOLERANCE - pistonExpand / 2.0);
-        int maxCollisionY = (int) Math.floor(position.getY() + box.getSizeY() + pistonExpand);
+        bounds[1] = (int) Math.floor(positionY - 0.5 - COLLISION_TOLERANCE - pistonExpand / 2.0);
+        bounds[4] = (int) Math.floor(positionY + box.getSizeY() + pistonExpand);
 
-        int minCollisionZ = (int) Math.floor(position.getZ() - ((box.getSizeZ() / 2) + COLLISION_TOLERANCE + pistonExpand));
-        int maxCollisionZ = (int) Math.floor(position.getZ() + (box.getSizeZ() / 2) + COLLISION_TOLERANCE + pistonExpand);
+        bounds[2] = (int) Math.floor(positionZ - ((box.getSizeZ() / 2) + COLLISION_TOLERANCE + pistonExpand));
+        bounds[5] = (int) Math.floor(positionZ + (box.getSizeZ() / 2) + COLLISION_TOLERANCE + pistonExpand);
+        return bounds;
+    }
 
-        return BlockPositionIterator.fromMinMax(minCollisionX, minCollisionY, minCollisionZ, maxCollisionX, maxCollisionY, maxCollisionZ);
+    /**
+     * Loads all blocks that collision checks within this box can look at into the neighborhood snapshot.
+     */
+    private void loadNeighborhood(BoundingBox box) {
+        int[] bounds = computeCollidableBounds(box);
+        // The pose and water checks look at the block above the player's feet and at their eyes
+        neighborhood.load(session, bounds[0], bounds[1], bounds[2], bounds[3], bounds[4] + 1, bounds[5]);
     }
 
     public BlockPositionIterator playerCollidableBlocksIterator() {
@@ -236,21 +279,24 @@ public class CollisionManager {
 
         // Used when correction code needs to be run before the main correction
         BlockPositionIterator iter = session.getCollisionManager().playerCollidableBlocksIterator();
-        int[] blocks = session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+        int[] blocks = neighborhood.getBlocksAt(session, iter);
+        CollisionShapeTable shapes = BlockRegistries.COLLISION_SHAPES.get();
         for (iter.reset(); iter.hasNext(); iter.next()) {
-            BlockCollision blockCollision = BlockUtils.getCollision(blocks[iter.getIteration()]);
-            if (blockCollision != null) {
-                blockCollision.beforeCorrectPosition(iter.getX(), iter.getY(), iter.getZ(), playerBoundingBox);
+            int blockId = blocks[iter.getIteration()];
+            if ((shapes.getFlags(blockId) & CollisionShapeTable.FLAG_CUSTOM_CORRECTION) != 0) {
+                shapes.getCollision(blockId).beforeCorrectPosition(iter.getX(), iter.getY(), iter.getZ(), playerBoundingBox);
             }
         }
 
         // Main correction code
         for (iter.reset(); iter.hasNext(); iter.next()) {
-            BlockCollision blockCollision = BlockUtils.getCollision(blocks[iter.getIteration()]);
-            if (blockCollision != null) {
-                if (!blockCollision.correctPosition(session, iter.getX(), iter.getY(), iter.getZ(), playerBoundingBox)) {
+            int blockId = blocks[iter.getIteration()];
+            if ((shapes.getFlags(blockId) & CollisionShapeTable.FLAG_CUSTOM_CORRECTION) != 0) {
+                if (!shapes.getCollision(blockId).correctPosition(session, iter.getX(), iter.getY(), iter.getZ(), playerBoundingBox)) {
                     return false;
                 }
+            } else if (!shapes.isEmpty(blockId)) {
+                shapes.correctPosition(blockId, iter.getX(), iter.getY(), iter.getZ(), playerBoundingBox);
             }
         }
 
@@ -269,6 +315,23 @@ public class CollisionManager {
     }
 
     public Vector3d correctMovement(Vector3d movement, BoundingBox boundingBox, boolean onGround, double stepUp, boolean checkWorld) {
+        if (!checkWorld || neighborhood.isLoaded()) {
+            return correctMovement0(movement, boundingBox, onGround, stepUp, checkWorld);
+        }
+
+        // All passes below, including stepping up, stay within this box
+        BoundingBox sweptBoundingBox = boundingBox.clone();
+        sweptBoundingBox.extend(movement);
+        sweptBoundingBox.extend(0, stepUp, 0);
+        loadNeighborhood(sweptBoundingBox);
+        try {
+            return correctMovement0(movement, boundingBox, onGround, stepUp, true);
+        } finally {
+            neighborhood.clear();
+        }
+    }
+
+    private Vector3d correctMovement0(Vector3d movement, BoundingBox boundingBox, boolean onGround, double stepUp, boolean checkWorld) {
         Vector3d adjustedMovement = movement;
         if (!movement.equals(Vector3d.ZERO)) {
             adjustedMovement = correctMovementForCollisions(movement, boundingBox, checkWorld);
@@ -343,14 +406,15 @@ public class CollisionManager {
     }
 
     private double computeCollisionOffset(BoundingBox boundingBox, Axis axis, double offset, BlockPositionIterator iter, boolean checkWorld) {
+        CollisionShapeTable shapes = BlockRegistries.COLLISION_SHAPES.get();
         for (iter.reset(); iter.hasNext(); iter.next()) {
             int x = iter.getX();
             int y = iter.getY();
             int z = iter.getZ();
             if (checkWorld) {
-                BlockCollision blockCollision = BlockUtils.getCollisionAt(session, x, y, z);
-                if (blockCollision != null && !(blockCollision instanceof ScaffoldingCollision)) {
-                    offset = blockCollision.computeCollisionOffset(x, y, z, boundingBox, axis, offset);
+                int blockId = neighborhood.getBlockAt(session, x, y, z);
+                if ((shapes.getFlags(blockId) & CollisionShapeTable.FLAG_SCAFFOLDING) == 0) {
+                    offset = shapes.computeCollisionOffset(blockId, x, y, z, boundingBox, axis, offset);
                 }
             }
             offset = session.getPistonCache().computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
@@ -382,7 +446,7 @@ public class CollisionManager {
      */
     private boolean checkPose(float height) {
         Vector3i position = session.getPlayerEntity().getPosition().toInt();
-        BlockCollision collision = BlockUtils.getCollisionAt(session, position);
+        BlockCollision collision = BlockUtils.getCollision(neighborhood.getBlockAt(session, position.getX(), position.getY(), position.getZ()));
         if (collision != null) {
             // Determine, if the player's bounding box *were* at full height, if it would intersect with the block
             // at the current location.
@@ -405,7 +469,8 @@ public class CollisionManager {
      * @return if the player is currently in a water block
      */
     public boolean isPlayerInWater() {
-        return session.getGeyser().getWorldManager().getBlockAt(session, session.getPlayerEntity().getPosition().toInt()) == BlockStateValues.JAVA_WATER_ID;
+        Vector3i position = session.getPlayerEntity().getPosition().toInt();
+        return neighborhood.getBlockAt(session, position.getX(), position.getY(), position.getZ()) == BlockStateValues.JAVA_WATER_ID;
     }
 
     public boolean isWaterInEyes() {
@@ -414,7 +479,7 @@ public class CollisionManager {
         double eyeZ = playerBoundingBox.getMiddleZ();
 
         eyeY -= 1 / ((double) BlockStateValues.NUM_WATER_LEVELS); // Subtract the height of one water layer
-        int blockID = session.getGeyser().getWorldManager().getBlockAt(session, GenericMath.floor(eyeX), GenericMath.floor(eyeY), GenericMath.floor(eyeZ));
+        int blockID = neighborhood.getBlockAt(session, GenericMath.floor(eyeX), GenericMath.floor(eyeY), GenericMath.floor(eyeZ));
         double waterHeight = BlockStateValues.getWaterHeight(blockID);
 
         return waterHeight != -1 && eyeY < (Math.floor(eyeY) + waterHeight);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.packet.AvailableEntityIdentifiersPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BiomeDefinitionListPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CameraPresetsPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CraftingDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.CreativeContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ItemComponentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.impl.camera.CameraDefinitions;
+import org.geysermc.geyser.registry.Registries;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.geysermc.geyser.session.UpstreamSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the static packets sent to every Bedrock client when joining, serialized once per Bedrock codec.
+ * <p>
+ * The contents of these packets only depend on the protocol version, the registries and the configuration, so sending
+ * them to another player with the same version is a matter of copying the already encoded bytes. The cache is cleared
+ * on reload, when any of these may change.
+ */
+public final class JoinPacketCache {
+    private static final Map<Integer, JoinPackets> CACHE = new ConcurrentHashMap<>();
+
+    private JoinPacketCache() {
+    }
+
+    /**
+     * @param upstream the session to get the codec from. Its codec helper must already have the item, block and camera
+     *                 definitions of this version set.
+     * @param itemMappings the item mappings of this version
+     * @return the encoded join packets of the version of this session
+     */
+    public static JoinPackets get(UpstreamSession upstream, ItemMappings itemMappings) {
+        BedrockCodec codec = upstream.getSession().getCodec();
+        return CACHE.computeIfAbsent(codec.getProtocolVersion(), version -> encodeAll(codec, upstream.getCodecHelper(), itemMappings));
+    }
+
+    /**
+     * Forgets all encoded packets, so they are encoded again from the current registries and configuration.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static JoinPackets encodeAll(BedrockCodec codec, BedrockCodecHelper helper, ItemMappings itemMappings) {
+        EncodedPacket itemComponents = null;
+        if (GeyserImpl.getInstance().getConfig().isAddNonBedrockItems()) {
+            // Only sent if enabled
+            ItemComponentPacket componentPacket = new ItemComponentPacket();
+            componentPacket.getItems().addAll(itemMappings.getComponentItemData());
+            itemComponents = encode(codec, helper, componentPacket);
+        }
+
+        BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
+        biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
+
+        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
+        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
+
+        CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
+        cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
+
+        CreativeContentPacket creativePacket = new CreativeContentPacket();
+        creativePacket.setContents(itemMappings.getCreativeItems());
+
+        // Potion mixes are registered by default, as they are needed to be able to put ingredients into the brewing stand.
+        CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
+        craftingDataPacket.setCleanRecipes(true);
+        craftingDataPacket.getPotionMixData().addAll(Registries.POTION_MIXES.forVersion(codec.getProtocolVersion()));
+
+        return new JoinPackets(
+                itemComponents,
+                encode(codec, helper, biomeDefinitionListPacket),
+                encode(codec, helper, entityPacket),
+                encode(codec, helper, cameraPresetsPacket),
+                encode(codec, helper, creativePacket),
+                encode(codec, helper, craftingDataPacket)
+        );
+    }
+
+    private static EncodedPacket encode(BedrockCodec codec, BedrockCodecHelper helper, BedrockPacket packet) {
+        ByteBuf buffer = Unpooled.buffer();
+        codec.tryEncode(helper, buffer, packet);
+        return new EncodedPacket(codec.getPacketDefinition(packet.getClass()).getId(), buffer.asReadOnly());
+    }
+
+    /**
+     * The join packets of one Bedrock version, in the order they are sent.
+     *
+     * @param itemComponents null if non-Bedrock items are disabled, as the packet isn't sent then
+     */
+    public record JoinPackets(@Nullable EncodedPacket itemComponents, EncodedPacket biomeDefinitions, EncodedPacket entityIdentifiers,
+                              EncodedPacket cameraPresets, EncodedPacket creativeContent, EncodedPacket potionMixes) {
+    }
+
+    /**
+     * The serialized body of a packet, without the packet header.
+     *
+     * @param payload shared between all sessions and never released; every send takes its own reference
+     */
+    public record EncodedPacket(int packetId, ByteBuf payload) {
+        public void send(UpstreamSession upstream) {
+            UnknownPacket packet = new UnknownPacket();
+            packet.setPacketId(packetId);
+            // Own indices and reference, so the encoder can consume and release it without touching the shared buffer
+            packet.setPayload(payload.retainedDuplicate());
+            upstream.sendPacket(packet);
+        }
+    }
+}
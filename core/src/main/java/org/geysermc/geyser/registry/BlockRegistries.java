@@ -39,10 +39,12 @@ import org.geysermc.geyser.registry.loader.RegistryLoaders;
 import org.geysermc.geyser.registry.populator.BlockRegistryPopulator;
 import org.geysermc.geyser.registry.populator.CustomBlockRegistryPopulator;
 import org.geysermc.geyser.registry.populator.CustomSkullRegistryPopulator;
+import org.geysermc.geyser.registry.populator.StartupTasks;
 import org.geysermc.geyser.registry.type.BlockMapping;
 import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.registry.type.CustomSkull;
 import org.geysermc.geyser.translator.collision.BlockCollision;
+import org.geysermc.geyser.translator.collision.CollisionShapeTable;
 
 import java.util.BitSet;
 
@@ -74,6 +76,11 @@ public class BlockRegistries {
      */
     public static final IntMappedRegistry<BlockCollision> COLLISIONS;
 
+    /**
+     * A registry containing {@link #COLLISIONS} flattened into a {@link CollisionShapeTable} for the collision sweep.
+     */
+    public static final SimpleRegistry<CollisionShapeTable> COLLISION_SHAPES = SimpleRegistry.create(RegistryLoaders.uninitialized());
+
     /**
      * A mapped registry containing the Java identifiers to IDs.
      */
@@ -131,15 +138,18 @@ public class BlockRegistries {
     public static final SimpleMappedRegistry<String, CustomSkull> CUSTOM_SKULLS = SimpleMappedRegistry.create(RegistryLoaders.empty(Object2ObjectOpenHashMap::new));
 
     static {
-        CustomSkullRegistryPopulator.populate();
+        StartupTasks.run("custom skulls", CustomSkullRegistryPopulator::populate);
         BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.PRE_INIT);
-        CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.DEFINITION);
-        CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.NON_VANILLA_REGISTRATION);
-        BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.INIT_JAVA);
+        StartupTasks.run("custom block definitions", () -> CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.DEFINITION));
+        StartupTasks.run("non-vanilla custom blocks", () -> CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.NON_VANILLA_REGISTRATION));
+        StartupTasks.run("Java blocks", () -> BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.INIT_JAVA));
+        long collisionStart = System.nanoTime();
         COLLISIONS = IntMappedRegistry.create(Pair.of("org.geysermc.geyser.translator.collision.CollisionRemapper", "mappings/collision.json"), CollisionRegistryLoader::new);
-        CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.VANILLA_REGISTRATION);
-        CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.CUSTOM_REGISTRATION);
-        BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.INIT_BEDROCK);
+        COLLISION_SHAPES.set(CollisionShapeTable.of(COLLISIONS.get(), JAVA_BLOCKS.get().length));
+        StartupTasks.logTime("collisions", collisionStart);
+        StartupTasks.run("vanilla custom blocks", () -> CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.VANILLA_REGISTRATION));
+        StartupTasks.run("custom block overrides", () -> CustomBlockRegistryPopulator.populate(CustomBlockRegistryPopulator.Stage.CUSTOM_REGISTRATION));
+        StartupTasks.run("Bedrock blocks", () -> BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.INIT_BEDROCK));
         BlockRegistryPopulator.populate(BlockRegistryPopulator.Stage.POST_INIT);
     }
 
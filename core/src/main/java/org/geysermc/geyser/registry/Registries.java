@@ -50,6 +50,7 @@ import org.geysermc.geyser.registry.loader.*;
 import org.geysermc.geyser.registry.populator.ItemRegistryPopulator;
 import org.geysermc.geyser.registry.populator.PacketRegistryPopulator;
 import org.geysermc.geyser.registry.populator.RecipeRegistryPopulator;
+import org.geysermc.geyser.registry.populator.StartupTasks;
 import org.geysermc.geyser.registry.provider.ProviderSupplier;
 import org.geysermc.geyser.registry.type.EnchantmentData;
 import org.geysermc.geyser.registry.type.ItemMappings;
@@ -179,9 +180,9 @@ public final class Registries {
     }
 
     static {
-        PacketRegistryPopulator.populate();
-        ItemRegistryPopulator.populate();
-        RecipeRegistryPopulator.populate();
+        StartupTasks.run("packet translators", PacketRegistryPopulator::populate);
+        StartupTasks.run("items", ItemRegistryPopulator::populate);
+        StartupTasks.run("recipes", RecipeRegistryPopulator::populate);
 
         // Create registries that require other registries to load first
         POTION_MIXES = VersionedRegistry.create(PotionMixRegistryLoader::new);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.populator;
+
+import com.google.common.collect.Interner;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.nbt.NbtMapBuilder;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the vanilla part of one Bedrock block palette, as populated by {@link BlockRegistryPopulator}.
+ * <p>
+ * It stores the cleaned-up palette states and, for every Java block state, the index of its vanilla Bedrock state in
+ * that palette. Loading it skips decompressing and parsing the palette NBT and converting and remapping every Java
+ * block state. Custom blocks are added on top of the vanilla palette as usual, so they don't invalidate the snapshot.
+ * <p>
+ * States are stored as a block name and the index of their state compound, and both names and compounds are only
+ * stored once, so loading only builds every distinct compound once.
+ * <p>
+ * The inputs of the snapshot are bundled resources, so a snapshot is valid for the build of Geyser that wrote it.
+ */
+final class BlockPaletteSnapshot {
+    private static final int MAGIC = 0x47534250; // GSBP
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte TYPE_BYTE = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_STRING = 2;
+
+    private final List<NbtMap> blockStates;
+    private final int[] vanillaIndices;
+
+    private BlockPaletteSnapshot(List<NbtMap> blockStates, int[] vanillaIndices) {
+        this.blockStates = blockStates;
+        this.vanillaIndices = vanillaIndices;
+    }
+
+    /**
+     * @return the vanilla states of the palette, in palette order
+     */
+    List<NbtMap> blockStates() {
+        return blockStates;
+    }
+
+    /**
+     * @param javaId the Java block state ID
+     * @return the index of the vanilla Bedrock state of this block state in {@link #blockStates()}, or -1 if there is
+     * none (only possible if a custom block overrides the state)
+     */
+    int vanillaIndex(int javaId) {
+        return vanillaIndices[javaId];
+    }
+
+    /**
+     * @return whether snapshots can be used. Development builds don't identify their resources, so they always populate
+     * the full palettes.
+     */
+    static boolean isEnabled() {
+        return GeyserImpl.getInstance().isProductionEnvironment();
+    }
+
+    /**
+     * @param paletteKey the version of the palette, as in its file name
+     * @param javaBlockCount the number of Java block states
+     * @param statesInterner the interner of the state compounds, which is shared between palettes
+     * @return the snapshot of this palette, or null if it is missing or was written by another build
+     */
+    static @Nullable BlockPaletteSnapshot load(String paletteKey, int javaBlockCount, Interner<NbtMap> statesInterner) {
+        Path file = file(paletteKey);
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+
+        try {
+            return read(file, stamp(paletteKey), javaBlockCount, statesInterner);
+        } catch (Exception e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to load block palette snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a new snapshot of this palette. Failures are only logged, as the snapshot is an optimization.
+     *
+     * @param vanillaIndices see {@link #vanillaIndex(int)}, for every Java block state
+     */
+    static void save(String paletteKey, List<NbtMap> blockStates, int[] vanillaIndices) {
+        Path file = file(paletteKey);
+        try {
+            write(file, stamp(paletteKey), blockStates, vanillaIndices);
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().debug("Unable to save block palette snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    static @Nullable BlockPaletteSnapshot read(Path file, long stamp, int javaBlockCount, Interner<NbtMap> statesInterner) throws IOException {
+        // Read through a stream so the file isn't held open or mapped, and can be replaced on every platform
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != stamp || in.readInt() != javaBlockCount) {
+                return null;
+            }
+
+            int[] vanillaIndices = new int[javaBlockCount];
+            for (int i = 0; i < javaBlockCount; i++) {
+                vanillaIndices[i] = in.readInt();
+            }
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF().intern();
+            }
+
+            NbtMap[] compounds = new NbtMap[in.readInt()];
+            for (int i = 0; i < compounds.length; i++) {
+                int size = in.readInt();
+                NbtMapBuilder builder = NbtMap.builder();
+                for (int j = 0; j < size; j++) {
+                    String key = strings[in.readInt()];
+                    byte type = in.readByte();
+                    switch (type) {
+                        case TYPE_BYTE -> builder.putByte(key, in.readByte());
+                        case TYPE_INT -> builder.putInt(key, in.readInt());
+                        case TYPE_STRING -> builder.putString(key, strings[in.readInt()]);
+                        default -> throw new IOException("Unknown state value type " + type);
+                    }
+                }
+                //noinspection UnstableApiUsage
+                compounds[i] = statesInterner.intern(builder.build());
+            }
+
+            int stateCount = in.readInt();
+            List<NbtMap> blockStates = new ArrayList<>(stateCount);
+            for (int i = 0; i < stateCount; i++) {
+                blockStates.add(NbtMap.builder()
+                        .putString("name", strings[in.readInt()])
+                        .putCompound("states", compounds[in.readInt()])
+                        .build());
+            }
+
+            if (in.read() != -1) {
+                return null;
+            }
+            return new BlockPaletteSnapshot(blockStates, vanillaIndices);
+        }
+    }
+
+    static void write(Path file, long stamp, List<NbtMap> blockStates, int[] vanillaIndices) throws IOException {
+        // Indices into the string and compound tables, in insertion order
+        Object2IntMap<String> strings = new Object2IntOpenHashMap<>();
+        strings.defaultReturnValue(-1);
+        Object2IntMap<NbtMap> compounds = new Object2IntOpenHashMap<>();
+        compounds.defaultReturnValue(-1);
+        for (NbtMap state : blockStates) {
+            strings.putIfAbsent(state.getString("name"), strings.size());
+            NbtMap compound = state.getCompound("states");
+            if (compounds.putIfAbsent(compound, compounds.size()) == -1) {
+                for (Map.Entry<String, Object> property : compound.entrySet()) {
+                    strings.putIfAbsent(property.getKey(), strings.size());
+                    if (property.getValue() instanceof String value) {
+                        strings.putIfAbsent(value, strings.size());
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(stamp);
+            out.writeInt(vanillaIndices.length);
+            for (int vanillaIndex : vanillaIndices) {
+                out.writeInt(vanillaIndex);
+            }
+
+            String[] stringTable = new String[strings.size()];
+            Object2IntMaps.fastForEach(strings, entry -> stringTable[entry.getIntValue()] = entry.getKey());
+            out.writeInt(stringTable.length);
+            for (String string : stringTable) {
+                out.writeUTF(string);
+            }
+
+            NbtMap[] compoundTable = new NbtMap[compounds.size()];
+            Object2IntMaps.fastForEach(compounds, entry -> compoundTable[entry.getIntValue()] = entry.getKey());
+            out.writeInt(compoundTable.length);
+            for (NbtMap compound : compoundTable) {
+                out.writeInt(compound.size());
+                for (Map.Entry<String, Object> property : compound.entrySet()) {
+                    out.writeInt(strings.getInt(property.getKey()));
+                    if (property.getValue() instanceof Byte value) {
+                        out.writeByte(TYPE_BYTE);
+                        out.writeByte(value);
+                    } else if (property.getValue() instanceof Integer value) {
+                        out.writeByte(TYPE_INT);
+                        out.writeInt(value);
+                    } else if (property.getValue() instanceof String value) {
+                        out.writeByte(TYPE_STRING);
+                        out.writeInt(strings.getInt(value));
+                    } else {
+                        throw new IOException("Unsupported value of block state property " + property.getKey() + ": " + property.getValue());
+                    }
+                }
+            }
+
+            out.writeInt(blockStates.size());
+            for (NbtMap state : blockStates) {
+                out.writeInt(strings.getInt(state.getString("name")));
+                out.writeInt(compounds.getInt(state.getCompound("states")));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path file(String paletteKey) {
+        return GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("cache").resolve("registry")
+                .resolve("block_palette." + paletteKey + ".bin");
+    }
+
+    private static long stamp(String paletteKey) {
+        return Hashing.murmur3_128().hashString(GeyserImpl.GIT_VERSION + "/" + GeyserImpl.COMMIT + "/" + paletteKey,
+                StandardCharsets.UTF_8).asLong();
+    }
+}
@@ -130,10 +130,67 @@ public final class BlockRegistryPopulator {
         //noinspection UnstableApiUsage
         Interner<NbtMap> statesInterner = Interners.newStrongInterner();
 
-        for (ObjectIntPair<String> palette : blockMappers.keySet()) {
-            int protocolVersion = palette.valueInt();
-            List<NbtMap> vanillaBlockStates;
-            List<NbtMap> blockStates;
+        // The palettes are populated in parallel, so everything they need from BlockRegistries is read here
+        CustomBlockData[] customBlocks = BlockRegistries.CUSTOM_BLOCKS.get();
+        Int2ObjectMap<CustomBlockState> customBlockStateOverrides = BlockRegistries.CUSTOM_BLOCK_STATE_OVERRIDES.get();
+        Map<CustomBlockData, Set<Integer>> extendedCollisionBoxes = BlockRegistries.EXTENDED_COLLISION_BOXES.get();
+        Map<JavaBlockState, CustomBlockState> nonVanillaStateOverrides = BlockRegistries.NON_VANILLA_BLOCK_STATE_OVERRIDES.get();
+
+        List<PaletteInput> inputs = new ArrayList<>(blockMappers.size());
+        for (Map.Entry<ObjectIntPair<String>, Remapper> entry : blockMappers.entrySet()) {
+            int protocolVersion = entry.getKey().valueInt();
+            List<BlockPropertyData> customBlockProperties = new ArrayList<>();
+            List<NbtMap> customBlockStates = new ArrayList<>();
+            List<CustomBlockState> customExtBlockStates = new ArrayList<>();
+            if (customBlocks.length != 0) {
+                // Block IDs are handed out by a shared counter, so this can't be done in parallel
+                CustomBlockRegistryPopulator.BLOCK_ID.set(CustomBlockRegistryPopulator.START_OFFSET);
+                for (CustomBlockData customBlock : customBlocks) {
+                    customBlockProperties.add(CustomBlockRegistryPopulator.generateBlockPropertyData(customBlock, protocolVersion));
+                    CustomBlockRegistryPopulator.generateCustomBlockStates(customBlock, customBlockStates, customExtBlockStates);
+                }
+            }
+            inputs.add(new PaletteInput(entry.getKey(), entry.getValue(), customBlockProperties, customBlockStates, customExtBlockStates));
+        }
+
+        List<PaletteResult> results = StartupTasks.runParallel("Bedrock block palettes", inputs, input -> createBlockMappings(input,
+                statesInterner, customBlockStateOverrides, extendedCollisionBoxes, nonVanillaStateOverrides));
+
+        for (int i = 0; i < inputs.size(); i++) {
+            PaletteResult result = results.get(i);
+            BlockRegistries.WATERLOGGED.register(set -> set.or(result.waterlogged()));
+            BlockRegistries.BLOCKS.register(inputs.get(i).palette().valueInt(), result.blockMappings());
+        }
+    }
+
+    /**
+     * The inputs of one Bedrock block palette.
+     */
+    private record PaletteInput(ObjectIntPair<String> palette, Remapper stateMapper, List<BlockPropertyData> customBlockProperties,
+                                List<NbtMap> customBlockStates, List<CustomBlockState> customExtBlockStates) {
+    }
+
+    /**
+     * @param waterlogged the Java block states that are waterlogged; the same for all palettes
+     */
+    private record PaletteResult(BlockMappings blockMappings, BitSet waterlogged) {
+    }
+
+    private static PaletteResult createBlockMappings(PaletteInput input, Interner<NbtMap> statesInterner,
+                                                     Int2ObjectMap<CustomBlockState> customBlockStateOverrides,
+                                                     Map<CustomBlockData, Set<Integer>> extendedCollisionBoxesByBlock,
+                                                     Map<JavaBlockState, CustomBlockState> nonVanillaStateOverrides) {
+        ObjectIntPair<String> palette = input.palette();
+        int protocolVersion = palette.valueInt();
+        boolean hasCustomBlocks = !input.customBlockProperties().isEmpty();
+        BlockPaletteSnapshot snapshot = BlockPaletteSnapshot.isEnabled() ? BlockPaletteSnapshot.load(palette.key(), JAVA_BLOCKS_SIZE, statesInterner) : null;
+        List<NbtMap> vanillaBlockStates;
+        List<NbtMap> blockStates;
+        if (snapshot != null) {
+            // Already cleaned up, and the states are shared with the other palettes
+            vanillaBlockStates = snapshot.blockStates();
+            blockStates = new ArrayList<>(vanillaBlockStates);
+        } else {
             try (InputStream stream = GeyserImpl.getInstance().getBootstrap().getResourceOrThrow(String.format("bedrock/block_palette.%s.nbt", palette.key()));
                 NBTInputStream nbtInputStream = new NBTInputStream(new DataInputStream(new GZIPInputStream(stream)), true, true)) {
                 NbtMap blockPalette = (NbtMap) nbtInputStream.readTag();
@@ -154,216 +211,238 @@ public final class BlockRegistryPopulator {
             } catch (Exception e) {
                 throw new AssertionError("Unable to get blocks from runtime block states", e);
             }
+        }
 
-            List<BlockPropertyData> customBlockProperties = new ArrayList<>();
-            List<NbtMap> customBlockStates = new ArrayList<>();
-            List<CustomBlockState> customExtBlockStates = new ArrayList<>();
-            int[] remappedVanillaIds = new int[0];
-            if (BlockRegistries.CUSTOM_BLOCKS.get().length != 0) {
-                CustomBlockRegistryPopulator.BLOCK_ID.set(CustomBlockRegistryPopulator.START_OFFSET);
-                for (CustomBlockData customBlock : BlockRegistries.CUSTOM_BLOCKS.get()) {
-                    customBlockProperties.add(CustomBlockRegistryPopulator.generateBlockPropertyData(customBlock, protocolVersion));
-                    CustomBlockRegistryPopulator.generateCustomBlockStates(customBlock, customBlockStates, customExtBlockStates);
-                }
-                blockStates.addAll(customBlockStates);
-                GeyserImpl.getInstance().getLogger().debug("Added " + customBlockStates.size() + " custom block states to v" + protocolVersion + " palette.");
+        List<BlockPropertyData> customBlockProperties = input.customBlockProperties();
+        List<NbtMap> customBlockStates = input.customBlockStates();
+        List<CustomBlockState> customExtBlockStates = input.customExtBlockStates();
+        int[] remappedVanillaIds = new int[0];
+        if (hasCustomBlocks) {
+            blockStates.addAll(customBlockStates);
+            GeyserImpl.getInstance().getLogger().debug("Added " + customBlockStates.size() + " custom block states to v" + protocolVersion + " palette.");
 
-                // The palette is sorted by the FNV1 64-bit hash of the name
-                blockStates.sort((a, b) -> Long.compareUnsigned(fnv164(a.getString("name")), fnv164(b.getString("name"))));
-            }
+            // The palette is sorted by the FNV1 64-bit hash of the name
+            blockStates.sort((a, b) -> Long.compareUnsigned(fnv164(a.getString("name")), fnv164(b.getString("name"))));
+        }
 
-            // New since 1.16.100 - find the block runtime ID by the order given to us in the block palette,
-            // as we no longer send a block palette
-            Object2ObjectMap<NbtMap, GeyserBedrockBlock> blockStateOrderedMap = new Object2ObjectOpenHashMap<>(blockStates.size());
-            GeyserBedrockBlock[] bedrockRuntimeMap = new GeyserBedrockBlock[blockStates.size()];
-            for (int i = 0; i < blockStates.size(); i++) {
-                NbtMap tag = blockStates.get(i);
-                if (blockStateOrderedMap.containsKey(tag)) {
-                    throw new AssertionError("Duplicate block states in Bedrock palette: " + tag);
-                }
-                GeyserBedrockBlock block = new GeyserBedrockBlock(i, tag);
-                blockStateOrderedMap.put(tag, block);
-                bedrockRuntimeMap[i] = block;
+        // New since 1.16.100 - find the block runtime ID by the order given to us in the block palette,
+        // as we no longer send a block palette
+        Object2ObjectMap<NbtMap, GeyserBedrockBlock> blockStateOrderedMap = new Object2ObjectOpenHashMap<>(blockStates.size());
+        GeyserBedrockBlock[] bedrockRuntimeMap = new GeyserBedrockBlock[blockStates.size()];
+        for (int i = 0; i < blockStates.size(); i++) {
+            NbtMap tag = blockStates.get(i);
+            if (blockStateOrderedMap.containsKey(tag)) {
+                throw new AssertionError("Duplicate block states in Bedrock palette: " + tag);
             }
+            GeyserBedrockBlock block = new GeyserBedrockBlock(i, tag);
+            blockStateOrderedMap.put(tag, block);
+            bedrockRuntimeMap[i] = block;
+        }
 
-            Object2ObjectMap<CustomBlockState, GeyserBedrockBlock> customBlockStateDefinitions = Object2ObjectMaps.emptyMap();
-            Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes = new Int2ObjectOpenHashMap<>();
-            if (BlockRegistries.CUSTOM_BLOCKS.get().length != 0) {
-                customBlockStateDefinitions = new Object2ObjectOpenHashMap<>(customExtBlockStates.size());
-                for (int i = 0; i < customExtBlockStates.size(); i++) {
-                    NbtMap tag = customBlockStates.get(i);
-                    CustomBlockState blockState = customExtBlockStates.get(i);
-                    GeyserBedrockBlock bedrockBlock = blockStateOrderedMap.get(tag);
-                    customBlockStateDefinitions.put(blockState, bedrockBlock);
-
-                    Set<Integer> extendedCollisionjavaIds = BlockRegistries.EXTENDED_COLLISION_BOXES.getOrDefault(blockState.block(), null);
-                    if (extendedCollisionjavaIds != null) {
-                        for (int javaId : extendedCollisionjavaIds) {
-                            extendedCollisionBoxes.put(javaId, bedrockBlock);
-                        }
+        Object2ObjectMap<CustomBlockState, GeyserBedrockBlock> customBlockStateDefinitions = Object2ObjectMaps.emptyMap();
+        Int2ObjectMap<GeyserBedrockBlock> extendedCollisionBoxes = new Int2ObjectOpenHashMap<>();
+        if (hasCustomBlocks) {
+            customBlockStateDefinitions = new Object2ObjectOpenHashMap<>(customExtBlockStates.size());
+            for (int i = 0; i < customExtBlockStates.size(); i++) {
+                NbtMap tag = customBlockStates.get(i);
+                CustomBlockState blockState = customExtBlockStates.get(i);
+                GeyserBedrockBlock bedrockBlock = blockStateOrderedMap.get(tag);
+                customBlockStateDefinitions.put(blockState, bedrockBlock);
+
+                Set<Integer> extendedCollisionjavaIds = extendedCollisionBoxesByBlock.get(blockState.block());
+                if (extendedCollisionjavaIds != null) {
+                    for (int javaId : extendedCollisionjavaIds) {
+                        extendedCollisionBoxes.put(javaId, bedrockBlock);
                     }
                 }
-
-                remappedVanillaIds = new int[vanillaBlockStates.size()];
-                for (int i = 0; i < vanillaBlockStates.size(); i++) {
-                    GeyserBedrockBlock bedrockBlock = blockStateOrderedMap.get(vanillaBlockStates.get(i));
-                    remappedVanillaIds[i] = bedrockBlock != null ? bedrockBlock.getRuntimeId() : -1;
-                }
             }
 
-            int javaRuntimeId = -1;
-
-            GeyserBedrockBlock airDefinition = null;
-            BlockDefinition commandBlockDefinition = null;
-            BlockDefinition mobSpawnerBlockDefinition = null;
-            BlockDefinition waterDefinition = null;
-            BlockDefinition movingBlockDefinition = null;
-            Iterator<Map.Entry<String, JsonNode>> blocksIterator = BLOCKS_JSON.fields();
-
-            Remapper stateMapper = blockMappers.get(palette);
-
-            GeyserBedrockBlock[] javaToBedrockBlocks = new GeyserBedrockBlock[JAVA_BLOCKS_SIZE];
-            GeyserBedrockBlock[] javaToVanillaBedrockBlocks = new GeyserBedrockBlock[JAVA_BLOCKS_SIZE];
-
-            Map<String, NbtMap> flowerPotBlocks = new Object2ObjectOpenHashMap<>();
-            Map<NbtMap, BlockDefinition> itemFrames = new Object2ObjectOpenHashMap<>();
-
-            Set<BlockDefinition> jigsawDefinitions = new ObjectOpenHashSet<>();
+            remappedVanillaIds = new int[vanillaBlockStates.size()];
+            for (int i = 0; i < vanillaBlockStates.size(); i++) {
+                GeyserBedrockBlock bedrockBlock = blockStateOrderedMap.get(vanillaBlockStates.get(i));
+                remappedVanillaIds[i] = bedrockBlock != null ? bedrockBlock.getRuntimeId() : -1;
+            }
+        }
 
-            BlockMappings.BlockMappingsBuilder builder = BlockMappings.builder();
-            while (blocksIterator.hasNext()) {
-                javaRuntimeId++;
-                Map.Entry<String, JsonNode> entry = blocksIterator.next();
-                String javaId = entry.getKey();
+        int javaRuntimeId = -1;
 
-                NbtMap originalBedrockTag = buildBedrockState(entry.getValue());
-                NbtMap bedrockTag = stateMapper.remap(originalBedrockTag);
+        GeyserBedrockBlock airDefinition = null;
+        BlockDefinition commandBlockDefinition = null;
+        BlockDefinition mobSpawnerBlockDefinition = null;
+        BlockDefinition waterDefinition = null;
+        BlockDefinition movingBlockDefinition = null;
+        Iterator<Map.Entry<String, JsonNode>> blocksIterator = BLOCKS_JSON.fields();
+
+        Remapper stateMapper = input.stateMapper();
+
+        GeyserBedrockBlock[] javaToBedrockBlocks = new GeyserBedrockBlock[JAVA_BLOCKS_SIZE];
+        GeyserBedrockBlock[] javaToVanillaBedrockBlocks = new GeyserBedrockBlock[JAVA_BLOCKS_SIZE];
+
+        Map<String, NbtMap> flowerPotBlocks = new Object2ObjectOpenHashMap<>();
+        Map<NbtMap, BlockDefinition> itemFrames = new Object2ObjectOpenHashMap<>();
+
+        Set<BlockDefinition> jigsawDefinitions = new ObjectOpenHashSet<>();
+        BitSet waterloggedStates = new BitSet(JAVA_BLOCKS_SIZE);
+
+        // Only needed to write a new snapshot
+        int[] vanillaIndices = null;
+        Object2IntMap<NbtMap> vanillaStateIndices = null;
+        if (snapshot == null && BlockPaletteSnapshot.isEnabled()) {
+            vanillaIndices = new int[JAVA_BLOCKS_SIZE];
+            Arrays.fill(vanillaIndices, -1);
+            vanillaStateIndices = new Object2IntOpenHashMap<>(vanillaBlockStates.size());
+            vanillaStateIndices.defaultReturnValue(-1);
+            for (int i = 0; i < vanillaBlockStates.size(); i++) {
+                vanillaStateIndices.put(vanillaBlockStates.get(i), i);
+            }
+        }
 
-                GeyserBedrockBlock vanillaBedrockDefinition = blockStateOrderedMap.get(bedrockTag);
+        BlockMappings.BlockMappingsBuilder builder = BlockMappings.builder();
+        while (blocksIterator.hasNext()) {
+            javaRuntimeId++;
+            Map.Entry<String, JsonNode> entry = blocksIterator.next();
+            String javaId = entry.getKey();
 
-                GeyserBedrockBlock bedrockDefinition;
-                CustomBlockState blockStateOverride = BlockRegistries.CUSTOM_BLOCK_STATE_OVERRIDES.get(javaRuntimeId);
-                if (blockStateOverride == null) {
-                    bedrockDefinition = vanillaBedrockDefinition;
-                    if (bedrockDefinition == null) {
-                        throw new RuntimeException("""
-                            Unable to find %s Bedrock runtime ID for %s! Original block tag:
-                            %s
-                            Updated block tag:
-                            %s""".formatted(javaId, palette.key(), originalBedrockTag, bedrockTag));
-                    }
-                } else {
-                    bedrockDefinition = customBlockStateDefinitions.get(blockStateOverride);
-                    if (bedrockDefinition == null) {
-                        throw new RuntimeException("Unable to find " + javaId + " Bedrock runtime ID! Custom block override: \n" +
-                            blockStateOverride);
-                    }
+            GeyserBedrockBlock vanillaBedrockDefinition;
+            if (snapshot != null) {
+                int vanillaIndex = snapshot.vanillaIndex(javaRuntimeId);
+                vanillaBedrockDefinition = vanillaIndex == -1 ? null : blockStateOrderedMap.get(vanillaBlockStates.get(vanillaIndex));
+            } else {
+                NbtMap bedrockTag = stateMapper.remap(buildBedrockState(entry.getValue()));
+                vanillaBedrockDefinition = blockStateOrderedMap.get(bedrockTag);
+                if (vanillaIndices != null) {
+                    vanillaIndices[javaRuntimeId] = vanillaStateIndices.getInt(bedrockTag);
                 }
+            }
 
-                switch (javaId) {
-                    case "minecraft:air" -> airDefinition = bedrockDefinition;
-                    case "minecraft:water[level=0]" -> waterDefinition = bedrockDefinition;
-                    case "minecraft:command_block[conditional=false,facing=north]" -> commandBlockDefinition = bedrockDefinition;
-                    case "minecraft:spawner" -> mobSpawnerBlockDefinition = bedrockDefinition;
-                    case "minecraft:moving_piston[facing=north,type=normal]" -> movingBlockDefinition = bedrockDefinition;
+            GeyserBedrockBlock bedrockDefinition;
+            CustomBlockState blockStateOverride = customBlockStateOverrides.get(javaRuntimeId);
+            if (blockStateOverride == null) {
+                bedrockDefinition = vanillaBedrockDefinition;
+                if (bedrockDefinition == null) {
+                    NbtMap originalBedrockTag = buildBedrockState(entry.getValue());
+                    NbtMap bedrockTag = stateMapper.remap(originalBedrockTag);
+                    throw new RuntimeException("""
+                        Unable to find %s Bedrock runtime ID for %s! Original block tag:
+                        %s
+                        Updated block tag:
+                        %s""".formatted(javaId, palette.key(), originalBedrockTag, bedrockTag));
                 }
-
-                if (javaId.contains("jigsaw")) {
-                    jigsawDefinitions.add(bedrockDefinition);
+            } else {
+                bedrockDefinition = customBlockStateDefinitions.get(blockStateOverride);
+                if (bedrockDefinition == null) {
+                    throw new RuntimeException("Unable to find " + javaId + " Bedrock runtime ID! Custom block override: \n" +
+                        blockStateOverride);
                 }
+            }
 
-                boolean waterlogged = entry.getKey().contains("waterlogged=true")
-                        || javaId.contains("minecraft:bubble_column") || javaId.contains("minecraft:kelp") || javaId.contains("seagrass");
-
-                if (waterlogged) {
-                    int finalJavaRuntimeId = javaRuntimeId;
-                    BlockRegistries.WATERLOGGED.register(set -> set.set(finalJavaRuntimeId));
-                }
+            switch (javaId) {
+                case "minecraft:air" -> airDefinition = bedrockDefinition;
+                case "minecraft:water[level=0]" -> waterDefinition = bedrockDefinition;
+                case "minecraft:command_block[conditional=false,facing=north]" -> commandBlockDefinition = bedrockDefinition;
+                case "minecraft:spawner" -> mobSpawnerBlockDefinition = bedrockDefinition;
+                case "minecraft:moving_piston[facing=north,type=normal]" -> movingBlockDefinition = bedrockDefinition;
+            }
 
-                String cleanJavaIdentifier = BlockUtils.getCleanIdentifier(entry.getKey());
+            if (javaId.contains("jigsaw")) {
+                jigsawDefinitions.add(bedrockDefinition);
+            }
 
-                // Get the tag needed for non-empty flower pots
-                if (entry.getValue().get("pottable") != null) {
-                    flowerPotBlocks.put(cleanJavaIdentifier.intern(), blockStates.get(bedrockDefinition.getRuntimeId()));
-                }
+            boolean waterlogged = entry.getKey().contains("waterlogged=true")
+                    || javaId.contains("minecraft:bubble_column") || javaId.contains("minecraft:kelp") || javaId.contains("seagrass");
 
-                javaToVanillaBedrockBlocks[javaRuntimeId] = vanillaBedrockDefinition;
-                javaToBedrockBlocks[javaRuntimeId] = bedrockDefinition;
+            if (waterlogged) {
+                waterloggedStates.set(javaRuntimeId);
             }
 
-            if (commandBlockDefinition == null) {
-                throw new AssertionError("Unable to find command block in palette");
-            }
-            builder.commandBlock(commandBlockDefinition);
+            String cleanJavaIdentifier = BlockUtils.getCleanIdentifier(entry.getKey());
 
-            if (mobSpawnerBlockDefinition == null) {
-                throw new AssertionError("Unable to find mob spawner block in palette");
+            // Get the tag needed for non-empty flower pots
+            if (entry.getValue().get("pottable") != null) {
+                flowerPotBlocks.put(cleanJavaIdentifier.intern(), blockStates.get(bedrockDefinition.getRuntimeId()));
             }
-            builder.mobSpawnerBlock(mobSpawnerBlockDefinition);
 
-            if (waterDefinition  == null) {
-                throw new AssertionError("Unable to find water in palette");
-            }
-            builder.bedrockWater(waterDefinition);
+            javaToVanillaBedrockBlocks[javaRuntimeId] = vanillaBedrockDefinition;
+            javaToBedrockBlocks[javaRuntimeId] = bedrockDefinition;
+        }
 
-            if (airDefinition  == null) {
-                throw new AssertionError("Unable to find air in palette");
-            }
-            builder.bedrockAir(airDefinition);
+        if (commandBlockDefinition == null) {
+            throw new AssertionError("Unable to find command block in palette");
+        }
+        builder.commandBlock(commandBlockDefinition);
 
-            if (movingBlockDefinition  == null) {
-                throw new AssertionError("Unable to find moving block in palette");
-            }
-            builder.bedrockMovingBlock(movingBlockDefinition);
-
-            Map<JavaBlockState, CustomBlockState> nonVanillaStateOverrides = BlockRegistries.NON_VANILLA_BLOCK_STATE_OVERRIDES.get();
-            if (!nonVanillaStateOverrides.isEmpty()) {
-                // First ensure all non vanilla runtime IDs at minimum are air in case they aren't consecutive
-                Arrays.fill(javaToVanillaBedrockBlocks, MIN_CUSTOM_RUNTIME_ID, javaToVanillaBedrockBlocks.length, airDefinition);
-                Arrays.fill(javaToBedrockBlocks, MIN_CUSTOM_RUNTIME_ID, javaToBedrockBlocks.length, airDefinition);
-
-                for (Map.Entry<JavaBlockState, CustomBlockState> entry : nonVanillaStateOverrides.entrySet()) {
-                    GeyserBedrockBlock bedrockDefinition = customBlockStateDefinitions.get(entry.getValue());
-                    if (bedrockDefinition == null) {
-                        GeyserImpl.getInstance().getLogger().warning("Unable to find custom block for " + entry.getValue());
-                        continue;
-                    }
+        if (mobSpawnerBlockDefinition == null) {
+            throw new AssertionError("Unable to find mob spawner block in palette");
+        }
+        builder.mobSpawnerBlock(mobSpawnerBlockDefinition);
 
-                    JavaBlockState javaState = entry.getKey();
-                    int stateRuntimeId = javaState.javaId();
+        if (waterDefinition  == null) {
+            throw new AssertionError("Unable to find water in palette");
+        }
+        builder.bedrockWater(waterDefinition);
 
-                    boolean waterlogged = javaState.waterlogged();
+        if (airDefinition  == null) {
+            throw new AssertionError("Unable to find air in palette");
+        }
+        builder.bedrockAir(airDefinition);
 
-                    if (waterlogged) {
-                        BlockRegistries.WATERLOGGED.register(set -> set.set(stateRuntimeId));
-                    }
+        if (movingBlockDefinition  == null) {
+            throw new AssertionError("Unable to find moving block in palette");
+        }
+        builder.bedrockMovingBlock(movingBlockDefinition);
+
+        // Only a palette that passed the checks above is worth skipping them next time
+        if (vanillaIndices != null) {
+            BlockPaletteSnapshot.save(palette.key(), vanillaBlockStates, vanillaIndices);
+        }
+
+        if (!nonVanillaStateOverrides.isEmpty()) {
+            // First ensure all non vanilla runtime IDs at minimum are air in case they aren't consecutive
+            Arrays.fill(javaToVanillaBedrockBlocks, MIN_CUSTOM_RUNTIME_ID, javaToVanillaBedrockBlocks.length, airDefinition);
+            Arrays.fill(javaToBedrockBlocks, MIN_CUSTOM_RUNTIME_ID, javaToBedrockBlocks.length, airDefinition);
 
-                    javaToVanillaBedrockBlocks[stateRuntimeId] = bedrockDefinition; // TODO: Check this?
-                    javaToBedrockBlocks[stateRuntimeId] = bedrockDefinition;
+            for (Map.Entry<JavaBlockState, CustomBlockState> entry : nonVanillaStateOverrides.entrySet()) {
+                GeyserBedrockBlock bedrockDefinition = customBlockStateDefinitions.get(entry.getValue());
+                if (bedrockDefinition == null) {
+                    GeyserImpl.getInstance().getLogger().warning("Unable to find custom block for " + entry.getValue());
+                    continue;
                 }
-            }
 
-            // Loop around again to find all item frame runtime IDs
-            Object2ObjectMaps.fastForEach(blockStateOrderedMap, entry -> {
-                String name = entry.getKey().getString("name");
-                if (name.equals("minecraft:frame") || name.equals("minecraft:glow_frame")) {
-                    itemFrames.put(entry.getKey(), entry.getValue());
+                JavaBlockState javaState = entry.getKey();
+                int stateRuntimeId = javaState.javaId();
+
+                boolean waterlogged = javaState.waterlogged();
+
+                if (waterlogged) {
+                    waterloggedStates.set(stateRuntimeId);
                 }
-            });
-
-            BlockRegistries.BLOCKS.register(palette.valueInt(), builder.bedrockRuntimeMap(bedrockRuntimeMap)
-                    .javaToBedrockBlocks(javaToBedrockBlocks)
-                    .javaToVanillaBedrockBlocks(javaToVanillaBedrockBlocks)
-                    .stateDefinitionMap(blockStateOrderedMap)
-                    .itemFrames(itemFrames)
-                    .flowerPotBlocks(flowerPotBlocks)
-                    .jigsawStates(jigsawDefinitions)
-                    .remappedVanillaIds(remappedVanillaIds)
-                    .blockProperties(customBlockProperties)
-                    .customBlockStateDefinitions(customBlockStateDefinitions)
-                    .extendedCollisionBoxes(extendedCollisionBoxes)
-                    .build());
+
+                javaToVanillaBedrockBlocks[stateRuntimeId] = bedrockDefinition; // TODO: Check this?
+                javaToBedrockBlocks[stateRuntimeId] = bedrockDefinition;
+            }
         }
+
+        // Loop around again to find all item frame runtime IDs
+        Object2ObjectMaps.fastForEach(blockStateOrderedMap, entry -> {
+            String name = entry.getKey().getString("name");
+            if (name.equals("minecraft:frame") || name.equals("minecraft:glow_frame")) {
+                itemFrames.put(entry.getKey(), entry.getValue());
+            }
+        });
+
+        BlockMappings blockMappings = builder.bedrockRuntimeMap(bedrockRuntimeMap)
+                .javaToBedrockBlocks(javaToBedrockBlocks)
+                .javaToVanillaBedrockBlocks(javaToVanillaBedrockBlocks)
+                .stateDefinitionMap(blockStateOrderedMap)
+                .itemFrames(itemFrames)
+                .flowerPotBlocks(flowerPotBlocks)
+                .jigsawStates(jigsawDefinitions)
+                .remappedVanillaIds(remappedVanillaIds)
+                .blockProperties(customBlockProperties)
+                .customBlockStateDefinitions(customBlockStateDefinitions)
+                .extendedCollisionBoxes(extendedCollisionBoxes)
+                .build();
+        return new PaletteResult(blockMappings, waterloggedStates);
     }
 
     private static void registerJavaBlocks() {
@@ -122,16 +122,20 @@ public class ItemRegistryPopulator {
         // We can reduce some operations as Java information is the same across all palette versions
         boolean firstMappingsPass = true;
 
-        /* Load item palette */
-        for (PaletteVersion palette : paletteVersions) {
-            TypeReference<List<PaletteItem>> paletteEntriesType = new TypeReference<>() {};
-
-            List<PaletteItem> itemEntries;
+        // The item palettes are independent of each other and of the registries, so they are parsed in parallel
+        TypeReference<List<PaletteItem>> paletteEntriesType = new TypeReference<>() {};
+        List<List<PaletteItem>> paletteItems = StartupTasks.runParallel("Bedrock item palettes", paletteVersions, palette -> {
             try (InputStream stream = bootstrap.getResourceOrThrow(String.format("bedrock/runtime_item_states.%s.json", palette.version()))) {
-                itemEntries = GeyserImpl.JSON_MAPPER.readValue(stream, paletteEntriesType);
+                return GeyserImpl.JSON_MAPPER.readValue(stream, paletteEntriesType);
             } catch (Exception e) {
                 throw new AssertionError("Unable to load Bedrock runtime item IDs", e);
             }
+        });
+
+        /* Load item palette */
+        for (int paletteIndex = 0; paletteIndex < paletteVersions.size(); paletteIndex++) {
+            PaletteVersion palette = paletteVersions.get(paletteIndex);
+            List<PaletteItem> itemEntries = paletteItems.get(paletteIndex);
 
             // Used for custom items
             int nextFreeBedrockId = 0;
@@ -450,7 +454,8 @@ public class ItemRegistryPopulator {
                 } else {
                     customItemOptions = Collections.emptyList();
                 }
-                mappingBuilder.customItemOptions(customItemOptions);
+                mappingBuilder.customItemOptions(customItemOptions)
+                        .customItemSelector(CustomItemRegistryPopulator.compileCustomItemOptions(customItemOptions, javaItem));
 
                 ItemMapping mapping = mappingBuilder.build();
 
@@ -580,8 +585,10 @@ public class ItemRegistryPopulator {
                 }
             }
 
+            ItemMapping[] itemArray = mappings.toArray(new ItemMapping[0]);
             ItemMappings itemMappings = ItemMappings.builder()
-                    .items(mappings.toArray(new ItemMapping[0]))
+                    .items(itemArray)
+                    .index(ItemMappingIndex.create(itemArray, javaOnlyItems, registry))
                     .creativeItems(creativeItems.toArray(new ItemData[0]))
                     .itemDefinitions(registry)
                     .storedItems(new StoredItemMappings(javaItemToMapping))
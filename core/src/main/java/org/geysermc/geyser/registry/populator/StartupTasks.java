@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.populator;
+
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Runs and times the stages of registry population.
+ * <p>
+ * The order of the registry classes is fixed by their static initializers, so stages that read or write a registry
+ * class run on the initializing thread. Only work that is independent of the registry classes, such as loading and
+ * converting the mappings of each Bedrock version, is forked: another thread touching a class that is still being
+ * initialized would wait for the initialization to finish, which is waiting for that thread.
+ */
+public final class StartupTasks {
+
+    private StartupTasks() {
+    }
+
+    /**
+     * Runs the given stage on this thread, and logs how long it took in debug mode.
+     */
+    public static void run(String stage, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        logTime(stage, start);
+    }
+
+    /**
+     * Runs the task for every input on the common fork-join pool.
+     *
+     * @param stage the name of the stage, for debug logging
+     * @param inputs the independent inputs of the task
+     * @param task must not touch any registry class
+     * @return the results, in the order of the inputs
+     */
+    public static <T, R> List<R> runParallel(String stage, List<T> inputs, Function<T, R> task) {
+        long start = System.nanoTime();
+        List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(input), ForkJoinPool.commonPool()));
+        }
+
+        List<R> results = new ArrayList<>(inputs.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                // Keep the AssertionErrors of the populators as they are
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        logTime(stage + " (" + inputs.size() + " parallel tasks)", start);
+        return results;
+    }
+
+    /**
+     * Logs the time since {@code start} in debug mode, for stages that can't be wrapped in a task.
+     */
+    public static void logTime(String stage, long start) {
+        GeyserImpl.getInstance().getLogger().debug("Registry stage " + stage + " took " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+}
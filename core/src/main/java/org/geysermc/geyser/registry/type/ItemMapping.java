@@ -33,6 +33,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 import org.geysermc.geyser.api.item.custom.CustomItemOptions;
+import org.geysermc.geyser.item.CustomItemSelector;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.Item;
 
@@ -52,6 +53,7 @@ public class ItemMapping {
             null,
             null,
             Collections.emptyList(),
+            CustomItemSelector.EMPTY,
             Items.AIR
     );
 
@@ -73,6 +75,13 @@ public class ItemMapping {
     @NonNull
     List<Pair<CustomItemOptions, ItemDefinition>> customItemOptions;
 
+    /**
+     * {@link #customItemOptions}, compiled for lookups.
+     */
+    @NonNull
+    @Builder.Default
+    CustomItemSelector customItemSelector = CustomItemSelector.EMPTY;
+
     @NonNull
     Item javaItem;
 
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.type;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
+import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
+import org.geysermc.geyser.item.Items;
+import org.geysermc.geyser.item.type.Item;
+import org.geysermc.geyser.item.type.PotionItem;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookup tables of one {@link ItemMappings}, built once when the mappings are populated.
+ * <p>
+ * Mappings are bucketed by their Bedrock runtime ID. Inside a bucket, the first matching position for each damage
+ * value and block definition is precomputed, so resolving a Bedrock item is a constant-time lookup that returns the
+ * same mapping the in-order scan of all mappings would.
+ */
+public final class ItemMappingIndex {
+    static final int NOT_FOUND = -1;
+
+    private final Int2ObjectMap<Bucket> buckets;
+    private final Object2IntMap<String> javaIdentifiers;
+    private final Map<String, ItemDefinition> bedrockIdentifiers;
+    private final Reference2IntMap<ItemDefinition> definitionCounts;
+
+    private ItemMappingIndex(Int2ObjectMap<Bucket> buckets, Object2IntMap<String> javaIdentifiers, Map<String, ItemDefinition> bedrockIdentifiers,
+                             Reference2IntMap<ItemDefinition> definitionCounts) {
+        this.buckets = buckets;
+        this.javaIdentifiers = javaIdentifiers;
+        this.bedrockIdentifiers = bedrockIdentifiers;
+        this.definitionCounts = definitionCounts;
+    }
+
+    /**
+     * @param items the item mappings, in Java ID order
+     * @param javaOnlyItems items that can never be the result of a Bedrock lookup
+     * @param itemDefinitions all Bedrock item definitions of this version
+     */
+    public static ItemMappingIndex create(ItemMapping[] items, Set<Item> javaOnlyItems, Int2ObjectMap<ItemDefinition> itemDefinitions) {
+        int[] runtimeIds = new int[items.length];
+        int[] damages = new int[items.length];
+        BlockDefinition[] blockDefinitions = new BlockDefinition[items.length];
+        boolean[] anyDamage = new boolean[items.length];
+        boolean[] excluded = new boolean[items.length];
+
+        Object2IntMap<String> javaIdentifiers = new Object2IntOpenHashMap<>(items.length);
+        javaIdentifiers.defaultReturnValue(NOT_FOUND);
+        Reference2IntOpenHashMap<ItemDefinition> definitionCounts = new Reference2IntOpenHashMap<>(items.length);
+        for (int i = 0; i < items.length; i++) {
+            ItemMapping mapping = items[i];
+            runtimeIds[i] = mapping.getBedrockDefinition().getRuntimeId();
+            damages[i] = mapping.getBedrockData();
+            blockDefinitions[i] = mapping.getBedrockBlockDefinition();
+            anyDamage[i] = hasVariableDamage(mapping.getJavaItem());
+            excluded[i] = javaOnlyItems.contains(mapping.getJavaItem());
+            javaIdentifiers.putIfAbsent(mapping.getJavaItem().javaIdentifier(), i);
+            definitionCounts.addTo(mapping.getBedrockDefinition(), 1);
+        }
+
+        Map<String, ItemDefinition> bedrockIdentifiers = new Object2ObjectOpenHashMap<>(itemDefinitions.size());
+        for (ItemDefinition definition : itemDefinitions.values()) {
+            bedrockIdentifiers.putIfAbsent(definition.getIdentifier(), definition);
+        }
+
+        return new ItemMappingIndex(buildBuckets(runtimeIds, damages, blockDefinitions, anyDamage, excluded), javaIdentifiers,
+                bedrockIdentifiers, definitionCounts);
+    }
+
+    /**
+     * Creates an index of Bedrock runtime IDs only. Each array holds one entry per mapping, in Java ID order.
+     */
+    static ItemMappingIndex create(int[] runtimeIds, int[] damages, BlockDefinition[] blockDefinitions, boolean[] anyDamage, boolean[] excluded) {
+        Object2IntMap<String> javaIdentifiers = new Object2IntOpenHashMap<>();
+        javaIdentifiers.defaultReturnValue(NOT_FOUND);
+        return new ItemMappingIndex(buildBuckets(runtimeIds, damages, blockDefinitions, anyDamage, excluded), javaIdentifiers,
+                Map.of(), new Reference2IntOpenHashMap<>());
+    }
+
+    /**
+     * Potions, tipped arrows, firework stars, and goat horns match a Bedrock item of any damage value, as their damage
+     * value holds item data.
+     */
+    static boolean hasVariableDamage(Item javaItem) {
+        return javaItem instanceof PotionItem || javaItem == Items.ARROW
+                || javaItem == Items.FIREWORK_STAR || javaItem == Items.GOAT_HORN;
+    }
+
+    private static Int2ObjectMap<Bucket> buildBuckets(int[] runtimeIds, int[] damages, BlockDefinition[] blockDefinitions,
+                                                      boolean[] anyDamage, boolean[] excluded) {
+        Int2ObjectMap<IntList> positions = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < runtimeIds.length; i++) {
+            if (!excluded[i]) {
+                // From a Bedrock item data, we aren't getting one of these items
+                positions.computeIfAbsent(runtimeIds[i], $ -> new IntArrayList(1)).add(i);
+            }
+        }
+
+        Int2ObjectMap<Bucket> buckets = new Int2ObjectOpenHashMap<>(positions.size());
+        for (Int2ObjectMap.Entry<IntList> entry : positions.int2ObjectEntrySet()) {
+            IntList bucketPositions = entry.getValue();
+            Int2IntMap byDamage = new Int2IntOpenHashMap(bucketPositions.size());
+            byDamage.defaultReturnValue(NOT_FOUND);
+            Reference2IntMap<BlockDefinition> byBlock = new Reference2IntOpenHashMap<>();
+            byBlock.defaultReturnValue(NOT_FOUND);
+            int firstAnyDamage = NOT_FOUND;
+
+            // Positions are ascending, so the first put for each key is the first match of the in-order scan
+            for (int i = 0; i < bucketPositions.size(); i++) {
+                int position = bucketPositions.getInt(i);
+                byDamage.putIfAbsent(damages[position], position);
+                if (blockDefinitions[position] != null) {
+                    byBlock.putIfAbsent(blockDefinitions[position], position);
+                }
+                if (anyDamage[position] && firstAnyDamage == NOT_FOUND) {
+                    firstAnyDamage = position;
+                }
+            }
+            buckets.put(entry.getIntKey(), new Bucket(byDamage, byBlock, firstAnyDamage));
+        }
+        return buckets;
+    }
+
+    /**
+     * @return the position of the first mapping matching this Bedrock item, or {@link #NOT_FOUND}
+     */
+    int find(int runtimeId, int damage, @Nullable BlockDefinition blockDefinition) {
+        Bucket bucket = this.buckets.get(runtimeId);
+        if (bucket == null) {
+            return NOT_FOUND;
+        }
+
+        if (blockDefinition != null && damage == 0) {
+            // Pre-1.16.220 will not use block runtime IDs at all, so we shouldn't check either
+            return bucket.byBlock.getInt(blockDefinition);
+        }
+
+        int exact = bucket.byDamage.get(damage);
+        if (exact == NOT_FOUND) {
+            return bucket.firstAnyDamage;
+        }
+        if (bucket.firstAnyDamage == NOT_FOUND) {
+            return exact;
+        }
+        return Math.min(exact, bucket.firstAnyDamage);
+    }
+
+    /**
+     * @return the position of the first mapping with this Java identifier, or {@link #NOT_FOUND}
+     */
+    int findJava(String javaIdentifier) {
+        return this.javaIdentifiers.getInt(javaIdentifier);
+    }
+
+    @Nullable
+    ItemDefinition findBedrock(String bedrockIdentifier) {
+        return this.bedrockIdentifiers.get(bedrockIdentifier);
+    }
+
+    /**
+     * @return how many mappings use this exact Bedrock definition
+     */
+    int countMappings(ItemDefinition definition) {
+        return this.definitionCounts.getInt(definition);
+    }
+
+    private record Bucket(Int2IntMap byDamage, Reference2IntMap<BlockDefinition> byBlock, int firstAnyDamage) {
+    }
+}
@@ -39,23 +39,22 @@ import org.cloudburstmc.protocol.common.DefinitionRegistry;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.block.custom.CustomBlockData;
 import org.geysermc.geyser.inventory.item.StoredItemMappings;
-import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.Item;
-import org.geysermc.geyser.item.type.PotionItem;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 @Builder
 @Value
 public class ItemMappings implements DefinitionRegistry<ItemDefinition> {
 
-    Map<String, ItemMapping> cachedJavaMappings = new WeakHashMap<>();
-
     ItemMapping[] items;
 
+    /**
+     * Reverse lookups of {@link #items} and {@link #itemDefinitions}.
+     */
+    ItemMappingIndex index;
+
     /**
      * A unique exception as this is an item in Bedrock, but not in Java.
      */
@@ -113,14 +112,8 @@ public class ItemMappings implements DefinitionRegistry<ItemDefinition> {
      */
     @Nullable
     public ItemMapping getMapping(String javaIdentifier) {
-        return this.cachedJavaMappings.computeIfAbsent(javaIdentifier, key -> {
-            for (ItemMapping mapping : this.items) {
-                if (mapping.getJavaItem().javaIdentifier().equals(key)) {
-                    return mapping;
-                }
-            }
-            return null;
-        });
+        int position = this.index.findJava(javaIdentifier);
+        return position == ItemMappingIndex.NOT_FOUND ? null : this.items[position];
     }
 
     /**
@@ -138,28 +131,9 @@ public class ItemMappings implements DefinitionRegistry<ItemDefinition> {
             return lodestoneCompass;
         }
 
-        boolean isBlock = data.getBlockDefinition() != null;
-        boolean hasDamage = data.getDamage() != 0;
-
-        for (ItemMapping mapping : this.items) {
-            if (mapping.getBedrockDefinition().getRuntimeId() == definition.getRuntimeId()) {
-                if (isBlock && !hasDamage) { // Pre-1.16.220 will not use block runtime IDs at all, so we shouldn't check either
-                    if (data.getBlockDefinition() != mapping.getBedrockBlockDefinition()) {
-                        continue;
-                    }
-                } else {
-                    if (!(mapping.getBedrockData() == data.getDamage() ||
-                            // Make exceptions for potions, tipped arrows, firework stars, and goat horns, whose damage values can vary
-                            (mapping.getJavaItem() instanceof PotionItem || mapping.getJavaItem() == Items.ARROW
-                                    || mapping.getJavaItem() == Items.FIREWORK_STAR || mapping.getJavaItem() == Items.GOAT_HORN))) {
-                        continue;
-                    }
-                }
-                if (!this.javaOnlyItems.contains(mapping.getJavaItem())) {
-                    // From a Bedrock item data, we aren't getting one of these items
-                    return mapping;
-                }
-            }
+        int position = this.index.find(definition.getRuntimeId(), data.getDamage(), data.getBlockDefinition());
+        if (position != ItemMappingIndex.NOT_FOUND) {
+            return this.items[position];
         }
 
         GeyserImpl.getInstance().getLogger().debug("Missing mapping for bedrock item " + data);
@@ -174,12 +148,14 @@ public class ItemMappings implements DefinitionRegistry<ItemDefinition> {
 
     @Nullable
     public ItemDefinition getDefinition(String bedrockIdentifier) {
-        for (ItemDefinition itemDefinition : this.itemDefinitions.values()) {
-            if (itemDefinition.getIdentifier().equals(bedrockIdentifier)) {
-                return itemDefinition;
-            }
-        }
-        return null;
+        return this.index.findBedrock(bedrockIdentifier);
+    }
+
+    /**
+     * @return how many Java items map to this Bedrock definition, for example all colors of wool before the flattening
+     */
+    public int getMappingCount(ItemDefinition bedrockDefinition) {
+        return this.index.countMappings(bedrockDefinition);
     }
 
     @Override
@@ -27,12 +27,14 @@ package org.geysermc.geyser.scoreboard;
 
 import com.github.steveice10.mc.protocol.data.game.scoreboard.ScoreboardPosition;
 import com.github.steveice10.mc.protocol.data.game.scoreboard.TeamColor;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 @Getter
 public final class Objective {
@@ -40,7 +42,6 @@ public final class Objective {
     private final long id;
     private boolean active = true;
 
-    @Setter
     private UpdateType updateType = UpdateType.ADD;
 
     private String objectiveName;
@@ -49,11 +50,17 @@ public final class Objective {
     private String displayName = "unknown";
     private int type = 0; // 0 = integer, 1 = heart
 
-    private Map<String, Score> scores = new ConcurrentHashMap<>();
+    private Map<String, Score> scores = new Object2ObjectOpenHashMap<>();
+    /**
+     * Scores that have changed since this objective was last sent to the client.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Set<Score> dirtyScores = new ObjectOpenHashSet<>();
 
     private Objective(Scoreboard scoreboard) {
-        this.id = scoreboard.getNextId().getAndIncrement();
+        this.id = scoreboard.nextId();
         this.scoreboard = scoreboard;
+        scoreboard.markDirty(this);
     }
 
     /**
@@ -87,12 +94,13 @@ public final class Objective {
 
     public void registerScore(String id, int score) {
         if (!scores.containsKey(id)) {
-            long scoreId = scoreboard.getNextId().getAndIncrement();
+            long scoreId = ScoreboardSnapshotCache.scoreId(objectiveName, id);
             Score scoreObject = new Score(scoreId, id)
                     .setScore(score)
                     .setTeam(scoreboard.getTeamFor(id))
                     .setUpdateType(UpdateType.ADD);
             scores.put(id, scoreObject);
+            markDirty(scoreObject);
         }
     }
 
@@ -101,6 +109,7 @@ public final class Objective {
         if (stored != null) {
             stored.setScore(score)
                     .setUpdateType(UpdateType.UPDATE);
+            markDirty(stored);
             return;
         }
         registerScore(id, score);
@@ -110,6 +119,7 @@ public final class Objective {
         Score stored = scores.get(id);
         if (stored != null) {
             stored.setUpdateType(UpdateType.REMOVE);
+            markDirty(stored);
         }
     }
 
@@ -117,13 +127,38 @@ public final class Objective {
      * Used internally to remove a score from the score map
      */
     public void removeScore0(String id) {
-        scores.remove(id);
+        Score removed = scores.remove(id);
+        if (removed != null) {
+            dirtyScores.remove(removed);
+        }
+    }
+
+    /**
+     * Marks the score of the given entity as changed, if this objective has a score for it.
+     */
+    void markDirty(String entity) {
+        Score score = scores.get(entity);
+        if (score != null) {
+            markDirty(score);
+        }
+    }
+
+    void markDirty(Score score) {
+        dirtyScores.add(score);
+        scoreboard.markDirty(this);
+    }
+
+    public void setUpdateType(UpdateType updateType) {
+        this.updateType = updateType;
+        if (updateType != UpdateType.NOTHING) {
+            scoreboard.markDirty(this);
+        }
     }
 
     public Objective setDisplayName(String displayName) {
         this.displayName = displayName;
         if (updateType == UpdateType.NOTHING) {
-            updateType = UpdateType.UPDATE;
+            setUpdateType(UpdateType.UPDATE);
         }
         return this;
     }
@@ -131,7 +166,7 @@ public final class Objective {
     public Objective setType(int type) {
         this.type = type;
         if (updateType == UpdateType.NOTHING) {
-            updateType = UpdateType.UPDATE;
+            setUpdateType(UpdateType.UPDATE);
         }
         return this;
     }
@@ -149,9 +184,14 @@ public final class Objective {
      */
     public void pendingRemove() {
         updateType = UpdateType.REMOVE;
+        scoreboard.markPendingRemove(this);
     }
 
     public @Nullable TeamColor getTeamColor() {
+        return getTeamColor(displaySlot);
+    }
+
+    static @Nullable TeamColor getTeamColor(ScoreboardPosition displaySlot) {
         return switch (displaySlot) {
             case SIDEBAR_TEAM_RED -> TeamColor.RED;
             case SIDEBAR_TEAM_AQUA -> TeamColor.AQUA;
@@ -177,5 +217,6 @@ public final class Objective {
         active = false;
         updateType = UpdateType.REMOVE;
         scores = null;
+        dirtyScores.clear();
     }
 }
@@ -125,7 +125,7 @@ public final class Score {
             cachedData.team.prepareUpdate();
             name = cachedData.team.getDisplayName(name);
         }
-        cachedInfo = new ScoreInfo(id, objectiveName, cachedData.score, name);
+        cachedInfo = ScoreboardSnapshotCache.scoreInfo(id, objectiveName, cachedData.score, name);
     }
 
     @Getter
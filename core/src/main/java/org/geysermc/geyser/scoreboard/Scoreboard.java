@@ -26,13 +26,14 @@
 package org.geysermc.geyser.scoreboard;
 
 import com.github.steveice10.mc.protocol.data.game.scoreboard.ScoreboardPosition;
+import com.github.steveice10.mc.protocol.data.game.scoreboard.TeamColor;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
 import org.cloudburstmc.protocol.bedrock.data.command.CommandEnumConstraint;
 import org.cloudburstmc.protocol.bedrock.packet.RemoveObjectivePacket;
-import org.cloudburstmc.protocol.bedrock.packet.SetDisplayObjectivePacket;
 import org.cloudburstmc.protocol.bedrock.packet.SetScorePacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.GeyserLogger;
@@ -43,8 +44,6 @@ import org.geysermc.geyser.text.GeyserLocale;
 import org.jetbrains.annotations.Contract;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -53,19 +52,38 @@ import static org.geysermc.geyser.scoreboard.UpdateType.NOTHING;
 import static org.geysermc.geyser.scoreboard.UpdateType.REMOVE;
 import static org.geysermc.geyser.scoreboard.UpdateType.UPDATE;
 
+/**
+ * The scoreboard of a session. This is only used on the session's event loop.
+ * <p>
+ * Changes to objectives, scores and teams are tracked as they come in, so {@link #onUpdate()} only has to look at
+ * what changed since the last update.
+ */
 public final class Scoreboard {
     private static final boolean SHOW_SCOREBOARD_LOGS = Boolean.parseBoolean(System.getProperty("Geyser.ShowScoreboardLogs", "true"));
     private static final boolean ADD_TEAM_SUGGESTIONS = Boolean.parseBoolean(System.getProperty("Geyser.AddTeamSuggestions", "true"));
 
+    /**
+     * The team specific sidebar display slot for each team color.
+     */
+    private static final Map<TeamColor, ScoreboardPosition> TEAM_SIDEBARS = new EnumMap<>(TeamColor.class);
+
+    static {
+        for (ScoreboardPosition position : ScoreboardPosition.values()) {
+            TeamColor color = Objective.getTeamColor(position);
+            if (color != null) {
+                TEAM_SIDEBARS.put(color, position);
+            }
+        }
+    }
+
     private final GeyserSession session;
     private final GeyserLogger logger;
-    @Getter
-    private final AtomicLong nextId = new AtomicLong(0);
+    private long nextId = 0;
 
-    private final Map<String, Objective> objectives = new ConcurrentHashMap<>();
+    private final Map<String, Objective> objectives = new Object2ObjectOpenHashMap<>();
     @Getter
     private final Map<ScoreboardPosition, Objective> objectiveSlots = new EnumMap<>(ScoreboardPosition.class);
-    private final Map<String, Team> teams = new ConcurrentHashMap<>(); // updated on multiple threads
+    private final Map<String, Team> teams = new Object2ObjectOpenHashMap<>();
     /**
      * Required to preserve vanilla behavior, which also uses a map.
      * Otherwise, for example, if TAB has a team for a player and vanilla has a team, "race conditions" that do not
@@ -74,6 +92,23 @@ public final class Scoreboard {
     @Getter
     private final Map<String, Team> playerToTeam = new Object2ObjectOpenHashMap<>();
 
+    /**
+     * Objectives that have been changed since the last update.
+     */
+    private final Set<Objective> dirtyObjectives = new ObjectOpenHashSet<>();
+    /**
+     * Objectives that will be deleted on the next update.
+     */
+    private final Set<Objective> pendingRemovals = new ObjectOpenHashSet<>();
+    /**
+     * Teams that have been created, updated or removed since the last update.
+     */
+    private final Set<Team> dirtyTeams = new ObjectOpenHashSet<>();
+    /**
+     * Teams that have prepared their display data during the current update.
+     */
+    private final List<Team> updatingTeams = new ArrayList<>();
+
     private int lastAddScoreCount = 0;
     private int lastRemoveScoreCount = 0;
 
@@ -160,30 +195,68 @@ public final class Scoreboard {
         return team;
     }
 
+    long nextId() {
+        return nextId++;
+    }
+
+    void markDirty(Objective objective) {
+        dirtyObjectives.add(objective);
+    }
+
+    void markPendingRemove(Objective objective) {
+        pendingRemovals.add(objective);
+    }
+
+    void markDirty(Team team) {
+        dirtyTeams.add(team);
+    }
+
+    void markUpdating(Team team) {
+        updatingTeams.add(team);
+    }
+
+    /**
+     * @return if anything changed since the last {@link #onUpdate()}
+     */
+    public boolean hasPendingChanges() {
+        return !dirtyObjectives.isEmpty() || !pendingRemovals.isEmpty() || !dirtyTeams.isEmpty();
+    }
+
     public void onUpdate() {
+        if (!hasPendingChanges()) {
+            return;
+        }
+
         List<ScoreInfo> addScores = new ArrayList<>(lastAddScoreCount);
         List<ScoreInfo> removeScores = new ArrayList<>(lastRemoveScoreCount);
-        List<Objective> removedObjectives = new ArrayList<>();
-
-        Team playerTeam = getTeamFor(session.getPlayerEntity().getUsername());
-        Objective correctSidebar = null;
 
-        for (Objective objective : objectives.values()) {
-            // objective has been deleted
-            if (objective.getUpdateType() == REMOVE) {
-                removedObjectives.add(objective);
-                continue;
+        // A changed team changes the display of all of its scores
+        for (Team team : dirtyTeams) {
+            for (Objective objective : objectives.values()) {
+                for (String entity : team.getEntities()) {
+                    objective.markDirty(entity);
+                }
             }
+        }
 
-            // there's nothing we can do with inactive objectives
-            // after checking if the objective has been deleted,
-            // except waiting for the objective to become activated (:
-            if (!objective.isActive()) {
-                continue;
+        if (!pendingRemovals.isEmpty()) {
+            List<Objective> removedObjectives = new ArrayList<>(pendingRemovals);
+            for (Objective objective : removedObjectives) {
+                // Deletion must be handled before the active objectives are handled - otherwise if a scoreboard display is changed before the current
+                // scoreboard is removed, the client can crash
+                if (objective.getUpdateType() == REMOVE) {
+                    deleteObjective(objective, true);
+                }
             }
+            pendingRemovals.clear();
+        }
 
-            if (playerTeam != null && playerTeam.getColor() == objective.getTeamColor()) {
-                correctSidebar = objective;
+        Objective correctSidebar = null;
+        Team playerTeam = getTeamFor(session.getPlayerEntity().getUsername());
+        if (playerTeam != null) {
+            ScoreboardPosition teamSidebar = TEAM_SIDEBARS.get(playerTeam.getColor());
+            if (teamSidebar != null) {
+                correctSidebar = objectiveSlots.get(teamSidebar);
             }
         }
 
@@ -191,38 +264,31 @@ public final class Scoreboard {
             correctSidebar = objectiveSlots.get(ScoreboardPosition.SIDEBAR);
         }
 
-        for (Objective objective : removedObjectives) {
-            // Deletion must be handled before the active objectives are handled - otherwise if a scoreboard display is changed before the current
-            // scoreboard is removed, the client can crash
-            deleteObjective(objective, true);
-        }
-
         handleObjective(objectiveSlots.get(ScoreboardPosition.PLAYER_LIST), addScores, removeScores);
         handleObjective(correctSidebar, addScores, removeScores);
         handleObjective(objectiveSlots.get(ScoreboardPosition.BELOW_NAME), addScores, removeScores);
 
-        Iterator<Team> teamIterator = teams.values().iterator();
-        while (teamIterator.hasNext()) {
-            Team current = teamIterator.next();
+        for (Team team : updatingTeams) {
+            team.markUpdated();
+        }
+        updatingTeams.clear();
 
-            switch (current.getCachedUpdateType()) {
-                case ADD, UPDATE -> current.markUpdated();
-                case REMOVE -> teamIterator.remove();
+        for (Team team : dirtyTeams) {
+            if (team.getCachedUpdateType() == REMOVE) {
+                teams.remove(team.getId(), team);
             }
         }
+        dirtyTeams.clear();
+        // Changes to objectives that are not displayed stay tracked in their objective until they are displayed
+        dirtyObjectives.clear();
 
+        // Sessions that see the same changes share the same packets
         if (!removeScores.isEmpty()) {
-            SetScorePacket setScorePacket = new SetScorePacket();
-            setScorePacket.setAction(SetScorePacket.Action.REMOVE);
-            setScorePacket.setInfos(removeScores);
-            session.sendUpstreamPacket(setScorePacket);
+            session.sendUpstreamPacket(ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.REMOVE, removeScores));
         }
 
         if (!addScores.isEmpty()) {
-            SetScorePacket setScorePacket = new SetScorePacket();
-            setScorePacket.setAction(SetScorePacket.Action.SET);
-            setScorePacket.setInfos(addScores);
-            session.sendUpstreamPacket(setScorePacket);
+            session.sendUpstreamPacket(ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.SET, addScores));
         }
 
         lastAddScoreCount = addScores.size();
@@ -234,9 +300,11 @@ public final class Scoreboard {
             return;
         }
 
+        Set<Score> dirtyScores = objective.getDirtyScores();
+
         // hearts can't hold teams, so we treat them differently
         if (objective.getType() == 1) {
-            for (Score score : objective.getScores().values()) {
+            for (Score score : dirtyScores) {
                 boolean update = score.shouldUpdate();
 
                 if (update) {
@@ -250,23 +318,31 @@ public final class Scoreboard {
                     removeScores.add(score.getCachedInfo());
                 }
             }
+            dirtyScores.clear();
             return;
         }
 
         boolean objectiveAdd = objective.getUpdateType() == ADD;
         boolean objectiveUpdate = objective.getUpdateType() == UPDATE;
 
-        for (Score score : objective.getScores().values()) {
+        // A new or changed objective has to be sent in full, otherwise only the changed scores are relevant
+        Collection<Score> scores = objectiveAdd || objectiveUpdate ? objective.getScores().values() : dirtyScores;
+        List<String> removedScores = null;
+
+        for (Score score : scores) {
             if (score.getUpdateType() == REMOVE) {
                 ScoreInfo cachedInfo = score.getCachedInfo();
-                // cachedInfo can be null here when ScoreboardUpdater is being used and a score is added and
+                // cachedInfo can be null here when updates are rate limited and a score is added and
                 // removed before a single update cycle is performed
                 if (cachedInfo != null) {
                     removeScores.add(cachedInfo);
                 }
-                // score is pending to be removed, so we can remove it from the objective
-                objective.removeScore0(score.getName());
-                break;
+                // score is pending to be removed, so we can remove it from the objective after iterating
+                if (removedScores == null) {
+                    removedScores = new ArrayList<>();
+                }
+                removedScores.add(score.getName());
+                continue;
             }
 
             Team team = score.getTeam();
@@ -298,6 +374,13 @@ public final class Scoreboard {
 
             score.setUpdateType(NOTHING);
         }
+        dirtyScores.clear();
+
+        if (removedScores != null) {
+            for (String name : removedScores) {
+                objective.removeScore0(name);
+            }
+        }
 
         if (objectiveUpdate) {
             RemoveObjectivePacket removeObjectivePacket = new RemoveObjectivePacket();
@@ -306,13 +389,7 @@ public final class Scoreboard {
         }
 
         if (objectiveAdd || objectiveUpdate) {
-            SetDisplayObjectivePacket displayObjectivePacket = new SetDisplayObjectivePacket();
-            displayObjectivePacket.setObjectiveId(objective.getObjectiveName());
-            displayObjectivePacket.setDisplayName(objective.getDisplayName());
-            displayObjectivePacket.setCriteria("dummy");
-            displayObjectivePacket.setDisplaySlot(objective.getDisplaySlotName());
-            displayObjectivePacket.setSortOrder(1); // 0 = ascending, 1 = descending
-            session.sendUpstreamPacket(displayObjectivePacket);
+            session.sendUpstreamPacket(ScoreboardSnapshotCache.displayObjectivePacket(objective));
         }
 
         objective.setUpdateType(NOTHING);
@@ -326,6 +403,7 @@ public final class Scoreboard {
             objectives.remove(objective.getObjectiveName());
         }
         objectiveSlots.remove(objective.getDisplaySlot(), objective);
+        pendingRemovals.remove(objective);
 
         objective.removed();
 
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.scoreboard;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
+import org.cloudburstmc.protocol.bedrock.packet.SetDisplayObjectivePacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetScorePacket;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares scoreboard data between sessions. Minigame servers usually send the same objectives, scores and teams to
+ * every player, so identical score snapshots resolve to the same {@link ScoreInfo} instance, and identical score
+ * diffs resolve to the same Bedrock packet instead of being rebuilt for every session.
+ * <p>
+ * Everything stored here is immutable, and packets are only read when they are encoded.
+ */
+public final class ScoreboardSnapshotCache {
+    /**
+     * Bedrock score ids, keyed by objective and score name. Shared ids are required for score snapshots to be
+     * identical across sessions. Evicted entries are given a new id, so ids are never reused.
+     */
+    private static final Cache<ScoreKey, Long> SCORE_IDS = CacheBuilder.newBuilder()
+            .maximumSize(65536)
+            .build();
+    private static final AtomicLong NEXT_SCORE_ID = new AtomicLong();
+
+    private static final Cache<ScoreSnapshot, ScoreInfo> SCORE_INFOS = CacheBuilder.newBuilder()
+            .weakValues()
+            .build();
+
+    /**
+     * Diffs are usually identical for all sessions in the same tick, so these don't have to live long.
+     */
+    private static final Cache<ScoreDiff, SetScorePacket> SCORE_PACKETS = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(10, TimeUnit.SECONDS)
+            .build();
+
+    private static final Cache<DisplaySnapshot, SetDisplayObjectivePacket> DISPLAY_PACKETS = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+
+    private ScoreboardSnapshotCache() {
+    }
+
+    /**
+     * @return the Bedrock score id that every session uses for this score
+     */
+    public static long scoreId(String objectiveName, String name) {
+        return SCORE_IDS.asMap().computeIfAbsent(new ScoreKey(objectiveName, name), key -> NEXT_SCORE_ID.getAndIncrement());
+    }
+
+    /**
+     * @return the shared score info for this score snapshot
+     */
+    public static ScoreInfo scoreInfo(long id, String objectiveName, int score, String displayName) {
+        return SCORE_INFOS.asMap().computeIfAbsent(new ScoreSnapshot(id, objectiveName, score, displayName),
+                snapshot -> new ScoreInfo(id, objectiveName, score, displayName));
+    }
+
+    /**
+     * @param infos the changed scores, as returned by {@link #scoreInfo(long, String, int, String)}. Not retained.
+     * @return a packet shared by every session that sends the same diff. Must not be modified.
+     */
+    public static SetScorePacket setScorePacket(SetScorePacket.Action action, List<ScoreInfo> infos) {
+        // Look up with the session's own list; it's only copied if this diff wasn't seen before
+        SetScorePacket setScorePacket = SCORE_PACKETS.getIfPresent(new ScoreDiff(action, infos));
+        if (setScorePacket != null) {
+            return setScorePacket;
+        }
+        return SCORE_PACKETS.asMap().computeIfAbsent(new ScoreDiff(action, List.copyOf(infos)), diff -> {
+            SetScorePacket packet = new SetScorePacket();
+            packet.setAction(diff.action());
+            packet.setInfos(diff.infos());
+            return packet;
+        });
+    }
+
+    /**
+     * @return a packet shared by every session that displays the same objective. Must not be modified.
+     */
+    public static SetDisplayObjectivePacket displayObjectivePacket(Objective objective) {
+        DisplaySnapshot snapshot = new DisplaySnapshot(objective.getObjectiveName(), objective.getDisplayName(), objective.getDisplaySlotName());
+        return DISPLAY_PACKETS.asMap().computeIfAbsent(snapshot, key -> {
+            SetDisplayObjectivePacket displayObjectivePacket = new SetDisplayObjectivePacket();
+            displayObjectivePacket.setObjectiveId(key.objectiveName());
+            displayObjectivePacket.setDisplayName(key.displayName());
+            displayObjectivePacket.setCriteria("dummy");
+            displayObjectivePacket.setDisplaySlot(key.displaySlotName());
+            displayObjectivePacket.setSortOrder(1); // 0 = ascending, 1 = descending
+            return displayObjectivePacket;
+        });
+    }
+
+    private record ScoreKey(String objectiveName, String name) {
+    }
+
+    private record ScoreSnapshot(long id, String objectiveName, int score, String displayName) {
+    }
+
+    /**
+     * The infos are interned, so they are hashed and compared by identity instead of by their contents.
+     */
+    private static final class ScoreDiff {
+        private final SetScorePacket.Action action;
+        private final List<ScoreInfo> infos;
+        private final int hash;
+
+        ScoreDiff(SetScorePacket.Action action, List<ScoreInfo> infos) {
+            this.action = action;
+            this.infos = infos;
+            int hash = action.hashCode();
+            for (int i = 0; i < infos.size(); i++) {
+                hash = 31 * hash + System.identityHashCode(infos.get(i));
+            }
+            this.hash = hash;
+        }
+
+        SetScorePacket.Action action() {
+            return action;
+        }
+
+        List<ScoreInfo> infos() {
+            return infos;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScoreDiff other) || action != other.action || hash != other.hash || infos.size() != other.infos.size()) {
+                return false;
+            }
+            for (int i = 0; i < infos.size(); i++) {
+                if (infos.get(i) != other.infos.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record DisplaySnapshot(String objectiveName, String displayName, String displaySlotName) {
+    }
+}
@@ -25,18 +25,19 @@
 
 package org.geysermc.geyser.scoreboard;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.session.GeyserSession;
-import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.geyser.text.GeyserLocale;
 
-import java.util.Collection;
-import java.util.concurrent.atomic.AtomicInteger;
-
-public final class ScoreboardUpdater extends Thread {
+/**
+ * Rate limits the scoreboard updates of a single session. Scoreboard packets are translated immediately, unless the
+ * server sends more score and team packets per second than the configured threshold. In that case the changes are
+ * collected by the {@link Scoreboard} and flushed from the session tick instead.
+ * <p>
+ * This is only used on the session's event loop.
+ */
+public final class ScoreboardUpdater {
     public static final int FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
     public static final int SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD = 250;
 
@@ -51,132 +52,78 @@ public final class ScoreboardUpdater extends Thread {
         DEBUG_ENABLED = config.isDebugMode();
     }
 
-    private final GeyserImpl geyser = GeyserImpl.getInstance();
+    private final GeyserSession session;
 
-    private long lastUpdate = System.currentTimeMillis();
+    private int pendingPacketsPerSecond;
+    private int packetsPerSecond;
     private long lastPacketsPerSecondUpdate = System.currentTimeMillis();
+    private long lastUpdate;
+    private long lastLog;
 
-    public static void init() {
-        new ScoreboardUpdater().start();
+    public ScoreboardUpdater(GeyserSession session) {
+        this.session = session;
     }
 
-    @Override
-    public void run() {
-        while (!geyser.isShuttingDown() && !geyser.isReloading()) {
-            try {
-                long timeTillAction = getTimeTillNextAction();
-                if (timeTillAction > 0) {
-                    sleepFor(timeTillAction);
-                    continue;
-                }
-
-                long currentTime = System.currentTimeMillis();
-
-                // reset score-packets per second every second
-                Collection<GeyserSession> sessions = geyser.getSessionManager().getSessions().values();
-                if (currentTime - lastPacketsPerSecondUpdate >= 1000) {
-                    lastPacketsPerSecondUpdate = currentTime;
-                    for (GeyserSession session : sessions) {
-                        ScoreboardSession scoreboardSession = session.getWorldCache().getScoreboardSession();
-
-                        int oldPps = scoreboardSession.getPacketsPerSecond();
-                        int newPps = scoreboardSession.getPendingPacketsPerSecond().get();
-
-                        scoreboardSession.packetsPerSecond = newPps;
-                        scoreboardSession.pendingPacketsPerSecond.set(0);
+    /**
+     * Should be called for every scoreboard related packet.
+     *
+     * @return the amount of score and team packets per second
+     */
+    public int increaseAndGetPacketsPerSecond() {
+        return Math.max(packetsPerSecond, ++pendingPacketsPerSecond);
+    }
 
-                        // just making sure that all updates are pushed before giving up control
-                        if (oldPps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD &&
-                                newPps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            session.getWorldCache().getScoreboard().onUpdate();
-                        }
-                    }
-                }
+    /**
+     * Called every session tick. Flushes the pending scoreboard changes if the packet rate allows it.
+     */
+    public void tick() {
+        try {
+            long currentTime = System.currentTimeMillis();
 
-                if (currentTime - lastUpdate >= FIRST_MILLIS_BETWEEN_UPDATES) {
-                    lastUpdate = currentTime;
+            // reset score-packets per second every second
+            if (currentTime - lastPacketsPerSecondUpdate >= 1000) {
+                lastPacketsPerSecondUpdate = currentTime;
+                packetsPerSecond = pendingPacketsPerSecond;
+                pendingPacketsPerSecond = 0;
+            }
 
-                    for (GeyserSession session : sessions) {
-                        WorldCache worldCache = session.getWorldCache();
-                        ScoreboardSession scoreboardSession = worldCache.getScoreboardSession();
+            Scoreboard scoreboard = session.getWorldCache().getScoreboard();
+            if (!scoreboard.hasPendingChanges()) {
+                return;
+            }
 
-                        int pps = scoreboardSession.getPacketsPerSecond();
-                        if (pps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
+            int pps = Math.max(packetsPerSecond, pendingPacketsPerSecond);
+            if (pps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
+                // just making sure that all updates are pushed before giving up control
+                scoreboard.onUpdate();
+                return;
+            }
 
-                            int millisBetweenUpdates = reachedSecondThreshold ?
-                                    SECOND_MILLIS_BETWEEN_UPDATES :
-                                    FIRST_MILLIS_BETWEEN_UPDATES;
+            boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
 
-                            if (currentTime - scoreboardSession.lastUpdate >= millisBetweenUpdates) {
-                                worldCache.getScoreboard().onUpdate();
-                                scoreboardSession.lastUpdate = currentTime;
+            int millisBetweenUpdates = reachedSecondThreshold ?
+                    SECOND_MILLIS_BETWEEN_UPDATES :
+                    FIRST_MILLIS_BETWEEN_UPDATES;
 
-                                if (DEBUG_ENABLED && (currentTime - scoreboardSession.lastLog >= 60000)) { // one minute
-                                    int threshold = reachedSecondThreshold ?
-                                            SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
-                                            FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
+            if (currentTime - lastUpdate >= millisBetweenUpdates) {
+                scoreboard.onUpdate();
+                lastUpdate = currentTime;
 
-                                    geyser.getLogger().info(
-                                            GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.bedrockUsername(), threshold, pps) +
-                                                    GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
-                                    );
+                if (DEBUG_ENABLED && (currentTime - lastLog >= 60000)) { // one minute
+                    int threshold = reachedSecondThreshold ?
+                            SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
+                            FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
 
-                                    scoreboardSession.lastLog = currentTime;
-                                }
-                            }
-                        }
-                    }
-                }
+                    session.getGeyser().getLogger().info(
+                            GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.bedrockUsername(), threshold, pps) +
+                                    GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
+                    );
 
-                if (DEBUG_ENABLED) {
-                    long timeSpent = System.currentTimeMillis() - currentTime;
-                    if (timeSpent > 0) {
-                        geyser.getLogger().info(String.format(
-                                "Scoreboard updater: took %s ms. Updated %s players",
-                                timeSpent, sessions.size()
-                        ));
-                    }
+                    lastLog = currentTime;
                 }
-
-                long timeTillNextAction = getTimeTillNextAction();
-                sleepFor(timeTillNextAction);
-            } catch (Throwable e) {
-                geyser.getLogger().error("Error while translating scoreboard information!", e);
-                // Wait so we don't try to run the scoreboard immediately after this
-                sleepFor(FIRST_MILLIS_BETWEEN_UPDATES);
             }
+        } catch (Throwable e) {
+            session.getGeyser().getLogger().error("Error while translating scoreboard information!", e);
         }
     }
-
-    private long getTimeTillNextAction() {
-        long currentTime = System.currentTimeMillis();
-
-        long timeUntilNextUpdate = FIRST_MILLIS_BETWEEN_UPDATES - (currentTime - lastUpdate);
-        long timeUntilPacketReset = 1000 - (currentTime - lastPacketsPerSecondUpdate);
-
-        return Math.min(timeUntilNextUpdate, timeUntilPacketReset);
-    }
-
-    private void sleepFor(long millis) {
-        if (millis <= 0) {
-            return;
-        }
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-    }
-
-    @RequiredArgsConstructor
-    @Getter
-    public static final class ScoreboardSession {
-        private final GeyserSession session;
-        @SuppressWarnings("WriteOnlyObject")
-        private final AtomicInteger pendingPacketsPerSecond = new AtomicInteger(0);
-        private int packetsPerSecond;
-        private long lastUpdate;
-        private long lastLog;
-    }
 }
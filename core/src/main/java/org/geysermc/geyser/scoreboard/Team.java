@@ -59,6 +59,7 @@ public final class Team {
         this.id = id;
         currentData = new TeamData();
         entities = new ObjectOpenHashSet<>();
+        scoreboard.markDirty(this);
     }
 
     public Set<String> addEntities(String... names) {
@@ -87,6 +88,7 @@ public final class Team {
                 Score score = objective.getScores().get(addedEntity);
                 if (score != null) {
                     score.setTeam(this);
+                    objective.markDirty(score);
                 }
             }
         }
@@ -105,6 +107,13 @@ public final class Team {
             }
             scoreboard.getPlayerToTeam().remove(name, this);
         }
+
+        // the scores of these entities have to drop this team on the next update
+        for (Objective objective : scoreboard.getObjectives()) {
+            for (String removedEntity : removed) {
+                objective.markDirty(removedEntity);
+            }
+        }
         return removed;
     }
 
@@ -158,6 +167,7 @@ public final class Team {
             return;
         }
         updating = true;
+        scoreboard.markUpdating(this);
 
         if (cachedData == null) {
             cachedData = new TeamData();
@@ -183,6 +193,7 @@ public final class Team {
     public Team setUpdateType(UpdateType updateType) {
         if (updateType != UpdateType.NOTHING) {
             currentData.changed = true;
+            scoreboard.markDirty(this);
         }
         currentData.updateType = updateType;
         return this;
@@ -65,8 +65,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.EventLoop;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -131,10 +129,12 @@ import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.inventory.PlayerInventory;
 import org.geysermc.geyser.inventory.recipe.GeyserRecipe;
 import org.geysermc.geyser.inventory.recipe.GeyserStonecutterData;
+import org.geysermc.geyser.inventory.updater.InventorySlotTracker;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.network.JoinPacketCache;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.BlockMappings;
@@ -152,6 +152,8 @@ import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.geyser.util.DimensionUtils;
 import org.geysermc.geyser.util.EntityUtils;
 import org.geysermc.geyser.util.LoginEncryptionUtils;
+import org.geysermc.geyser.util.collection.ChunkIndexedMap;
+import org.geysermc.geyser.util.collection.ChunkIndexedSet;
 
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
@@ -211,6 +213,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
     private final LodestoneCache lodestoneCache;
+    private final MapCache mapCache;
     private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
     private final SkullCache skullCache;
@@ -227,6 +230,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private boolean isInWorldBorderWarningArea = false;
 
     private final PlayerInventory playerInventory;
+    /**
+     * The item last sent to the client in each inventory slot.
+     */
+    private final InventorySlotTracker inventorySlotTracker = new InventorySlotTracker();
     @Setter
     private Inventory openInventory;
     @Setter
@@ -261,8 +268,6 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     @Setter
     private ItemMappings itemMappings;
 
-    private final Long2ObjectMap<ClientboundMapItemDataPacket> storedMaps = new Long2ObjectOpenHashMap<>();
-
     /**
      * Required to decode biomes correctly.
      */
@@ -278,14 +283,14 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * A map of Vector3i positions to Java entities.
      * Used for translating Bedrock block actions to Java entity actions.
      */
-    private final Map<Vector3i, ItemFrameEntity> itemFrameCache = new Object2ObjectOpenHashMap<>();
+    private final ChunkIndexedMap<ItemFrameEntity> itemFrameCache = new ChunkIndexedMap<>();
 
     /**
      * Stores a list of all lectern locations and their block entity tags.
      * See {@link WorldManager#sendLecternData(GeyserSession, int, int, int)}
      * for more information.
      */
-    private final @Nullable Set<Vector3i> lecternCache;
+    private final @Nullable ChunkIndexedSet lecternCache;
 
     /**
      * A list of all players that have a player head on with a custom texture.
@@ -323,6 +328,11 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     @Setter
     private String worldName = null;
+    /**
+     * The hashed seed of the current world, used together with the world name to tell backend worlds apart.
+     */
+    @Setter
+    private long hashedSeed;
     /**
      * As of Java 1.19.3, the client only uses these for commands.
      */
@@ -622,6 +632,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.lodestoneCache = new LodestoneCache();
+        this.mapCache = new MapCache(this);
         this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
         this.skullCache = new SkullCache(this);
@@ -650,7 +661,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             // Unneeded on these platforms
             this.lecternCache = null;
         } else {
-            this.lecternCache = new ObjectOpenHashSet<>();
+            this.lecternCache = new ChunkIndexedSet();
         }
 
         if (geyser.getConfig().getEmoteOffhandWorkaround() != EmoteOffhandWorkaroundOption.NO_EMOTES) {
@@ -673,35 +684,21 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         // Set the hardcoded shield ID to the ID we just defined in StartGamePacket
         // upstream.getSession().getHardcodedBlockingId().set(this.itemMappings.getStoredItems().shield().getBedrockId());
 
-        if (GeyserImpl.getInstance().getConfig().isAddNonBedrockItems()) {
-            ItemComponentPacket componentPacket = new ItemComponentPacket();
-            componentPacket.getItems().addAll(itemMappings.getComponentItemData());
-            upstream.sendPacket(componentPacket);
+        // These only depend on the Bedrock version, so they are encoded once and shared
+        JoinPacketCache.JoinPackets joinPackets = JoinPacketCache.get(upstream, itemMappings);
+
+        if (joinPackets.itemComponents() != null) {
+            // Only encoded if non-Bedrock items are enabled
+            joinPackets.itemComponents().send(upstream);
         }
 
         ChunkUtils.sendEmptyChunks(this, playerEntity.getPosition().toInt(), 0, false);
 
-        BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
-        biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
-        upstream.sendPacket(biomeDefinitionListPacket);
-
-        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
-        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
-        upstream.sendPacket(entityPacket);
-
-        CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
-        cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
-        upstream.sendPacket(cameraPresetsPacket);
-
-        CreativeContentPacket creativePacket = new CreativeContentPacket();
-        creativePacket.setContents(this.itemMappings.getCreativeItems());
-        upstream.sendPacket(creativePacket);
-
-        // Potion mixes are registered by default, as they are needed to be able to put ingredients into the brewing stand.
-        CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
-        craftingDataPacket.setCleanRecipes(true);
-        craftingDataPacket.getPotionMixData().addAll(Registries.POTION_MIXES.forVersion(this.upstream.getProtocolVersion()));
-        upstream.sendPacket(craftingDataPacket);
+        joinPackets.biomeDefinitions().send(upstream);
+        joinPackets.entityIdentifiers().send(upstream);
+        joinPackets.cameraPresets().send(upstream);
+        joinPackets.creativeContent().send(upstream);
+        joinPackets.potionMixes().send(upstream);
 
         PlayStatusPacket playStatusPacket = new PlayStatusPacket();
         playStatusPacket.setStatus(PlayStatusPacket.Status.PLAYER_SPAWN);
@@ -1014,12 +1011,13 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
                 // Let the user know there locale may take some time to download
                 // as it has to be extracted from a JAR
-                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.LOCALE_MAPPINGS.containsKey("en_us")) {
+                if (locale.equalsIgnoreCase("en_us") && !MinecraftLocale.isLocaleLoaded("en_us")) {
                     // This should probably be left hardcoded as it will only show for en_us clients
                     sendMessage("Loading your locale (en_us); if this isn't already downloaded, this may take some time");
                 }
 
-                // Download and load the language for the player
+                // Download and load the language for the player without holding up the connection. Messages converted
+                // until then use the default locale; the conversion caches are reset once the locale is loaded.
                 MinecraftLocale.downloadAndLoadLocale(locale);
             }
 
@@ -1139,6 +1137,11 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         erosionHandler.close();
 
         closed = true;
+        // Release this session's share of the cached chunk sections and map images
+        ensureInEventLoop(() -> {
+            chunkCache.clear();
+            mapCache.clear();
+        });
     }
 
     /**
@@ -1184,6 +1187,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     protected void tick() {
         try {
             pistonCache.tick();
+            chunkCache.tick();
+            worldCache.getScoreboardUpdater().tick();
             // Check to see if the player's position needs updating - a position update should be sent once every 3 seconds
             if (spawned && (System.currentTimeMillis() - lastMovementTimestamp) > 3000) {
                 // Recalculate in case something else changed position
@@ -28,17 +28,52 @@ package org.geysermc.geyser.session.cache;
 import com.github.steveice10.mc.protocol.data.game.chunk.DataPalette;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import lombok.Getter;
 import lombok.Setter;
+import org.geysermc.geyser.api.network.RemoteServer;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.BlockStateValues;
+import org.geysermc.geyser.level.chunk.BlockSection;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
+import org.geysermc.geyser.level.chunk.SectionStore;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.MathUtils;
 
 public class ChunkCache {
+    /**
+     * How often chunks far away from the player are evicted, in ticks.
+     */
+    private static final int EVICTION_INTERVAL = 100;
+    /**
+     * How many chunks beyond the server view distance are kept before being evicted.
+     */
+    private static final int EVICTION_MARGIN = 3;
+    /**
+     * Copied for block updates in sections that were empty; never stored in the cache itself.
+     */
+    private static final BlockSection AIR_SECTION = BlockSection.of(new int[BlockSection.SIZE]); // Java air is 0
+
+    private final GeyserSession session;
     private final boolean cache;
+    /**
+     * If columns are shared with other sessions through {@link SharedChunkStore}.
+     */
+    private final boolean shared;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    /**
+     * Positions of columns that were {@link SharedChunkStore#detach(GeyserChunk) detached} from sharing, so only
+     * this session holds them and they can be modified in place.
+     */
+    private final LongSet detachedColumns;
+    /**
+     * An estimate of the heap used by the chunks of this cache, counting shared sections in full.
+     */
+    @Getter
+    private volatile long sizeInBytes;
+    private int ticksUntilEviction = EVICTION_INTERVAL;
 
     @Setter
     private int minY;
@@ -53,8 +88,11 @@ public class ChunkCache {
     private BedrockDimension bedrockDimension = BedrockDimension.OVERWORLD;
 
     public ChunkCache(GeyserSession session) {
+        this.session = session;
         this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
+        this.shared = cache && session.getGeyser().getConfig().isSharedChunkCache();
         chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
+        detachedColumns = shared ? new LongOpenHashSet() : null;
     }
 
     public void addToCache(int x, int z, DataPalette[] chunks) {
@@ -62,9 +100,36 @@ public class ChunkCache {
             return;
         }
 
+        if (session.isClosed()) {
+            // Nothing would release the sections of this chunk anymore
+            return;
+        }
+
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
-        this.chunks.put(chunkPosition, geyserChunk);
+        if (shared) {
+            geyserChunk = SharedChunkStore.share(columnKey(chunkPosition), geyserChunk);
+            detachedColumns.remove(chunkPosition);
+        }
+        release(this.chunks.put(chunkPosition, geyserChunk));
+        sizeInBytes += geyserChunk.getSizeInBytes();
+    }
+
+    private void release(GeyserChunk chunk) {
+        if (chunk != null) {
+            if (shared) {
+                SharedChunkStore.release(chunk);
+            } else {
+                chunk.release();
+            }
+            sizeInBytes -= chunk.getSizeInBytes();
+        }
+    }
+
+    private SharedChunkStore.ColumnKey columnKey(long chunkPosition) {
+        RemoteServer remoteServer = session.remoteServer();
+        return new SharedChunkStore.ColumnKey(remoteServer.address() + ":" + remoteServer.port(), session.getWorldName(),
+            session.getHashedSeed(), session.getDimension(), chunkPosition);
     }
 
     /**
@@ -75,12 +140,20 @@ public class ChunkCache {
         return chunks.getOrDefault(chunkPosition, null);
     }
 
+    /**
+     * @return true if this chunk has been received and is cached
+     */
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return cache && this.chunks.containsKey(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+    }
+
     public void updateBlock(int x, int y, int z, int block) {
         if (!cache) {
             return;
         }
 
-        GeyserChunk chunk = this.getChunk(x >> 4, z >> 4);
+        long chunkPosition = MathUtils.chunkPositionToLong(x >> 4, z >> 4);
+        GeyserChunk chunk = this.chunks.get(chunkPosition);
         if (chunk == null) {
             return;
         }
@@ -90,21 +163,51 @@ public class ChunkCache {
             return;
         }
 
-        DataPalette palette = chunk.sections()[(y - minY) >> 4];
-        if (palette == null) {
-            if (block != BlockStateValues.JAVA_AIR_ID) {
-                // A previously empty chunk, which is no longer empty as a block has been added to it
-                palette = DataPalette.createForChunk();
-                // Fixes the chunk assuming that all blocks is the `block` variable we are updating. /shrug
-                palette.getPalette().stateToId(BlockStateValues.JAVA_AIR_ID);
-                chunk.sections()[(y - minY) >> 4] = palette;
-            } else {
+        if (shared && detachedColumns.add(chunkPosition)) {
+            // Other sessions may hold this column or get hold of it, so it has to be detached before it's modified
+            GeyserChunk detached = SharedChunkStore.detach(chunk);
+            if (detached != chunk) {
+                this.chunks.put(chunkPosition, detached);
+                chunk = detached;
+            }
+        }
+
+        sizeInBytes += updateBlock(chunk, x, y, z, block);
+    }
+
+    /**
+     * Changes the block in place. The first update of a shared section replaces it with a mutable copy that only this
+     * cache holds, so further updates to that section neither copy it nor touch the {@link SectionStore}.
+     *
+     * @return the change in size of the chunk
+     */
+    private long updateBlock(GeyserChunk chunk, int x, int y, int z, int block) {
+        int sectionIndex = (y - minY) >> 4;
+        BlockSection section = chunk.sections()[sectionIndex];
+        long sizeChange = 0;
+        if (section == null) {
+            if (block == BlockStateValues.JAVA_AIR_ID) {
                 // Nothing to update
-                return;
+                return 0;
             }
+            // A previously empty section, which is no longer empty as a block has been added to it
+            section = AIR_SECTION.mutableCopy();
+            chunk.sections()[sectionIndex] = section;
+        } else if (!section.isMutable()) {
+            if (section.get(x & 0xF, y & 0xF, z & 0xF) == block) {
+                return 0;
+            }
+            BlockSection shared = section;
+            section = shared.mutableCopy();
+            chunk.sections()[sectionIndex] = section;
+            SectionStore.release(shared);
+            sizeChange -= shared.getSizeInBytes();
+        } else {
+            sizeChange -= section.getSizeInBytes();
         }
 
-        palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+        section.set(x & 0xF, y & 0xF, z & 0xF, block);
+        return sizeChange + section.getSizeInBytes();
     }
 
     public int getBlockAt(int x, int y, int z) {
@@ -122,9 +225,9 @@ public class ChunkCache {
             return BlockStateValues.JAVA_AIR_ID;
         }
 
-        DataPalette chunk = column.sections()[(y - minY) >> 4];
-        if (chunk != null) {
-            return chunk.get(x & 0xF, y & 0xF, z & 0xF);
+        BlockSection section = column.sections()[(y - minY) >> 4];
+        if (section != null) {
+            return section.get(x & 0xF, y & 0xF, z & 0xF);
         }
 
         return BlockStateValues.JAVA_AIR_ID;
@@ -136,7 +239,43 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
-        chunks.remove(chunkPosition);
+        release(chunks.remove(chunkPosition));
+        if (shared) {
+            detachedColumns.remove(chunkPosition);
+        }
+    }
+
+    /**
+     * Periodically evicts chunks that are too far away from the player to still be loaded on the server. The server
+     * should tell us to forget these, but that doesn't always arrive (e.g. on proxy server switches).
+     */
+    public void tick() {
+        if (!cache || --ticksUntilEviction > 0) {
+            return;
+        }
+        ticksUntilEviction = EVICTION_INTERVAL;
+
+        int viewDistance = session.getServerRenderDistance();
+        if (viewDistance == -1) {
+            return;
+        }
+        int radius = viewDistance + EVICTION_MARGIN;
+        int centerX = session.getPlayerEntity().getPosition().getFloorX() >> 4;
+        int centerZ = session.getPlayerEntity().getPosition().getFloorZ() >> 4;
+        for (var iterator = chunks.long2ObjectEntrySet().iterator(); iterator.hasNext(); ) {
+            Long2ObjectMap.Entry<GeyserChunk> entry = iterator.next();
+            long chunkPosition = entry.getLongKey();
+            // See MathUtils#chunkPositionToLong
+            int chunkX = (int) (chunkPosition >> 32);
+            int chunkZ = (int) chunkPosition;
+            if (Math.abs(chunkX - centerX) > radius || Math.abs(chunkZ - centerZ) > radius) {
+                release(entry.getValue());
+                iterator.remove();
+                if (shared) {
+                    detachedColumns.remove(chunkPosition);
+                }
+            }
+        }
     }
 
     /**
@@ -149,7 +288,13 @@ public class ChunkCache {
             return;
         }
 
+        for (GeyserChunk chunk : chunks.values()) {
+            release(chunk);
+        }
         chunks.clear();
+        if (shared) {
+            detachedColumns.clear();
+        }
     }
 
     public int getChunkMinY() {
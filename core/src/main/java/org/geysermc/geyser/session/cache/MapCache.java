@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.github.steveice10.mc.protocol.data.game.level.map.MapData;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.MapDecoration;
+import org.cloudburstmc.protocol.bedrock.data.MapTrackedObject;
+import org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket;
+import org.geysermc.geyser.api.network.RemoteServer;
+import org.geysermc.geyser.level.MapStore;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.List;
+
+/**
+ * Keeps the maps this session has received, as Bedrock expects the map data again after a MapInfoRequestPacket.
+ * The images themselves are held in {@link MapStore}, and packets are only built when they are requested.
+ */
+public class MapCache {
+    /**
+     * How many maps are kept for one session. The least recently updated or requested maps are dropped first.
+     */
+    private static final int MAX_MAPS = 512;
+
+    private final GeyserSession session;
+    private final Long2ObjectLinkedOpenHashMap<StoredMap> maps = new Long2ObjectLinkedOpenHashMap<>();
+
+    public MapCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Stores a map update that was translated into the given packet.
+     *
+     * @param data the image or patch of the update, if it has one
+     */
+    public void update(int mapId, @Nullable MapData data, ClientboundMapItemDataPacket packet) {
+        if (session.isClosed()) {
+            // Nothing would release this image anymore
+            return;
+        }
+
+        StoredMap map = maps.getAndMoveToLast(mapId);
+        MapStore.MapPixels pixels = map == null ? null : map.pixels;
+        if (data != null) {
+            pixels = MapStore.update(key(mapId), pixels, data);
+        }
+        if (pixels == null) {
+            // We don't have a full image of this map yet
+            return;
+        }
+
+        if (map == null) {
+            map = new StoredMap();
+            maps.put(mapId, map);
+            if (maps.size() > MAX_MAPS) {
+                MapStore.release(maps.removeFirst().pixels);
+            }
+        }
+        map.pixels = pixels;
+        map.dimensionId = packet.getDimensionId();
+        map.scale = packet.getScale();
+        map.locked = packet.isLocked();
+        if (!packet.getDecorations().isEmpty()) {
+            // Java only sends icons when they changed; a packet without them keeps the ones we have
+            map.decorations = List.copyOf(packet.getDecorations());
+            map.trackedObjects = List.copyOf(packet.getTrackedObjects());
+        }
+    }
+
+    /**
+     * @return the full map with this id, or null if it isn't known
+     */
+    public @Nullable ClientboundMapItemDataPacket buildPacket(long mapId) {
+        StoredMap map = maps.getAndMoveToLast(mapId);
+        if (map == null) {
+            return null;
+        }
+
+        ClientboundMapItemDataPacket packet = new ClientboundMapItemDataPacket();
+        packet.setUniqueMapId(mapId);
+        packet.setDimensionId(map.dimensionId);
+        packet.setLocked(map.locked);
+        packet.setOrigin(Vector3i.ZERO); // Required since 1.19.20
+        packet.setScale(map.scale);
+        // Required as of 1.19.50
+        packet.getTrackedEntityIds().add(mapId);
+
+        packet.setXOffset(0);
+        packet.setYOffset(0);
+        packet.setWidth(MapStore.MAP_SIZE);
+        packet.setHeight(MapStore.MAP_SIZE);
+        packet.setColors(MapStore.toARGB(map.pixels));
+
+        packet.getDecorations().addAll(map.decorations);
+        packet.getTrackedObjects().addAll(map.trackedObjects);
+        return packet;
+    }
+
+    /**
+     * Drops all maps of this session.
+     */
+    public void clear() {
+        for (StoredMap map : maps.values()) {
+            MapStore.release(map.pixels);
+        }
+        maps.clear();
+    }
+
+    private MapStore.MapKey key(int mapId) {
+        RemoteServer remoteServer = session.remoteServer();
+        return new MapStore.MapKey(remoteServer.address() + ":" + remoteServer.port(), mapId);
+    }
+
+    private static final class StoredMap {
+        private MapStore.MapPixels pixels;
+        private int dimensionId;
+        private int scale;
+        private boolean locked;
+        private List<MapDecoration> decorations = List.of();
+        private List<MapTrackedObject> trackedObjects = List.of();
+    }
+}
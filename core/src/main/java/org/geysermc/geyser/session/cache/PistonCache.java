@@ -29,15 +29,20 @@ import org.cloudburstmc.math.vector.Vector3d;
 import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.SetEntityMotionPacket;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
+import org.geysermc.geyser.level.BlockUpdateBatch;
 import org.geysermc.geyser.level.physics.Axis;
 import org.geysermc.geyser.level.physics.BoundingBox;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
+import org.geysermc.geyser.util.collection.ChunkIndexedMap;
 
 import java.util.Map;
 
@@ -49,7 +54,7 @@ public class PistonCache {
     /**
      * Maps the position of a piston to its block entity
      */
-    private final Map<Vector3i, PistonBlockEntity> pistons = new Object2ObjectOpenHashMap<>();
+    private final ChunkIndexedMap<PistonBlockEntity> pistons = new ChunkIndexedMap<>();
 
     /**
      * Maps the position of a moving block to the piston moving it
@@ -57,6 +62,17 @@ public class PistonCache {
      */
     private final Map<Vector3i, PistonBlockEntity> movingBlocksMap = new Object2ObjectOpenHashMap<>();
 
+    /**
+     * Block updates of all pistons, sent once per tick or per piston action
+     */
+    private final BlockUpdateBatch blockUpdates;
+
+    /**
+     * Reused by {@link PistonBlockEntity} to find the blocks attached to a piston
+     */
+    private final LongSet checkedBlocks = new LongOpenHashSet();
+    private final LongArrayFIFOQueue blocksToCheck = new LongArrayFIFOQueue();
+
     private Vector3d playerDisplacement = Vector3d.ZERO;
 
     @Setter
@@ -86,18 +102,20 @@ public class PistonCache {
 
     public PistonCache(GeyserSession session) {
         this.session = session;
+        this.blockUpdates = new BlockUpdateBatch(session);
     }
 
     public void tick() {
         resetPlayerMovement();
         if (!pistons.isEmpty()) {
-            pistons.values().forEach(PistonBlockEntity::updateMovement);
+            pistons.forEach((position, piston) -> piston.updateMovement());
             sendPlayerMovement();
             sendPlayerMotion();
             // Update blocks after movement, so that players don't get stuck inside blocks
-            pistons.values().forEach(PistonBlockEntity::updateBlocks);
+            pistons.forEach((position, piston) -> piston.updateBlocks());
+            blockUpdates.flush();
 
-            pistons.entrySet().removeIf((entry) -> entry.getValue().canBeRemoved());
+            pistons.removeIf((position, piston) -> piston.canBeRemoved());
 
             if (pistons.isEmpty() && !movingBlocksMap.isEmpty()) {
                 session.getGeyser().getLogger().error("The moving block map has de-synced!");
@@ -183,5 +201,6 @@ public class PistonCache {
     public void clear() {
         pistons.clear();
         movingBlocksMap.clear();
+        blockUpdates.clear();
     }
 }
@@ -28,7 +28,6 @@ package org.geysermc.geyser.session.cache;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.math.vector.Vector3i;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +40,7 @@ import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.type.CustomSkull;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.skin.SkinManager;
+import org.geysermc.geyser.util.collection.ChunkIndexedMap;
 
 import java.io.IOException;
 import java.util.*;
@@ -48,7 +48,8 @@ import java.util.*;
 public class SkullCache {
     private final int maxVisibleSkulls;
     private final boolean cullingEnabled;
-    
+
+    private final int skullRenderDistance;
     private final int skullRenderDistanceSquared;
     
     /**
@@ -57,8 +58,11 @@ public class SkullCache {
     private static final long CLEANUP_PERIOD = 10000;
 
     @Getter
-    private final Map<Vector3i, Skull> skulls = new Object2ObjectOpenHashMap<>();
+    private final ChunkIndexedMap<Skull> skulls = new ChunkIndexedMap<>();
 
+    /**
+     * Skulls within the render distance, sorted by distance. Only used when culling is enabled.
+     */
     private final List<Skull> inRangeSkulls = new ArrayList<>();
 
     private final Deque<SkullPlayerEntity> unusedSkullEntities = new ArrayDeque<>();
@@ -76,8 +80,8 @@ public class SkullCache {
         this.cullingEnabled = this.maxVisibleSkulls != -1;
 
         // Normal skulls are not rendered beyond 64 blocks
-        int distance = Math.min(session.getGeyser().getConfig().getCustomSkullRenderDistance(), 64);
-        this.skullRenderDistanceSquared = distance * distance;
+        this.skullRenderDistance = Math.min(session.getGeyser().getConfig().getCustomSkullRenderDistance(), 64);
+        this.skullRenderDistanceSquared = skullRenderDistance * skullRenderDistance;
     }
 
     public Skull putSkull(Vector3i position, UUID uuid, String texturesProperty, int blockState) {
@@ -119,6 +123,10 @@ public class SkullCache {
             if (lastPlayerPosition == null) {
                 return skull;
             }
+            if (skull.inRange) {
+                // Already sorted into the list; its position hasn't changed
+                return skull;
+            }
             skull.distanceSquared = position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
             if (skull.distanceSquared < skullRenderDistanceSquared) {
                 // Keep list in order
@@ -127,6 +135,7 @@ public class SkullCache {
                     i = -i - 1;
                 }
                 inRangeSkulls.add(i, skull);
+                skull.inRange = true;
 
                 if (i < maxVisibleSkulls) {
                     // Reassign entity from the farthest skull to this one
@@ -147,6 +156,13 @@ public class SkullCache {
         }
     }
 
+    /**
+     * Removes all skulls in this chunk.
+     */
+    public void removeChunk(int chunkX, int chunkZ) {
+        skulls.removeChunk(chunkX, chunkZ, (position, skull) -> reassignSkullEntity(skull));
+    }
+
     public Skull updateSkull(Vector3i position, int blockState) {
         Skull skull = skulls.get(position);
         if (skull != null) {
@@ -163,19 +179,31 @@ public class SkullCache {
             }
             lastPlayerPosition = session.getPlayerEntity().getPosition();
 
-            inRangeSkulls.clear();
-            for (Skull skull : skulls.values()) {
-                if (skull.blockDefinition != null) {
-                    continue;
-                }
-
+            // Only skulls that were in range can have an entity to free.
+            // The rest stay in their previous order, so the list is still mostly sorted.
+            inRangeSkulls.removeIf(skull -> {
                 skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
                 if (skull.distanceSquared > skullRenderDistanceSquared) {
                     freeSkullEntity(skull);
-                } else {
+                    skull.inRange = false;
+                    return true;
+                }
+                return false;
+            });
+
+            // Skulls that came into range can only be in nearby chunks
+            skulls.forEachNear(lastPlayerPosition.getX(), lastPlayerPosition.getZ(), skullRenderDistance, (position, skull) -> {
+                if (skull.inRange || skull.blockDefinition != null) {
+                    return;
+                }
+
+                skull.distanceSquared = position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
+                if (skull.distanceSquared <= skullRenderDistanceSquared) {
                     inRangeSkulls.add(skull);
+                    skull.inRange = true;
                 }
-            }
+            });
+            // TimSort only has to merge a few runs here
             inRangeSkulls.sort(Comparator.comparingInt(Skull::getDistanceSquared));
 
             for (int i = inRangeSkulls.size() - 1; i >= 0; i--) {
@@ -231,8 +259,9 @@ public class SkullCache {
         boolean hadEntity = skull.entity != null;
         freeSkullEntity(skull);
 
-        if (cullingEnabled) {
+        if (cullingEnabled && skull.inRange) {
             inRangeSkulls.remove(skull);
+            skull.inRange = false;
             if (hadEntity && inRangeSkulls.size() >= maxVisibleSkulls) {
                 // Reassign entity to the closest skull without an entity
                 assignSkullEntity(inRangeSkulls.get(maxVisibleSkulls - 1));
@@ -279,5 +308,9 @@ public class SkullCache {
 
         private final Vector3i position;
         private int distanceSquared;
+        /**
+         * If this skull is in {@link SkullCache#inRangeSkulls}
+         */
+        private boolean inRange;
     }
 }
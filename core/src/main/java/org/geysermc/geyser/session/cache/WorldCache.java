@@ -34,7 +34,7 @@ import lombok.Setter;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.SetTitlePacket;
 import org.geysermc.geyser.scoreboard.Scoreboard;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater.ScoreboardSession;
+import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.ChunkUtils;
 
@@ -43,7 +43,7 @@ import java.util.Iterator;
 public final class WorldCache {
     private final GeyserSession session;
     @Getter
-    private final ScoreboardSession scoreboardSession;
+    private final ScoreboardUpdater scoreboardUpdater;
     @Getter
     private Scoreboard scoreboard;
     @Getter
@@ -68,7 +68,7 @@ public final class WorldCache {
     public WorldCache(GeyserSession session) {
         this.session = session;
         this.scoreboard = new Scoreboard(session);
-        scoreboardSession = new ScoreboardSession(session);
+        scoreboardUpdater = new ScoreboardUpdater(session);
         resetTitleTimes(false);
     }
 
@@ -80,9 +80,7 @@ public final class WorldCache {
     }
 
     public int increaseAndGetScoreboardPacketsPerSecond() {
-        int pendingPps = scoreboardSession.getPendingPacketsPerSecond().incrementAndGet();
-        int pps = scoreboardSession.getPacketsPerSecond();
-        return Math.max(pps, pendingPps);
+        return scoreboardUpdater.increaseAndGetPacketsPerSecond();
     }
 
     public void markTitleTimesAsIncorrect() {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.text;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable, compact table of the translation strings of one Java locale.
+ * <p>
+ * Translation keys are shared between all locales: every key is interned once into a global index, and a table only
+ * stores the start and end of each value in a single char store. The char store is memory-mapped from a cache file
+ * built from the locale JSON, so the strings themselves stay off-heap.
+ */
+public final class LocaleTable {
+    private static final int MAGIC = 0x47534C54; // GSLT
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * magic, format version, source stamp, entry count, char count
+     */
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * 2;
+    /**
+     * key start, key length, value start, value length
+     */
+    private static final int ENTRY_SIZE = Integer.BYTES * 4;
+    /**
+     * How many decoded values each table keeps around; must be a power of two
+     */
+    private static final int DECODED_CACHE_SIZE = 256;
+
+    private static final Map<String, Integer> KEY_INDICES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_KEY_INDEX = new AtomicInteger();
+
+    private final int[] valueStarts;
+    private final int[] valueEnds;
+    private final CharBuffer values;
+    /**
+     * Recently looked up values, indexed by the low bits of their key index. Only a few keys (item and entity names)
+     * are looked up over and over, so a small cache avoids decoding them every time without moving the whole locale
+     * onto the heap.
+     */
+    private final DecodedValue[] decoded = new DecodedValue[DECODED_CACHE_SIZE];
+
+    private LocaleTable(int[] valueStarts, int[] valueEnds, CharBuffer values) {
+        this.valueStarts = valueStarts;
+        this.valueEnds = valueEnds;
+        this.values = values;
+    }
+
+    /**
+     * @param key the translation key
+     * @return the translation string for this key, or null if this locale does not contain the key
+     */
+    public @Nullable String get(String key) {
+        Integer index = KEY_INDICES.get(key);
+        if (index == null || index >= valueStarts.length) {
+            return null;
+        }
+        int start = valueStarts[index];
+        if (start == -1) {
+            return null;
+        }
+        int slot = index & (DECODED_CACHE_SIZE - 1);
+        DecodedValue cached = decoded[slot];
+        if (cached != null && cached.index == index) {
+            return cached.value;
+        }
+        // Absolute reads - the buffer position is never changed, so this is safe for concurrent readers.
+        // Cache entries are immutable, so racing threads at worst decode the same value twice.
+        String value = values.subSequence(start, valueEnds[index]).toString();
+        decoded[slot] = new DecodedValue(index, value);
+        return value;
+    }
+
+    /**
+     * Loads a table from the given cache file if it exists and was built from the same source, or builds the table
+     * with the given loader and writes a new cache file.
+     *
+     * @param cacheFile the cache file of this locale
+     * @param sourceStamp identifies the source files the table was built from; a different stamp rebuilds the cache
+     * @param loader parses the source files if the cache is missing or stale
+     * @return the loaded table, or null if the loader found no translation strings
+     */
+    public static @Nullable LocaleTable load(Path cacheFile, long sourceStamp, LangLoader loader) throws IOException {
+        if (Files.isReadable(cacheFile)) {
+            LocaleTable table = map(cacheFile, sourceStamp);
+            if (table != null) {
+                return table;
+            }
+        }
+
+        Map<String, String> langMap = loader.load();
+        if (langMap.isEmpty()) {
+            return null;
+        }
+
+        ByteBuffer encoded = encode(langMap, sourceStamp);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (encoded.hasRemaining()) {
+                    channel.write(encoded);
+                }
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LocaleTable table = map(cacheFile, sourceStamp);
+            if (table != null) {
+                return table;
+            }
+        } catch (IOException ignored) {
+            // The cache file is most likely still mapped by an older table (Windows), use the heap copy instead
+        }
+        return read(encoded.rewind(), sourceStamp);
+    }
+
+    private static @Nullable LocaleTable map(Path cacheFile, long sourceStamp) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, sourceStamp);
+        }
+    }
+
+    private static @Nullable LocaleTable read(ByteBuffer buffer, long sourceStamp) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getLong(8) != sourceStamp) {
+            return null;
+        }
+        int entryCount = buffer.getInt(16);
+        int charCount = buffer.getInt(20);
+        int charsOffset = HEADER_SIZE + entryCount * ENTRY_SIZE;
+        if (buffer.limit() != charsOffset + charCount * Character.BYTES) {
+            return null;
+        }
+
+        CharBuffer chars = buffer.duplicate().position(charsOffset).slice().asCharBuffer().asReadOnlyBuffer();
+
+        int[] keyIndices = new int[entryCount];
+        int maxIndex = -1;
+        for (int i = 0; i < entryCount; i++) {
+            int entryOffset = HEADER_SIZE + i * ENTRY_SIZE;
+            int keyStart = buffer.getInt(entryOffset);
+            int keyLength = buffer.getInt(entryOffset + 4);
+            String key = chars.subSequence(keyStart, keyStart + keyLength).toString();
+            int index = KEY_INDICES.computeIfAbsent(key, k -> NEXT_KEY_INDEX.getAndIncrement());
+            keyIndices[i] = index;
+            maxIndex = Math.max(maxIndex, index);
+        }
+
+        int[] valueStarts = new int[maxIndex + 1];
+        int[] valueEnds = new int[maxIndex + 1];
+        Arrays.fill(valueStarts, -1);
+        for (int i = 0; i < entryCount; i++) {
+            int entryOffset = HEADER_SIZE + i * ENTRY_SIZE;
+            int valueStart = buffer.getInt(entryOffset + 8);
+            valueStarts[keyIndices[i]] = valueStart;
+            valueEnds[keyIndices[i]] = valueStart + buffer.getInt(entryOffset + 12);
+        }
+        return new LocaleTable(valueStarts, valueEnds, chars);
+    }
+
+    private static ByteBuffer encode(Map<String, String> langMap, long sourceStamp) {
+        int charCount = 0;
+        for (Map.Entry<String, String> entry : langMap.entrySet()) {
+            charCount += entry.getKey().length() + entry.getValue().length();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + langMap.size() * ENTRY_SIZE + charCount * Character.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(sourceStamp);
+        buffer.putInt(langMap.size());
+        buffer.putInt(charCount);
+
+        CharBuffer chars = buffer.duplicate().position(HEADER_SIZE + langMap.size() * ENTRY_SIZE).slice().asCharBuffer();
+        for (Map.Entry<String, String> entry : langMap.entrySet()) {
+            buffer.putInt(chars.position());
+            buffer.putInt(entry.getKey().length());
+            chars.put(entry.getKey());
+            buffer.putInt(chars.position());
+            buffer.putInt(entry.getValue().length());
+            chars.put(entry.getValue());
+        }
+        return buffer.rewind();
+    }
+
+    private record DecodedValue(int index, String value) {
+    }
+
+    @FunctionalInterface
+    public interface LangLoader {
+        Map<String, String> load();
+    }
+}
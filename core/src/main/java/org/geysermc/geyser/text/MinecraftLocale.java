@@ -28,6 +28,9 @@ package org.geysermc.geyser.text;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
+import org.geysermc.geyser.translator.protocol.java.JavaUpdateRecipesTranslator;
+import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.AssetUtils;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
@@ -40,12 +43,27 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MinecraftLocale {
 
-    public static final Map<String, Map<String, String>> LOCALE_MAPPINGS = new HashMap<>();
+    /**
+     * Loaded locale tables, keyed by the lowercase Bedrock locale. Tables are immutable once published.
+     */
+    private static final Map<String, LocaleTable> LOCALE_TABLES = new ConcurrentHashMap<>();
+    /**
+     * Locales that are currently being downloaded and/or loaded, so concurrent joins only load a locale once.
+     */
+    private static final Map<String, CompletableFuture<Void>> LOADING_LOCALES = new ConcurrentHashMap<>();
+    /**
+     * Loaded tables keyed by the locale strings clients sent, so lookups don't need to lowercase every time.
+     * Only strings that resolve to a loaded table are added, so this is bounded by the case variants of loaded locales.
+     */
+    private static final Map<String, LocaleTable> CLIENT_LOCALE_TABLES = new ConcurrentHashMap<>();
 
     private static final Path LOCALE_FOLDER = GeyserImpl.getInstance().getBootstrap().getConfigFolder().resolve("locales");
+    private static final Path LOCALE_CACHE_FOLDER = LOCALE_FOLDER.resolve("cache");
 
     static {
         try {
@@ -69,18 +87,30 @@ public class MinecraftLocale {
     }
 
     /**
-     * Downloads a locale from Mojang if it's not already loaded
+     * Downloads a locale from Mojang if it's not already loaded. The download and loading happens asynchronously,
+     * and concurrent requests for the same locale share the same task.
      *
      * @param locale Locale to download and load
+     * @return a future that completes once the locale has been loaded, or failed to load
      */
-    public static void downloadAndLoadLocale(String locale) {
-        locale = locale.toLowerCase(Locale.ROOT);
+    public static CompletableFuture<Void> downloadAndLoadLocale(String locale) {
+        String lowercaseLocale = locale.toLowerCase(Locale.ROOT);
 
-        if (isLocaleLoaded(locale)) {
-            GeyserImpl.getInstance().getLogger().debug("Locale already loaded: " + locale);
-            return;
+        if (isLocaleLoaded(lowercaseLocale)) {
+            GeyserImpl.getInstance().getLogger().debug("Locale already loaded: " + lowercaseLocale);
+            return CompletableFuture.completedFuture(null);
         }
 
+        return LOADING_LOCALES.computeIfAbsent(lowercaseLocale, l -> CompletableFuture.runAsync(() -> {
+            try {
+                downloadAndLoadLocale0(l);
+            } finally {
+                LOADING_LOCALES.remove(l);
+            }
+        }));
+    }
+
+    private static void downloadAndLoadLocale0(String locale) {
         if (locale.equals("nb_no")) {
             // Different locale code - https://minecraft.wiki/w/Language
             locale = "no_no";
@@ -158,24 +188,55 @@ public class MinecraftLocale {
             lowercaseLocale = "nb_no";
         }
 
-        Map<String, String> langMap = new HashMap<>();
-        if (Files.exists(localeFile) && Files.isReadable(localeFile)) {
-            langMap.putAll(parseLangFile(localeFile, lowercaseLocale));
-        }
-
-        // Load the locale overwrites
-        if (Files.exists(localeOverride) && Files.isReadable(localeOverride)) {
-            langMap.putAll(parseLangFile(localeOverride, lowercaseLocale));
+        String storedLocale = lowercaseLocale;
+        LocaleTable table;
+        try {
+            table = LocaleTable.load(LOCALE_CACHE_FOLDER.resolve(lowercaseLocale + ".bin"), sourceStamp(localeFile, localeOverride), () -> {
+                Map<String, String> langMap = new HashMap<>();
+                if (Files.exists(localeFile) && Files.isReadable(localeFile)) {
+                    langMap.putAll(parseLangFile(localeFile, storedLocale));
+                }
+
+                // Load the locale overwrites
+                if (Files.exists(localeOverride) && Files.isReadable(localeOverride)) {
+                    langMap.putAll(parseLangFile(localeOverride, storedLocale));
+                }
+                return langMap;
+            });
+        } catch (IOException e) {
+            GeyserImpl.getInstance().getLogger().error("Unable to load locale " + lowercaseLocale, e);
+            return false;
         }
 
-        if (!langMap.isEmpty()) {
-            LOCALE_MAPPINGS.put(lowercaseLocale, langMap);
+        if (table != null) {
+            LOCALE_TABLES.put(lowercaseLocale, table);
+            CLIENT_LOCALE_TABLES.clear();
+            // Messages may have been converted with fallback strings before this locale was available
+            MessageTranslator.invalidateConversionCache();
+            ItemTranslator.invalidateItemCache();
+            JavaUpdateRecipesTranslator.invalidateRecipeCache();
             return true;
         } else {
             return false;
         }
     }
 
+    /**
+     * Identifies the current state of the locale file and its override, so stale cache files are rebuilt.
+     */
+    private static long sourceStamp(Path localeFile, Path localeOverride) throws IOException {
+        long stamp = 1;
+        for (Path path : new Path[] {localeFile, localeOverride}) {
+            if (Files.exists(path)) {
+                stamp = 31 * stamp + Files.getLastModifiedTime(path).toMillis();
+                stamp = 31 * stamp + Files.size(path);
+            } else {
+                stamp = 31 * stamp;
+            }
+        }
+        return stamp;
+    }
+
     /**
      * Load and parse a json lang file.
      *
@@ -212,9 +273,9 @@ public class MinecraftLocale {
      * @return Translated string or the original message if it was not found in the given locale
      */
     public static String getLocaleString(String messageText, String locale) {
-        Map<String, String> localeStrings = LOCALE_MAPPINGS.get(locale.toLowerCase(Locale.ROOT));
+        LocaleTable localeStrings = getTable(locale);
         if (localeStrings == null) {
-            localeStrings = LOCALE_MAPPINGS.get(GeyserLocale.getDefaultLocale());
+            localeStrings = getTable(GeyserLocale.getDefaultLocale());
             if (localeStrings == null) {
                 // Don't cause a NPE if the locale is STILL missing
                 GeyserImpl.getInstance().getLogger().debug("MISSING DEFAULT LOCALE: " + GeyserLocale.getDefaultLocale());
@@ -222,7 +283,8 @@ public class MinecraftLocale {
             }
         }
 
-        return localeStrings.getOrDefault(messageText, messageText);
+        String localeString = localeStrings.get(messageText);
+        return localeString != null ? localeString : messageText;
     }
 
     /**
@@ -233,7 +295,7 @@ public class MinecraftLocale {
      * @return Translated string or null if it was not found in the given locale
      */
     public static @Nullable String getLocaleStringIfPresent(String messageText, String locale) {
-        Map<String, String> localeStrings = LOCALE_MAPPINGS.get(locale.toLowerCase(Locale.ROOT));
+        LocaleTable localeStrings = getTable(locale);
         if (localeStrings != null) {
             return localeStrings.get(messageText);
         }
@@ -248,7 +310,18 @@ public class MinecraftLocale {
      * @return true if the locale has been loaded
      */
     public static boolean isLocaleLoaded(String locale) {
-        return LOCALE_MAPPINGS.containsKey(locale.toLowerCase(Locale.ROOT));
+        return getTable(locale) != null;
+    }
+
+    private static @Nullable LocaleTable getTable(String locale) {
+        LocaleTable table = CLIENT_LOCALE_TABLES.get(locale);
+        if (table == null) {
+            table = LOCALE_TABLES.get(locale.toLowerCase(Locale.ROOT));
+            if (table != null) {
+                CLIENT_LOCALE_TABLES.put(locale, table);
+            }
+        }
+        return table;
     }
 
     /**
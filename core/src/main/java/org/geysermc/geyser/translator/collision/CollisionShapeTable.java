@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.collision;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.physics.Axis;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.geysermc.geyser.level.physics.CollisionManager;
+
+/**
+ * A flattened copy of every {@link BlockCollision}, indexed by Java block state.
+ * <p>
+ * The boxes of all block states are packed into one {@code double[]}, six values per box (middle X, Y, Z followed by
+ * size X, Y, Z, the same values as {@link BoundingBox}), so that the collision sweep can run over a block without
+ * allocating or dispatching. Block states whose collision class changes the position correction are marked with
+ * {@link #FLAG_CUSTOM_CORRECTION}; only those still need their {@link BlockCollision} instance.
+ */
+public final class CollisionShapeTable {
+    /**
+     * The {@link BlockCollision} of this block state overrides {@link BlockCollision#beforeCorrectPosition} or
+     * {@link BlockCollision#correctPosition}, e.g. snow, doors and dirt paths.
+     */
+    public static final int FLAG_CUSTOM_CORRECTION = 1;
+    /**
+     * The block state is scaffolding, which players can move through.
+     */
+    public static final int FLAG_SCAFFOLDING = 1 << 1;
+
+    private static final int BOX_SIZE = 6;
+    /**
+     * See {@link BlockCollision#pushAwayTolerance}
+     */
+    private static final double PUSH_AWAY_TOLERANCE = CollisionManager.COLLISION_TOLERANCE * 1.1;
+
+    /**
+     * The first box of each block state; the boxes of block state {@code i} end where those of {@code i + 1} start.
+     */
+    private final int[] boxStarts;
+    private final double[] boxes;
+    private final int[] flags;
+    private final BlockCollision[] collisions;
+
+    private CollisionShapeTable(int[] boxStarts, double[] boxes, int[] flags, BlockCollision[] collisions) {
+        this.boxStarts = boxStarts;
+        this.boxes = boxes;
+        this.flags = flags;
+        this.collisions = collisions;
+    }
+
+    public static CollisionShapeTable of(Int2ObjectMap<BlockCollision> collisionMap, int blockStateCount) {
+        BlockCollision[] collisions = new BlockCollision[blockStateCount];
+        int[] flags = new int[blockStateCount];
+        int[] boxStarts = new int[blockStateCount + 1];
+        int boxCount = 0;
+        for (int i = 0; i < blockStateCount; i++) {
+            BlockCollision collision = collisionMap.get(i);
+            boxStarts[i] = boxCount;
+            if (collision == null) {
+                continue;
+            }
+            collisions[i] = collision;
+            boxCount += collision.getBoundingBoxes().length;
+
+            Class<?> type = collision.getClass();
+            if (type != BlockCollision.class && type != SolidCollision.class && type != OtherCollision.class) {
+                flags[i] |= FLAG_CUSTOM_CORRECTION;
+            }
+            if (collision instanceof ScaffoldingCollision) {
+                flags[i] |= FLAG_SCAFFOLDING;
+            }
+        }
+        boxStarts[blockStateCount] = boxCount;
+
+        double[] boxes = new double[boxCount * BOX_SIZE];
+        int index = 0;
+        for (BlockCollision collision : collisions) {
+            if (collision == null) {
+                continue;
+            }
+            for (BoundingBox box : collision.getBoundingBoxes()) {
+                boxes[index++] = box.getMiddleX();
+                boxes[index++] = box.getMiddleY();
+                boxes[index++] = box.getMiddleZ();
+                boxes[index++] = box.getSizeX();
+                boxes[index++] = box.getSizeY();
+                boxes[index++] = box.getSizeZ();
+            }
+        }
+        return new CollisionShapeTable(boxStarts, boxes, flags, collisions);
+    }
+
+    /**
+     * @return true if this block state has no collision
+     */
+    public boolean isEmpty(int blockId) {
+        return !isValid(blockId) || boxStarts[blockId] == boxStarts[blockId + 1];
+    }
+
+    public int getFlags(int blockId) {
+        return isValid(blockId) ? flags[blockId] : 0;
+    }
+
+    /**
+     * @return the collision of this block state, only needed if the block state has {@link #FLAG_CUSTOM_CORRECTION}
+     */
+    public @Nullable BlockCollision getCollision(int blockId) {
+        return isValid(blockId) ? collisions[blockId] : null;
+    }
+
+    /**
+     * Equivalent to {@link BlockCollision#checkIntersection(double, double, double, BoundingBox)}.
+     */
+    public boolean checkIntersection(int blockId, double x, double y, double z, BoundingBox playerCollision) {
+        if (!isValid(blockId)) {
+            return false;
+        }
+        double playerMiddleX = playerCollision.getMiddleX();
+        double playerMiddleY = playerCollision.getMiddleY();
+        double playerMiddleZ = playerCollision.getMiddleZ();
+        double playerSizeX = playerCollision.getSizeX();
+        double playerSizeY = playerCollision.getSizeY();
+        double playerSizeZ = playerCollision.getSizeZ();
+
+        double[] boxes = this.boxes;
+        int end = boxStarts[blockId + 1] * BOX_SIZE;
+        for (int i = boxStarts[blockId] * BOX_SIZE; i < end; i += BOX_SIZE) {
+            if (Math.abs((boxes[i] + x) - playerMiddleX) * 2 < (boxes[i + 3] + playerSizeX)
+                    && Math.abs((boxes[i + 1] + y) - playerMiddleY) * 2 < (boxes[i + 4] + playerSizeY)
+                    && Math.abs((boxes[i + 2] + z) - playerMiddleZ) * 2 < (boxes[i + 5] + playerSizeZ)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Equivalent to {@link BlockCollision#computeCollisionOffset(double, double, double, BoundingBox, Axis, double)},
+     * without allocating.
+     */
+    public double computeCollisionOffset(int blockId, double x, double y, double z, BoundingBox boundingBox, Axis axis, double offset) {
+        if (!isValid(blockId)) {
+            return offset;
+        }
+        double middleX = boundingBox.getMiddleX();
+        double middleY = boundingBox.getMiddleY();
+        double middleZ = boundingBox.getMiddleZ();
+        double sizeX = boundingBox.getSizeX();
+        double sizeY = boundingBox.getSizeY();
+        double sizeZ = boundingBox.getSizeZ();
+
+        // The moving axis of the bounding box and of the blocks
+        int axisIndex = axis.ordinal();
+        double middle = axisIndex == 0 ? middleX : axisIndex == 1 ? middleY : middleZ;
+        double halfSize = (axisIndex == 0 ? sizeX : axisIndex == 1 ? sizeY : sizeZ) / 2;
+        double blockOffset = axisIndex == 0 ? x : axisIndex == 1 ? y : z;
+
+        double[] boxes = this.boxes;
+        int end = boxStarts[blockId + 1] * BOX_SIZE;
+        for (int i = boxStarts[blockId] * BOX_SIZE; i < end; i += BOX_SIZE) {
+            // Make sure that the boxes overlap in the other axes
+            boolean overlapX = axisIndex == 0 || Math.abs((boxes[i] + x) - middleX) * 2 < (boxes[i + 3] + sizeX);
+            boolean overlapY = axisIndex == 1 || Math.abs((boxes[i + 1] + y) - middleY) * 2 < (boxes[i + 4] + sizeY);
+            boolean overlapZ = axisIndex == 2 || Math.abs((boxes[i + 2] + z) - middleZ) * 2 < (boxes[i + 5] + sizeZ);
+            if (overlapX && overlapY && overlapZ) {
+                double boxMiddle = boxes[i + axisIndex];
+                double boxHalfSize = boxes[i + 3 + axisIndex] / 2;
+                if (offset > 0) {
+                    double distance = ((boxMiddle - boxHalfSize) + blockOffset) - (middle + halfSize);
+                    if (distance >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
+                        offset = Math.min(distance, offset);
+                    }
+                } else if (offset < 0) {
+                    double distance = ((boxMiddle + boxHalfSize) + blockOffset) - (middle - halfSize);
+                    if (-distance >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
+                        offset = Math.max(distance, offset);
+                    }
+                }
+            }
+            if (Math.abs(offset) < CollisionManager.COLLISION_TOLERANCE) {
+                return 0;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Equivalent to {@link BlockCollision#correctPosition} for block states without {@link #FLAG_CUSTOM_CORRECTION}.
+     */
+    public void correctPosition(int blockId, int x, int y, int z, BoundingBox playerCollision) {
+        if (!isValid(blockId)) {
+            return;
+        }
+        double playerMinY = playerCollision.getMiddleY() - (playerCollision.getSizeY() / 2);
+        double[] boxes = this.boxes;
+        int end = boxStarts[blockId + 1] * BOX_SIZE;
+        for (int i = boxStarts[blockId] * BOX_SIZE; i < end; i += BOX_SIZE) {
+            double boxMiddleX = boxes[i];
+            double boxMiddleY = boxes[i + 1];
+            double boxMiddleZ = boxes[i + 2];
+            double boxSizeX = boxes[i + 3];
+            double boxSizeY = boxes[i + 4];
+            double boxSizeZ = boxes[i + 5];
+
+            double boxMinY = (boxMiddleY + y) - (boxSizeY / 2);
+            double boxMaxY = (boxMiddleY + y) + (boxSizeY / 2);
+            // BlockCollision#pushUpTolerance is always 1 without a custom correction
+            if (intersects(i, x, y, z, playerCollision) && (playerMinY + 1) >= boxMinY) {
+                // Max steppable distance in Minecraft as far as we know is 0.5625 blocks (for beds)
+                if (boxMaxY - playerMinY <= 0.5625) {
+                    playerCollision.translate(0, boxMaxY - playerMinY, 0);
+                    // Update player Y for next collision box
+                    playerMinY = playerCollision.getMiddleY() - (playerCollision.getSizeY() / 2);
+                }
+            }
+
+            // Make player collision slightly bigger to pick up on blocks that could cause problems with Passable
+            playerCollision.setSizeX(playerCollision.getSizeX() + CollisionManager.COLLISION_TOLERANCE * 2);
+            playerCollision.setSizeZ(playerCollision.getSizeZ() + CollisionManager.COLLISION_TOLERANCE * 2);
+
+            // If the player still intersects the block, then push them out
+            if (intersects(i, x, y, z, playerCollision)) {
+                double relativeX = playerCollision.getMiddleX() - x;
+                double relativeY = playerCollision.getMiddleY() - y;
+                double relativeZ = playerCollision.getMiddleZ() - z;
+                double playerSizeX = playerCollision.getSizeX();
+                double playerSizeY = playerCollision.getSizeY();
+                double playerSizeZ = playerCollision.getSizeZ();
+
+                // The ULP should give an upper bound on the floating point error
+                double xULP = Math.ulp((float) Math.max(Math.abs(playerCollision.getMiddleX()) + playerSizeX / 2.0, Math.abs(x) + 1));
+                double zULP = Math.ulp((float) Math.max(Math.abs(playerCollision.getMiddleZ()) + playerSizeZ / 2.0, Math.abs(z) + 1));
+
+                double xPushAwayTolerance = Math.max(PUSH_AWAY_TOLERANCE, xULP);
+                double zPushAwayTolerance = Math.max(PUSH_AWAY_TOLERANCE, zULP);
+
+                double northFaceZPos = boxMiddleZ - (boxSizeZ / 2);
+                double translateDistance = northFaceZPos - relativeZ - (playerSizeZ / 2);
+                if (Math.abs(translateDistance) < zPushAwayTolerance) {
+                    playerCollision.translate(0, 0, translateDistance);
+                }
+
+                double southFaceZPos = boxMiddleZ + (boxSizeZ / 2);
+                translateDistance = southFaceZPos - relativeZ + (playerSizeZ / 2);
+                if (Math.abs(translateDistance) < zPushAwayTolerance) {
+                    playerCollision.translate(0, 0, translateDistance);
+                }
+
+                double eastFaceXPos = boxMiddleX + (boxSizeX / 2);
+                translateDistance = eastFaceXPos - relativeX + (playerSizeX / 2);
+                if (Math.abs(translateDistance) < xPushAwayTolerance) {
+                    playerCollision.translate(translateDistance, 0, 0);
+                }
+
+                double westFaceXPos = boxMiddleX - (boxSizeX / 2);
+                translateDistance = westFaceXPos - relativeX - (playerSizeX / 2);
+                if (Math.abs(translateDistance) < xPushAwayTolerance) {
+                    playerCollision.translate(translateDistance, 0, 0);
+                }
+
+                double bottomFaceYPos = boxMiddleY - (boxSizeY / 2);
+                translateDistance = bottomFaceYPos - relativeY - (playerSizeY / 2);
+                if (Math.abs(translateDistance) < PUSH_AWAY_TOLERANCE) {
+                    playerCollision.translate(0, translateDistance, 0);
+                }
+            }
+
+            // Set the collision size back to normal
+            playerCollision.setSizeX(0.6);
+            playerCollision.setSizeZ(0.6);
+        }
+    }
+
+    private boolean intersects(int boxIndex, int x, int y, int z, BoundingBox playerCollision) {
+        double[] boxes = this.boxes;
+        return Math.abs((boxes[boxIndex] + x) - playerCollision.getMiddleX()) * 2 < (boxes[boxIndex + 3] + playerCollision.getSizeX())
+                && Math.abs((boxes[boxIndex + 1] + y) - playerCollision.getMiddleY()) * 2 < (boxes[boxIndex + 4] + playerCollision.getSizeY())
+                && Math.abs((boxes[boxIndex + 2] + z) - playerCollision.getMiddleZ()) * 2 < (boxes[boxIndex + 5] + playerCollision.getSizeZ());
+    }
+
+    private boolean isValid(int blockId) {
+        return blockId >= 0 && blockId < flags.length;
+    }
+}
@@ -156,6 +156,8 @@ public abstract class InventoryTranslator {
     }
 
     public final void translateRequests(GeyserSession session, Inventory inventory, List<ItemStackRequest> requests) {
+        // The client has already applied these requests to its own inventory
+        session.getInventorySlotTracker().invalidateAll();
         boolean refresh = false;
         ItemStackResponsePacket responsePacket = new ItemStackResponsePacket();
         for (ItemStackRequest request : requests) {
@@ -180,6 +182,9 @@ public abstract class InventoryTranslator {
             }
 
             if (response.getResult() != ItemStackResponseStatus.OK) {
+                // The client already applied the rejected request to every container it touched, including any slot
+                // sent for an earlier request in this batch, so nothing it shows is known anymore
+                session.getInventorySlotTracker().invalidateAll();
                 // Sync our copy of the inventory with Bedrock's to prevent desyncs
                 refresh = true;
             }
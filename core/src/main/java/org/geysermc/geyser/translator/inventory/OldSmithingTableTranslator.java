@@ -37,7 +37,6 @@ import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.request.action
 import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.request.action.SwapAction;
 import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.request.action.TakeAction;
 import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.response.ItemStackResponse;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.inventory.BedrockContainerSlot;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.inventory.updater.UIInventoryUpdater;
@@ -138,10 +137,6 @@ public class OldSmithingTableTranslator extends AbstractBlockInventoryTranslator
 
         // pre-1.20 server has no concept of templates, but we are working with a 1.20 client
         // put a fake netherite upgrade template in the template slot otherwise the client doesn't recognize a valid recipe
-        InventorySlotPacket slotPacket = new InventorySlotPacket();
-        slotPacket.setContainerId(ContainerId.UI);
-        slotPacket.setSlot(53);
-        slotPacket.setItem(UPGRADE_TEMPLATE.apply(session.getUpstream().getProtocolVersion()));
-        session.sendUpstreamPacket(slotPacket);
+        session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, 53, UPGRADE_TEMPLATE.apply(session.getUpstream().getProtocolVersion()));
     }
 }
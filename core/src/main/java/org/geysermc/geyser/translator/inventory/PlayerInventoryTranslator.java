@@ -46,8 +46,6 @@ import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.request.action
 import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.response.ItemStackResponse;
 import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket;
 import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket;
-import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.inventory.*;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.session.GeyserSession;
@@ -56,8 +54,6 @@ import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.translator.inventory.item.ItemTranslator;
 import org.geysermc.geyser.util.InventoryUtils;
 
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.function.IntFunction;
 
 public class PlayerInventoryTranslator extends InventoryTranslator {
@@ -76,8 +72,6 @@ public class PlayerInventoryTranslator extends InventoryTranslator {
     public void updateInventory(GeyserSession session, Inventory inventory) {
         updateCraftingGrid(session, inventory);
 
-        InventoryContentPacket inventoryContentPacket = new InventoryContentPacket();
-        inventoryContentPacket.setContainerId(ContainerId.INVENTORY);
         ItemData[] contents = new ItemData[36];
         // Inventory
         for (int i = 9; i < 36; i++) {
@@ -87,12 +81,9 @@ public class PlayerInventoryTranslator extends InventoryTranslator {
         for (int i = 36; i < 45; i++) {
             contents[i - 36] = inventory.getItem(i).getItemData(session);
         }
-        inventoryContentPacket.setContents(Arrays.asList(contents));
-        session.sendUpstreamPacket(inventoryContentPacket);
+        session.getInventorySlotTracker().sendContents(session, ContainerId.INVENTORY, contents);
 
         // Armor
-        InventoryContentPacket armorContentPacket = new InventoryContentPacket();
-        armorContentPacket.setContainerId(ContainerId.ARMOR);
         contents = new ItemData[4];
         for (int i = 5; i < 9; i++) {
             GeyserItemStack item = inventory.getItem(i);
@@ -103,14 +94,10 @@ public class PlayerInventoryTranslator extends InventoryTranslator {
                 FakeHeadProvider.setHead(session, session.getPlayerEntity(), item.getNbt().get("SkullOwner"));
             }
         }
-        armorContentPacket.setContents(Arrays.asList(contents));
-        session.sendUpstreamPacket(armorContentPacket);
+        session.getInventorySlotTracker().sendContents(session, ContainerId.ARMOR, contents);
 
         // Offhand
-        InventoryContentPacket offhandPacket = new InventoryContentPacket();
-        offhandPacket.setContainerId(ContainerId.OFFHAND);
-        offhandPacket.setContents(Collections.singletonList(inventory.getItem(45).getItemData(session)));
-        session.sendUpstreamPacket(offhandPacket);
+        session.getInventorySlotTracker().sendContents(session, ContainerId.OFFHAND, new ItemData[] {inventory.getItem(45).getItemData(session)});
     }
 
     /**
@@ -121,17 +108,14 @@ public class PlayerInventoryTranslator extends InventoryTranslator {
     public static void updateCraftingGrid(GeyserSession session, Inventory inventory) {
         // Crafting grid
         for (int i = 1; i < 5; i++) {
-            InventorySlotPacket slotPacket = new InventorySlotPacket();
-            slotPacket.setContainerId(ContainerId.UI);
-            slotPacket.setSlot(i + 27);
-
+            ItemData item;
             if (session.getGameMode() == GameMode.CREATIVE) {
-                slotPacket.setItem(UNUSUABLE_CRAFTING_SPACE_BLOCK.apply(session.getUpstream().getProtocolVersion()));
+                item = UNUSUABLE_CRAFTING_SPACE_BLOCK.apply(session.getUpstream().getProtocolVersion());
             } else {
-                slotPacket.setItem(ItemTranslator.translateToBedrock(session, inventory.getItem(i).getItemStack()));
+                item = ItemTranslator.translateToBedrock(session, inventory.getItem(i).getItemStack());
             }
 
-            session.sendUpstreamPacket(slotPacket);
+            session.getInventorySlotTracker().sendSlotIfChanged(session, ContainerId.UI, i + 27, item);
         }
     }
 
@@ -151,28 +135,25 @@ public class PlayerInventoryTranslator extends InventoryTranslator {
         }
 
         if (slot >= 1 && slot <= 44) {
-            InventorySlotPacket slotPacket = new InventorySlotPacket();
+            int containerId;
+            int bedrockSlot;
             if (slot >= 9) {
-                slotPacket.setContainerId(ContainerId.INVENTORY);
+                containerId = ContainerId.INVENTORY;
                 if (slot >= 36) {
-                    slotPacket.setSlot(slot - 36);
+                    bedrockSlot = slot - 36;
                 } else {
-                    slotPacket.setSlot(slot);
+                    bedrockSlot = slot;
                 }
             } else if (slot >= 5) {
-                slotPacket.setContainerId(ContainerId.ARMOR);
-                slotPacket.setSlot(slot - 5);
+                containerId = ContainerId.ARMOR;
+                bedrockSlot = slot - 5;
             } else {
-                slotPacket.setContainerId(ContainerId.UI);
-                slotPacket.setSlot(slot + 27);
+                containerId = ContainerId.UI;
+                bedrockSlot = slot + 27;
             }
-            slotPacket.setItem(bedrockItem);
-            session.sendUpstreamPacket(slotPacket);
+            session.getInventorySlotTracker().sendSlot(session, containerId, bedrockSlot, bedrockItem);
         } else if (slot == 45) {
-            InventoryContentPacket offhandPacket = new InventoryContentPacket();
-            offhandPacket.setContainerId(ContainerId.OFFHAND);
-            offhandPacket.setContents(Collections.singletonList(bedrockItem));
-            session.sendUpstreamPacket(offhandPacket);
+            session.getInventorySlotTracker().sendContents(session, ContainerId.OFFHAND, new ItemData[] {bedrockItem});
         }
     }
 
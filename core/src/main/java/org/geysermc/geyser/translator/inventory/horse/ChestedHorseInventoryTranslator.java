@@ -29,13 +29,10 @@ import org.cloudburstmc.protocol.bedrock.data.inventory.ContainerId;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ContainerSlotType;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.cloudburstmc.protocol.bedrock.data.inventory.itemstack.request.ItemStackRequestSlotData;
-import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
 import org.geysermc.geyser.inventory.BedrockContainerSlot;
 import org.geysermc.geyser.inventory.Inventory;
 import org.geysermc.geyser.session.GeyserSession;
 
-import java.util.Arrays;
-
 public abstract class ChestedHorseInventoryTranslator extends AbstractHorseInventoryTranslator {
     private final int chestSize;
     private final int equipSlot;
@@ -91,10 +88,7 @@ public abstract class ChestedHorseInventoryTranslator extends AbstractHorseInven
             final int offset = i < 9 ? 27 : -9;
             bedrockItems[i] = inventory.getItem(this.size + i + offset).getItemData(session);
         }
-        InventoryContentPacket contentPacket = new InventoryContentPacket();
-        contentPacket.setContainerId(ContainerId.INVENTORY);
-        contentPacket.setContents(Arrays.asList(bedrockItems));
-        session.sendUpstreamPacket(contentPacket);
+        session.getInventorySlotTracker().sendContents(session, ContainerId.INVENTORY, bedrockItems);
 
         ItemData[] horseItems = new ItemData[chestSize + 1];
         // Manually specify the first slot - Java always has two slots (armor and saddle) and one is invisible.
@@ -104,9 +98,6 @@ public abstract class ChestedHorseInventoryTranslator extends AbstractHorseInven
             horseItems[i] = inventory.getItem(i + 1).getItemData(session);
         }
 
-        InventoryContentPacket horseContentsPacket = new InventoryContentPacket();
-        horseContentsPacket.setContainerId(inventory.getBedrockId());
-        horseContentsPacket.setContents(Arrays.asList(horseItems));
-        session.sendUpstreamPacket(horseContentsPacket);
+        session.getInventorySlotTracker().sendContents(session, inventory.getBedrockId(), horseItems);
     }
 }
@@ -28,16 +28,10 @@ package org.geysermc.geyser.translator.inventory.item;
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.IntTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
-import it.unimi.dsi.fastutil.Pair;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
-import org.geysermc.geyser.api.item.custom.CustomItemOptions;
-import org.geysermc.geyser.api.util.TriState;
 import org.geysermc.geyser.registry.type.ItemMapping;
 
-import java.util.List;
-import java.util.OptionalInt;
-
 /**
  * This is only a separate class for testing purposes so we don't have to load in GeyserImpl in ItemTranslator.
  */
@@ -48,8 +42,7 @@ public final class CustomItemTranslator {
         if (nbt == null) {
             return null;
         }
-        List<Pair<CustomItemOptions, ItemDefinition>> customMappings = mapping.getCustomItemOptions();
-        if (customMappings.isEmpty()) {
+        if (mapping.getCustomItemOptions().isEmpty()) {
             return null;
         }
 
@@ -58,49 +51,9 @@ public final class CustomItemTranslator {
         int damage = !checkDamage ? 0 : nbt.get("Damage") instanceof IntTag damageTag ? damageTag.getValue() : 0;
         boolean unbreakable = checkDamage && !isDamaged(nbt, damage);
 
-        for (Pair<CustomItemOptions, ItemDefinition> mappingTypes : customMappings) {
-            CustomItemOptions options = mappingTypes.key();
-
-            // Code note: there may be two or more conditions that a custom item must follow, hence the "continues"
-            // here with the return at the end.
-
-            // Implementation details: Java's predicate system works exclusively on comparing float numbers.
-            // A value doesn't necessarily have to match 100%; it just has to be the first to meet all predicate conditions.
-            // This is also why the order of iteration is important as the first to match will be the chosen display item.
-            // For example, if CustomModelData is set to 2f as the requirement, then the NBT can be any number greater or equal (2, 3, 4...)
-            // The same behavior exists for Damage (in fraction form instead of whole numbers),
-            // and Damaged/Unbreakable handles no damage as 0f and damaged as 1f.
-
-            if (checkDamage) {
-                if (unbreakable && options.unbreakable() == TriState.FALSE) {
-                    continue;
-                }
-
-                OptionalInt damagePredicate = options.damagePredicate();
-                if (damagePredicate.isPresent() && damage < damagePredicate.getAsInt()) {
-                    continue;
-                }
-            } else {
-                if (options.unbreakable() != TriState.NOT_SET || options.damagePredicate().isPresent()) {
-                    // These will never match on this item. 1.19.2 behavior
-                    // Maybe move this to CustomItemRegistryPopulator since it'll be the same for every item? If so, add a test.
-                    continue;
-                }
-            }
-
-            OptionalInt customModelDataOption = options.customModelData();
-            if (customModelDataOption.isPresent() && customModelData < customModelDataOption.getAsInt()) {
-                continue;
-            }
-
-            if (options.defaultItem()) {
-                return null;
-            }
-
-            return mappingTypes.value();
-        }
-
-        return null;
+        // The options are compiled in order at registration; the first option to meet all predicate conditions is
+        // the chosen display item. See CustomItemSelector for the matching rules.
+        return mapping.getCustomItemSelector().select(customModelData, damage, unbreakable);
     }
 
     /* These two functions are based off their Mojmap equivalents from 1.19.2 */
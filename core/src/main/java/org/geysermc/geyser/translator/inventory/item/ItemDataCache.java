@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.inventory.item;
+
+import com.github.steveice10.opennbt.tag.builtin.ByteArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.LongArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.item.type.CompassItem;
+import org.geysermc.geyser.item.type.Item;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches translated Bedrock items, shared between all sessions. Chests, GUIs and equipment mostly consist of the same
+ * stacks, so the NBT cloning, lore building and display name translation only has to happen once per distinct stack.
+ * <p>
+ * Cached items never contain a net ID; that is added by the caller for each session. Custom skulls only depend on
+ * the item mappings, which are part of the key.
+ */
+final class ItemDataCache {
+    private static final Cache<Key, ItemData> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(8192)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    private ItemDataCache() {
+    }
+
+    /**
+     * @return if the translation of this item only depends on the values stored in the key
+     */
+    static boolean isCacheable(Item javaItem) {
+        // Lodestone compasses are registered in the session's lodestone cache during translation
+        return !(javaItem instanceof CompassItem);
+    }
+
+    static Key key(GeyserSession session, int javaId, int count, @Nullable CompoundTag tag) {
+        return new Key(javaId, count, tag, session.locale().toLowerCase(Locale.ROOT), session.isAdvancedTooltips(), session.getItemMappings());
+    }
+
+    static @Nullable ItemData get(Key key) {
+        return CACHE.getIfPresent(key);
+    }
+
+    static void put(Key key, ItemData itemData) {
+        // The lookup key references the live NBT of the stack, which may still be changed by the caller
+        CACHE.put(key.detach(), itemData);
+    }
+
+    static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    static CacheStats stats() {
+        return CACHE.stats();
+    }
+
+    static long size() {
+        return CACHE.size();
+    }
+
+    static final class Key {
+        private final int javaId;
+        private final int count;
+        private final @Nullable CompoundTag tag;
+        private final String locale;
+        private final boolean advancedTooltips;
+        private final ItemMappings mappings;
+        private final int hashCode;
+
+        private Key(int javaId, int count, @Nullable CompoundTag tag, String locale, boolean advancedTooltips, ItemMappings mappings) {
+            this(javaId, count, tag, locale, advancedTooltips, mappings, computeHashCode(javaId, count, tag, locale, advancedTooltips, mappings));
+        }
+
+        private Key(int javaId, int count, @Nullable CompoundTag tag, String locale, boolean advancedTooltips, ItemMappings mappings, int hashCode) {
+            this.javaId = javaId;
+            this.count = count;
+            this.tag = tag;
+            this.locale = locale;
+            this.advancedTooltips = advancedTooltips;
+            this.mappings = mappings;
+            this.hashCode = hashCode;
+        }
+
+        private Key detach() {
+            return new Key(javaId, count, tag != null ? tag.clone() : null, locale, advancedTooltips, mappings, hashCode);
+        }
+
+        private static int computeHashCode(int javaId, int count, @Nullable CompoundTag tag, String locale, boolean advancedTooltips, ItemMappings mappings) {
+            int result = javaId;
+            result = 31 * result + count;
+            result = 31 * result + (tag != null ? hashTag(tag) : 0);
+            result = 31 * result + locale.hashCode();
+            result = 31 * result + (advancedTooltips ? 1 : 0);
+            // Item mappings are compared by identity; their own equals compares every mapping
+            result = 31 * result + System.identityHashCode(mappings);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return hashCode == other.hashCode && javaId == other.javaId && count == other.count
+                    && advancedTooltips == other.advancedTooltips && mappings == other.mappings
+                    && locale.equals(other.locale) && tagsEqual(tag, other.tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Structural hash of a tag that ignores the name of the tag itself.
+     */
+    private static int hashTag(Tag tag) {
+        if (tag instanceof CompoundTag compoundTag) {
+            int result = 0;
+            for (Map.Entry<String, Tag> entry : compoundTag.getValue().entrySet()) {
+                // Order independent, just like the compound itself
+                result += entry.getKey().hashCode() ^ hashTag(entry.getValue());
+            }
+            return result;
+        }
+        if (tag instanceof ListTag listTag) {
+            int result = 1;
+            for (Tag value : listTag) {
+                result = 31 * result + hashTag(value);
+            }
+            return result;
+        }
+        if (tag instanceof ByteArrayTag byteArrayTag) {
+            return Arrays.hashCode(byteArrayTag.getValue());
+        }
+        if (tag instanceof IntArrayTag intArrayTag) {
+            return Arrays.hashCode(intArrayTag.getValue());
+        }
+        if (tag instanceof LongArrayTag longArrayTag) {
+            return Arrays.hashCode(longArrayTag.getValue());
+        }
+        return Objects.hashCode(tag.getValue());
+    }
+
+    /**
+     * Structural equality of two tags that ignores the names of the tags themselves.
+     */
+    private static boolean tagsEqual(@Nullable Tag first, @Nullable Tag second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null || first.getClass() != second.getClass()) {
+            return false;
+        }
+        if (first instanceof CompoundTag compoundTag) {
+            Map<String, Tag> firstValue = compoundTag.getValue();
+            Map<String, Tag> secondValue = ((CompoundTag) second).getValue();
+            if (firstValue.size() != secondValue.size()) {
+                return false;
+            }
+            for (Map.Entry<String, Tag> entry : firstValue.entrySet()) {
+                if (!tagsEqual(entry.getValue(), secondValue.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (first instanceof ListTag listTag) {
+            ListTag secondList = (ListTag) second;
+            if (listTag.size() != secondList.size()) {
+                return false;
+            }
+            for (int i = 0; i < listTag.size(); i++) {
+                if (!tagsEqual(listTag.get(i), secondList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (first instanceof ByteArrayTag byteArrayTag) {
+            return Arrays.equals(byteArrayTag.getValue(), ((ByteArrayTag) second).getValue());
+        }
+        if (first instanceof IntArrayTag intArrayTag) {
+            return Arrays.equals(intArrayTag.getValue(), ((IntArrayTag) second).getValue());
+        }
+        if (first instanceof LongArrayTag longArrayTag) {
+            return Arrays.equals(longArrayTag.getValue(), ((LongArrayTag) second).getValue());
+        }
+        return Objects.equals(first.getValue(), second.getValue());
+    }
+}
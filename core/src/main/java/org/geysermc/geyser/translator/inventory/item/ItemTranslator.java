@@ -41,6 +41,7 @@ import com.github.steveice10.opennbt.tag.builtin.LongTag;
 import com.github.steveice10.opennbt.tag.builtin.ShortTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.common.cache.CacheStats;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
@@ -114,7 +115,7 @@ public final class ItemTranslator {
             session.getGeyser().getLogger().debug("ItemMapping returned air: " + javaId);
             return ItemData.builder();
         }
-        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(javaId), bedrockItem, count, tag);
+        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(javaId), bedrockItem, count, tag).toBuilder();
     }
 
     @NonNull
@@ -129,11 +130,24 @@ public final class ItemTranslator {
             return ItemData.AIR;
         }
         // Java item needs to be loaded separately. The mapping for tipped arrow would
-        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(stack.getId()), bedrockItem, stack.getAmount(), stack.getNbt())
-                .build();
+        return translateToBedrock(session, Registries.JAVA_ITEMS.get().get(stack.getId()), bedrockItem, stack.getAmount(), stack.getNbt());
     }
 
-    private static ItemData.@NonNull Builder translateToBedrock(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, CompoundTag tag) {
+    private static @NonNull ItemData translateToBedrock(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, CompoundTag tag) {
+        if (!ItemDataCache.isCacheable(javaItem)) {
+            return translateToBedrockUncached(session, javaItem, bedrockItem, count, tag).build();
+        }
+
+        ItemDataCache.Key key = ItemDataCache.key(session, javaItem.javaId(), count, tag);
+        ItemData itemData = ItemDataCache.get(key);
+        if (itemData == null) {
+            itemData = translateToBedrockUncached(session, javaItem, bedrockItem, count, tag).build();
+            ItemDataCache.put(key, itemData);
+        }
+        return itemData;
+    }
+
+    private static ItemData.@NonNull Builder translateToBedrockUncached(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, CompoundTag tag) {
         CompoundTag nbt = tag != null ? tag.clone() : null;
 
         if (nbt != null) {
@@ -190,6 +204,27 @@ public final class ItemTranslator {
         return builder;
     }
 
+    /**
+     * Clears all cached item translations. Should be called when the translation strings of a locale change.
+     */
+    public static void invalidateItemCache() {
+        ItemDataCache.invalidateAll();
+    }
+
+    /**
+     * @return the hit/miss statistics of the shared item translation cache
+     */
+    public static CacheStats getItemCacheStats() {
+        return ItemDataCache.stats();
+    }
+
+    /**
+     * @return the amount of translated items currently cached
+     */
+    public static long getItemCacheSize() {
+        return ItemDataCache.size();
+    }
+
     /**
      * Bedrock Edition does not see attribute modifiers like Java Edition does,
      * so we add them as lore instead.
@@ -31,12 +31,14 @@ import org.cloudburstmc.math.vector.Vector3f;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtMapBuilder;
-import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.Getter;
 import org.geysermc.geyser.api.util.PlatformType;
+import org.geysermc.geyser.level.BlockUpdateBatch;
+import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.Axis;
 import org.geysermc.geyser.level.physics.BoundingBox;
@@ -46,14 +48,10 @@ import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.translator.collision.BlockCollision;
-import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.geyser.util.BlockUtils;
-import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.geyser.util.MathUtils;
 
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 
 public class PistonBlockEntity {
     private final GeyserSession session;
@@ -84,6 +82,12 @@ public class PistonBlockEntity {
 
     private long timeSinceCompletion = 0;
 
+    /**
+     * Contains everything that can push the player while this piston moves. Players outside of it are skipped
+     * without checking every attached block.
+     */
+    private BoundingBox pushBounds;
+
     private static final BoundingBox SOLID_BOUNDING_BOX = new BoundingBox(0.5, 0.5, 0.5, 1, 1, 1);
     private static final BoundingBox HONEY_BOUNDING_BOX;
 
@@ -122,6 +126,7 @@ public class PistonBlockEntity {
             this.progress = 0.0f;
         }
         this.lastProgress = this.progress;
+        updatePushBounds();
     }
 
     /**
@@ -153,8 +158,11 @@ public class PistonBlockEntity {
             case PULLING, CANCELLED_MID_PUSH -> progress = 1;
         }
         lastProgress = progress;
+        updatePushBounds();
 
-        BlockEntityUtils.updateBlockEntity(session, buildPistonTag(), position);
+        BlockUpdateBatch blockUpdates = session.getPistonCache().getBlockUpdates();
+        blockUpdates.updateBlockEntity(buildPistonTag(), position);
+        blockUpdates.flush();
     }
 
     public void setAction(PistonValueType action, Object2IntMap<Vector3i> attachedBlocks) {
@@ -183,8 +191,11 @@ public class PistonBlockEntity {
             case PULLING, CANCELLED_MID_PUSH -> progress = 1;
         }
         lastProgress = progress;
+        updatePushBounds();
 
-        BlockEntityUtils.updateBlockEntity(session, buildPistonTag(), position);
+        BlockUpdateBatch blockUpdates = session.getPistonCache().getBlockUpdates();
+        blockUpdates.updateBlockEntity(buildPistonTag(), position);
+        blockUpdates.flush();
     }
 
     /**
@@ -199,7 +210,7 @@ public class PistonBlockEntity {
         }
         updateProgress();
         pushPlayer();
-        BlockEntityUtils.updateBlockEntity(session, buildPistonTag(), position);
+        session.getPistonCache().getBlockUpdates().updateBlockEntity(buildPistonTag(), position);
     }
 
     /**
@@ -220,46 +231,56 @@ public class PistonBlockEntity {
 
     private void removePistonHead() {
         Vector3i blockInFront = position.add(orientation.getUnitVector());
-        int blockId = session.getGeyser().getWorldManager().getBlockAt(session, blockInFront);
-        if (BlockStateValues.isPistonHead(blockId)) {
-            ChunkUtils.updateBlock(session, BlockStateValues.JAVA_AIR_ID, blockInFront);
-        } else if ((session.getGeyser().getPlatformType() == PlatformType.SPIGOT || session.getErosionHandler().isActive()) && blockId == BlockStateValues.JAVA_AIR_ID) {
-            // Spigot removes the piston head from the cache, but we need to send the block update ourselves
-            ChunkUtils.updateBlock(session, BlockStateValues.JAVA_AIR_ID, blockInFront);
-        }
+        session.getGeyser().getWorldManager().getLiveBlockAtAsync(session, blockInFront).thenAccept(blockId -> session.ensureInEventLoop(() -> {
+            if (BlockStateValues.isPistonHead(blockId)) {
+                session.getPistonCache().getBlockUpdates().updateBlock(BlockStateValues.JAVA_AIR_ID, blockInFront);
+            } else if ((session.getGeyser().getPlatformType() == PlatformType.SPIGOT || session.getErosionHandler().isActive()) && blockId == BlockStateValues.JAVA_AIR_ID) {
+                // Spigot removes the piston head from the cache, but we need to send the block update ourselves
+                session.getPistonCache().getBlockUpdates().updateBlock(BlockStateValues.JAVA_AIR_ID, blockInFront);
+            }
+        }));
     }
 
     /**
      * Find the blocks that will be pushed or pulled by the piston
      */
     private void findAffectedBlocks() {
-        Set<Vector3i> blocksChecked = new ObjectOpenHashSet<>();
-        Queue<Vector3i> blocksToCheck = new LinkedList<>();
+        // Positions are packed into longs, see MathUtils#blockPositionToLong
+        LongSet blocksChecked = session.getPistonCache().getCheckedBlocks();
+        LongArrayFIFOQueue blocksToCheck = session.getPistonCache().getBlocksToCheck();
+        blocksChecked.clear();
+        blocksToCheck.clear();
 
+        WorldManager worldManager = session.getGeyser().getWorldManager();
         Vector3i directionOffset = orientation.getUnitVector();
         Vector3i movement = getMovement();
-        blocksChecked.add(position); // Don't check the piston itself
+        long pistonPos = MathUtils.blockPositionToLong(position);
+        long pistonHeadPos = MathUtils.blockPositionToLong(position.add(directionOffset));
+        blocksChecked.add(pistonPos); // Don't check the piston itself
         if (action == PistonValueType.PULLING) {
-            blocksChecked.add(getPistonHeadPos()); // Don't check the piston head
-            blocksToCheck.add(position.add(directionOffset.mul(2)));
+            blocksChecked.add(pistonHeadPos); // Don't check the piston head
+            blocksToCheck.enqueue(MathUtils.blockPositionToLong(position.add(directionOffset.mul(2))));
         } else if (action == PistonValueType.PUSHING) {
             removePistonHead(); // Remove lingering piston heads
-            blocksToCheck.add(position.add(directionOffset));
+            blocksToCheck.enqueue(pistonHeadPos);
         }
 
         boolean moveBlocks = true;
         while (!blocksToCheck.isEmpty() && attachedBlocks.size() <= 12) {
-            Vector3i blockPos = blocksToCheck.remove();
+            long blockPos = blocksToCheck.dequeueLong();
             // Skip blocks we've already checked
             if (!blocksChecked.add(blockPos)) {
                 continue;
             }
-            int blockId = session.getGeyser().getWorldManager().getBlockAt(session, blockPos);
+            int x = MathUtils.unpackBlockX(blockPos);
+            int y = MathUtils.unpackBlockY(blockPos);
+            int z = MathUtils.unpackBlockZ(blockPos);
+            int blockId = worldManager.getBlockAt(session, x, y, z);
             if (blockId == BlockStateValues.JAVA_AIR_ID) {
                 continue;
             }
             if (BlockStateValues.canPistonMoveBlock(blockId, action == PistonValueType.PUSHING)) {
-                attachedBlocks.put(blockPos, blockId);
+                attachedBlocks.put(Vector3i.from(x, y, z), blockId);
                 if (BlockStateValues.isBlockSticky(blockId)) {
                     // For honey blocks and slime blocks check the blocks adjacent to it
                     for (Direction direction : Direction.VALUES) {
@@ -268,30 +289,33 @@ public class PistonBlockEntity {
                         if (offset.equals(movement)) {
                             continue;
                         }
-                        Vector3i adjacentPos = blockPos.add(offset);
+                        int adjacentX = x + offset.getX();
+                        int adjacentY = y + offset.getY();
+                        int adjacentZ = z + offset.getZ();
+                        long adjacentPos = MathUtils.blockPositionToLong(adjacentX, adjacentY, adjacentZ);
                         // Ignore the piston block itself
-                        if (adjacentPos.equals(position)) {
+                        if (adjacentPos == pistonPos) {
                             continue;
                         }
                         // Ignore the piston head
-                        if (action == PistonValueType.PULLING && position.add(directionOffset).equals(adjacentPos)) {
+                        if (action == PistonValueType.PULLING && adjacentPos == pistonHeadPos) {
                             continue;
                         }
-                        int adjacentBlockId = session.getGeyser().getWorldManager().getBlockAt(session, adjacentPos);
+                        int adjacentBlockId = worldManager.getBlockAt(session, adjacentX, adjacentY, adjacentZ);
                         if (adjacentBlockId != BlockStateValues.JAVA_AIR_ID && BlockStateValues.isBlockAttached(blockId, adjacentBlockId) && BlockStateValues.canPistonMoveBlock(adjacentBlockId, false)) {
                             // If it is another slime/honey block we need to check its adjacent blocks
                             if (BlockStateValues.isBlockSticky(adjacentBlockId)) {
-                                blocksToCheck.add(adjacentPos);
+                                blocksToCheck.enqueue(adjacentPos);
                             } else {
-                                attachedBlocks.put(adjacentPos, adjacentBlockId);
+                                attachedBlocks.put(Vector3i.from(adjacentX, adjacentY, adjacentZ), adjacentBlockId);
                                 blocksChecked.add(adjacentPos);
-                                blocksToCheck.add(adjacentPos.add(movement));
+                                blocksToCheck.enqueue(MathUtils.blockPositionToLong(adjacentX + movement.getX(), adjacentY + movement.getY(), adjacentZ + movement.getZ()));
                             }
                         }
                     }
                 }
                 // Check next block in line
-                blocksToCheck.add(blockPos.add(movement));
+                blocksToCheck.enqueue(MathUtils.blockPositionToLong(x + movement.getX(), y + movement.getY(), z + movement.getZ()));
             } else if (!BlockStateValues.canPistonDestroyBlock(blockId)) {
                 // Block can't be moved or destroyed, so it blocks all block movement
                 moveBlocks = false;
@@ -321,8 +345,9 @@ public class PistonBlockEntity {
      * Replace all attached blocks with air
      */
     private void removeBlocks() {
+        BlockUpdateBatch blockUpdates = session.getPistonCache().getBlockUpdates();
         for (Vector3i blockPos : attachedBlocks.keySet()) {
-            ChunkUtils.updateBlock(session, BlockStateValues.JAVA_AIR_ID, blockPos);
+            blockUpdates.updateBlock(BlockStateValues.JAVA_AIR_ID, blockPos);
         }
         if (action != PistonValueType.PUSHING) {
             removePistonHead();
@@ -342,6 +367,11 @@ public class PistonBlockEntity {
         }
 
         BoundingBox playerBoundingBox = session.getCollisionManager().getPlayerBoundingBox();
+        if (!pushBounds.checkIntersection(Vector3d.ZERO, playerBoundingBox)) {
+            // Nothing moved by this piston can reach the player
+            return;
+        }
+
         // Shrink the collision in the other axes slightly, to avoid false positives when pressed up against the side of blocks
         Vector3d shrink = Vector3i.ONE.sub(direction.abs()).toDouble().mul(CollisionManager.COLLISION_TOLERANCE * 2);
         playerBoundingBox.setSizeX(playerBoundingBox.getSizeX() - shrink.getX());
@@ -581,6 +611,7 @@ public class PistonBlockEntity {
             playerBoundingBox.setSizeX(playerBoundingBox.getSizeX() + 0.5);
             playerBoundingBox.setSizeZ(playerBoundingBox.getSizeZ() + 0.5);
         }
+        BlockUpdateBatch blockUpdates = session.getPistonCache().getBlockUpdates();
         attachedBlocks.forEach((blockPos, javaId) -> {
             Vector3i newPos = blockPos.add(movement);
             if (SOLID_BOUNDING_BOX.checkIntersection(blockPos.toDouble(), playerBoundingBox) ||
@@ -594,15 +625,9 @@ public class PistonBlockEntity {
                 return;
             }
             // Place a moving block at the new location of the block
-            UpdateBlockPacket updateBlockPacket = new UpdateBlockPacket();
-            updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
-            updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
-            updateBlockPacket.setBlockPosition(newPos);
-            updateBlockPacket.setDefinition(session.getBlockMappings().getBedrockMovingBlock());
-            updateBlockPacket.setDataLayer(0);
-            session.sendUpstreamPacket(updateBlockPacket);
+            blockUpdates.placeMovingBlock(newPos);
             // Update moving block with correct details
-            BlockEntityUtils.updateBlockEntity(session, buildMovingBlockTag(newPos, javaId, position), newPos);
+            blockUpdates.updateBlockEntity(buildMovingBlockTag(newPos, javaId, position), newPos);
         });
     }
 
@@ -618,18 +643,19 @@ public class PistonBlockEntity {
             return;
         }
         placedFinalBlocks = true;
+        BlockUpdateBatch blockUpdates = session.getPistonCache().getBlockUpdates();
         Vector3i movement = getMovement();
         attachedBlocks.forEach((blockPos, javaId) -> {
             blockPos = blockPos.add(movement);
             // Don't place blocks that collide with the player
             if (!SOLID_BOUNDING_BOX.checkIntersection(blockPos.toDouble(), session.getCollisionManager().getPlayerBoundingBox())) {
-                ChunkUtils.updateBlock(session, javaId, blockPos);
+                blockUpdates.updateBlock(javaId, blockPos);
             }
         });
         if (action == PistonValueType.PUSHING) {
             Vector3i pistonHeadPos = getPistonHeadPos().add(movement);
             if (!SOLID_BOUNDING_BOX.checkIntersection(pistonHeadPos.toDouble(), session.getCollisionManager().getPlayerBoundingBox())) {
-                ChunkUtils.updateBlock(session, BlockStateValues.getPistonHead(orientation), pistonHeadPos);
+                blockUpdates.updateBlock(BlockStateValues.getPistonHead(orientation), pistonHeadPos);
             }
         }
     }
@@ -645,6 +671,34 @@ public class PistonBlockEntity {
         flattenedAttachedBlocks = new int[0];
     }
 
+    /**
+     * Update {@link #pushBounds} to contain the piston head and attached blocks, from where they start to where
+     * they end up
+     */
+    private void updatePushBounds() {
+        Vector3i pistonHeadPos = getPistonHeadPos();
+        int minX = pistonHeadPos.getX(), minY = pistonHeadPos.getY(), minZ = pistonHeadPos.getZ();
+        int maxX = minX, maxY = minY, maxZ = minZ;
+        for (Vector3i blockPos : attachedBlocks.keySet()) {
+            minX = Math.min(minX, blockPos.getX());
+            minY = Math.min(minY, blockPos.getY());
+            minZ = Math.min(minZ, blockPos.getZ());
+            maxX = Math.max(maxX, blockPos.getX());
+            maxY = Math.max(maxY, blockPos.getY());
+            maxZ = Math.max(maxZ, blockPos.getZ());
+        }
+
+        Vector3i movement = getMovement();
+        // Grow by a little, and upwards for honey blocks and collisions taller than a block (fences)
+        double lowX = minX + Math.min(0, movement.getX()) - 0.1;
+        double lowY = minY + Math.min(0, movement.getY()) - 0.1;
+        double lowZ = minZ + Math.min(0, movement.getZ()) - 0.1;
+        double highX = maxX + 1 + Math.max(0, movement.getX()) + 0.1;
+        double highY = maxY + 1 + Math.max(0, movement.getY()) + 0.6;
+        double highZ = maxZ + 1 + Math.max(0, movement.getZ()) + 0.1;
+        pushBounds = new BoundingBox((lowX + highX) / 2, (lowY + highY) / 2, (lowZ + highZ) / 2, highX - lowX, highY - lowY, highZ - lowZ);
+    }
+
     /**
      * Flatten the positions of attached blocks into a 1D array
      */
@@ -49,6 +49,9 @@ public class BedrockBookEditTranslator extends PacketTranslator<BookEditPacket>
 
     @Override
     public void translate(GeyserSession session, BookEditPacket packet) {
+        // The client edits the book in its own inventory
+        session.getInventorySlotTracker().invalidateAll();
+
         if (packet.getText() != null && !packet.getText().isEmpty() && packet.getText().length() > WrittenBookItem.MAXIMUM_PAGE_EDIT_LENGTH) {
             session.getGeyser().getLogger().warning("Page length greater than server allowed!");
             return;
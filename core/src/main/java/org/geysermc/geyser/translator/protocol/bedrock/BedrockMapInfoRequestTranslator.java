@@ -40,7 +40,7 @@ public class BedrockMapInfoRequestTranslator extends PacketTranslator<MapInfoReq
     public void translate(GeyserSession session, MapInfoRequestPacket packet) {
         long mapId = packet.getUniqueMapId();
 
-        ClientboundMapItemDataPacket mapPacket = session.getStoredMaps().remove(mapId);
+        ClientboundMapItemDataPacket mapPacket = session.getMapCache().buildPacket(mapId);
         if (mapPacket != null) {
             // Delay the packet 100ms to prevent the client from ignoring the packet
             session.scheduleInEventLoop(() -> session.sendUpstreamPacket(mapPacket),
@@ -30,12 +30,19 @@ import com.github.steveice10.mc.protocol.data.game.command.CommandParser;
 import com.github.steveice10.mc.protocol.data.game.command.properties.ResourceProperties;
 import com.github.steveice10.mc.protocol.data.game.entity.attribute.AttributeType;
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.ToString;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -54,6 +61,7 @@ import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.util.EntityUtils;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("removal") // We know. This is our doing.
 @Translator(packet = ClientboundCommandsPacket.class)
@@ -91,6 +99,15 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         }
     };
 
+    /**
+     * Players on the same backend with the same permissions receive the same command graph, often several times.
+     */
+    private static final Cache<CommandsKey, TranslatedCommands> COMMAND_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
     static {
         List<String> validColors = new ArrayList<>(NamedTextColor.NAMES.keys());
         validColors.add("reset");
@@ -115,9 +132,56 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        CommandsKey key = CommandsKey.of(session, packet);
+        TranslatedCommands translated = COMMAND_CACHE.getIfPresent(key);
+        if (translated == null) {
+            translated = translateCommands(session, packet);
+            COMMAND_CACHE.put(key, translated);
+        }
+
+        var eventBus = session.getGeyser().eventBus();
+        Map<BedrockCommandInfo, Set<String>> commands = translated.commands();
+        boolean hasListeners = eventBus.hasSubscribers(ServerDefineCommandsEvent.class)
+                || eventBus.hasSubscribers(org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent.class);
+        if (hasListeners) {
+            // A copy for each session, as event listeners can remove commands
+            commands = new Object2ObjectOpenCustomHashMap<>(commands, PARAM_STRATEGY);
+
+            var event = new ServerDefineCommandsEvent(session, commands.keySet());
+            eventBus.fire(event);
+            if (event.isCancelled()) {
+                return;
+            }
+
+            var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
+            eventBus.fire(oldEvent);
+            if (oldEvent.isCancelled()) {
+                return;
+            }
+        }
+
+        List<CommandData> commandData = new ArrayList<>(commands.size());
+        for (BedrockCommandInfo info : commands.keySet()) {
+            commandData.add(translated.commandData().get(info));
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+    }
+
+    /**
+     * Translates the command graph up to the point where it is passed to {@link ServerDefineCommandsEvent}. The result
+     * only depends on what {@link CommandsKey} covers, so it is shared between sessions.
+     */
+    private static TranslatedCommands translateCommands(GeyserSession session, ClientboundCommandsPacket packet) {
         GeyserCommandManager manager = session.getGeyser().commandManager();
         CommandNode[] nodes = packet.getNodes();
-        List<CommandData> commandData = new ArrayList<>();
         IntSet commandNodes = new IntOpenHashSet();
         Set<String> knownAliases = new HashSet<>();
         Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(PARAM_STRATEGY);
@@ -148,24 +212,11 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
                     index -> new HashSet<>()).add(node.getName().toLowerCase());
         }
 
-        var eventBus = session.getGeyser().eventBus();
-
-        var event = new ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(event);
-        if (event.isCancelled()) {
-            return;
-        }
-
-        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(oldEvent);
-        if (oldEvent.isCancelled()) {
-            return;
-        }
-
         // The command flags, not sure what these do apart from break things
         Set<CommandData.Flag> flags = Set.of();
 
         // Loop through all the found commands
+        Map<BedrockCommandInfo, CommandData> commandData = new Reference2ObjectOpenHashMap<>(commands.size());
         for (Map.Entry<BedrockCommandInfo, Set<String>> entry : commands.entrySet()) {
             String commandName = entry.getValue().iterator().next(); // We know this has a value
 
@@ -180,17 +231,10 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
 
             // Build the completed command and add it to the final list
             CommandData data = new CommandData(commandName, entry.getKey().description(), flags, CommandPermission.ANY, aliases, Collections.emptyList(), entry.getKey().paramData());
-            commandData.add(data);
+            commandData.put(entry.getKey(), data);
         }
 
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        availableCommandsPacket.getCommands().addAll(commandData);
-
-        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        return new TranslatedCommands(commands, commandData);
     }
 
     /**
@@ -269,6 +313,79 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         };
     }
 
+    /**
+     * Invalidates all shared command translations.
+     */
+    public static void invalidateCommandCache() {
+        COMMAND_CACHE.invalidateAll();
+    }
+
+    /**
+     * @return the hit/miss statistics of the shared command cache
+     */
+    public static CacheStats getCommandCacheStats() {
+        return COMMAND_CACHE.stats();
+    }
+
+    public static long getCommandCacheSize() {
+        return COMMAND_CACHE.size();
+    }
+
+    /**
+     * Identifies everything the translated commands depend on: the structure of the command graph, the Bedrock version,
+     * and the session state some argument types complete with.
+     *
+     * @param graphHash a hash of every node field read during translation, plus the dimensions and teams of the
+     *                  session if an argument completes with them
+     */
+    private record CommandsKey(HashCode graphHash, int protocolVersion) {
+        static CommandsKey of(GeyserSession session, ClientboundCommandsPacket packet) {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            hasher.putInt(packet.getFirstNodeIndex());
+            hasher.putInt(packet.getNodes().length);
+            boolean hasDimensions = false;
+            boolean hasTeams = false;
+            for (CommandNode node : packet.getNodes()) {
+                hasher.putUnencodedChars(String.valueOf(node.getName()));
+                hasher.putBoolean(node.isExecutable());
+                hasher.putInt(node.getRedirectIndex().orElse(-1));
+                hasher.putInt(node.getChildIndices().length);
+                for (int childIndex : node.getChildIndices()) {
+                    hasher.putInt(childIndex);
+                }
+                CommandParser parser = node.getParser();
+                hasher.putInt(parser == null ? -1 : parser.ordinal());
+                if (node.getProperties() instanceof ResourceProperties properties) {
+                    hasher.putUnencodedChars(properties.getRegistryKey());
+                }
+                hasDimensions |= parser == CommandParser.DIMENSION;
+                hasTeams |= parser == CommandParser.TEAM;
+            }
+
+            if (hasDimensions) {
+                for (String level : session.getLevels()) {
+                    hasher.putUnencodedChars(level);
+                }
+            }
+            if (hasTeams) {
+                for (String team : session.getWorldCache().getScoreboard().getTeamNames().keySet()) {
+                    hasher.putUnencodedChars(team);
+                }
+            }
+            return new CommandsKey(hasher.hash(), session.getUpstream().getProtocolVersion());
+        }
+    }
+
+    /**
+     * The translated commands of one command graph, before {@link ServerDefineCommandsEvent}. Shared between sessions
+     * and never modified.
+     *
+     * @param commands each command and its aliases
+     * @param commandData the Bedrock command of each entry in {@code commands}
+     */
+    private record TranslatedCommands(Map<BedrockCommandInfo, Set<String>> commands, Map<BedrockCommandInfo, CommandData> commandData) {
+    }
+
     /**
      * Stores the command description and parameter data for best optimizing the Bedrock commands packet.
      */
@@ -95,6 +95,7 @@ public class JavaLoginTranslator extends PacketTranslator<ClientboundLoginPacket
         }
 
         session.setWorldName(spawnInfo.getWorldName());
+        session.setHashedSeed(spawnInfo.getHashedSeed());
         session.setLevels(packet.getWorldNames());
         session.setGameMode(spawnInfo.getGameMode());
         String newDimension = spawnInfo.getDimension();
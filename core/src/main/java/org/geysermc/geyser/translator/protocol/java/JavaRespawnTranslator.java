@@ -84,6 +84,8 @@ public class JavaRespawnTranslator extends PacketTranslator<ClientboundRespawnPa
             session.setThunder(false);
         }
 
+        session.setHashedSeed(spawnInfo.getHashedSeed());
+
         String newDimension = spawnInfo.getDimension();
         if (!session.getDimension().equals(newDimension) || !spawnInfo.getWorldName().equals(session.getWorldName())) {
             // Switching to a new world (based off the world name change or new dimension); send a fake dimension change
@@ -34,9 +34,19 @@ import com.github.steveice10.mc.protocol.data.game.recipe.data.ShapelessRecipeDa
 import com.github.steveice10.mc.protocol.data.game.recipe.data.SmithingTransformRecipeData;
 import com.github.steveice10.mc.protocol.data.game.recipe.data.StoneCuttingRecipeData;
 import com.github.steveice10.mc.protocol.packet.ingame.clientbound.ClientboundUpdateRecipesPacket;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import it.unimi.dsi.fastutil.ints.*;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.MultiRecipeData;
@@ -62,6 +72,7 @@ import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.util.InventoryUtils;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.geysermc.geyser.util.InventoryUtils.LAST_RECIPE_NET_ID;
@@ -104,13 +115,61 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         "minecraft:wooden_slab", "minecraft:wooden_slabs",
         "minecraft:planks", "minecraft:planks");
 
+    /**
+     * Every session on the same backend receives the same recipes, so translated recipes are shared between them.
+     */
+    private static final Cache<RecipesKey, TranslatedRecipes> RECIPE_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(32)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
     @Override
     public void translate(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
+        RecipesKey key = RecipesKey.of(session, packet);
+        TranslatedRecipes recipes = RECIPE_CACHE.getIfPresent(key);
+        if (recipes == null) {
+            recipes = translateRecipes(session, packet);
+            RECIPE_CACHE.put(key, recipes);
+        }
+
+        Map<String, List<String>> recipeIDs = session.getJavaToBedrockRecipeIds();
+        for (Map.Entry<String, List<String>> entry : recipes.addedRecipeIds().entrySet()) {
+            recipeIDs.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+        }
+        for (Map.Entry<String, List<String>> entry : recipes.replacedRecipeIds().entrySet()) {
+            recipeIDs.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+
+        session.getLastRecipeNetId().set(recipes.lastNetId());
+
+        // Only send smithing trim recipes if Java/ViaVersion sends them.
+        if (recipes.trimRecipes()) {
+            // BDS sends armor trim templates and materials before the CraftingDataPacket
+            TrimDataPacket trimDataPacket = new TrimDataPacket();
+            trimDataPacket.getPatterns().addAll(TrimRecipe.PATTERNS);
+            trimDataPacket.getMaterials().addAll(TrimRecipe.MATERIALS);
+            session.sendUpstreamPacket(trimDataPacket);
+        }
+        session.setOldSmithingTable(!recipes.trimRecipes());
+        session.sendUpstreamPacket(recipes.craftingDataPacket());
+        // Copies, as the session adds to these
+        session.setCraftingRecipes(new Int2ObjectOpenHashMap<>(recipes.recipes()));
+        session.setStonecutterRecipes(new Int2ObjectOpenHashMap<>(recipes.stonecutterRecipes()));
+        session.setJavaToBedrockRecipeIds(recipeIDs);
+    }
+
+    /**
+     * Translates the recipes without changing the session, so the result can be used by every session with the same
+     * {@link RecipesKey}.
+     */
+    private TranslatedRecipes translateRecipes(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
         Map<RecipeType, List<RecipeData>> recipeTypes = Registries.CRAFTING_DATA.forVersion(session.getUpstream().getProtocolVersion());
         // Get the last known network ID (first used for the pregenerated recipes) and increment from there.
         int netId = InventoryUtils.LAST_RECIPE_NET_ID + 1;
         boolean sendTrimRecipes = false;
-        Map<String, List<String>> recipeIDs = session.getJavaToBedrockRecipeIds();
+        Map<String, List<String>> addedRecipeIds = new HashMap<>();
+        Map<String, List<String>> replacedRecipeIds = new HashMap<>();
         Int2ObjectMap<GeyserRecipe> recipeMap = new Int2ObjectOpenHashMap<>(Registries.RECIPES.forVersion(session.getUpstream().getProtocolVersion()));
         Int2ObjectMap<List<StoneCuttingRecipeData>> unsortedStonecutterData = new Int2ObjectOpenHashMap<>();
         CraftingDataPacket craftingDataPacket = new CraftingDataPacket();
@@ -140,7 +199,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                                 Arrays.asList(inputs), Collections.singletonList(output), uuid, "crafting_table", 0, netId));
                         recipeMap.put(netId++, new GeyserShapelessRecipe(shapelessRecipeData));
                     }
-                    addRecipeIdentifier(session, recipe.getIdentifier(), bedrockRecipeIDs);
+                    addRecipeIdentifier(addedRecipeIds, recipe.getIdentifier(), bedrockRecipeIDs);
                 }
                 case CRAFTING_SHAPED -> {
                     ShapedRecipeData shapedRecipeData = (ShapedRecipeData) recipe.getData();
@@ -165,7 +224,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                                 Collections.singletonList(output), uuid, "crafting_table", 0, netId));
                         recipeMap.put(netId++, new GeyserShapedRecipe(shapedRecipeData));
                     }
-                    addRecipeIdentifier(session, recipe.getIdentifier(), bedrockRecipeIDs);
+                    addRecipeIdentifier(addedRecipeIds, recipe.getIdentifier(), bedrockRecipeIDs);
                 }
                 case STONECUTTING -> {
                     StoneCuttingRecipeData stoneCuttingData = (StoneCuttingRecipeData) recipe.getData();
@@ -203,7 +262,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                                 craftingDataPacket.getCraftingData().add(org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.SmithingTransformRecipeData.of(id,
                                         bedrockTemplate, bedrockBase, bedrockAddition, output, "smithing_table", netId++));
 
-                                recipeIDs.put(id, new ArrayList<>(Collections.singletonList(id)));
+                                replacedRecipeIds.put(id, Collections.singletonList(id));
                             }
                         }
                     }
@@ -220,7 +279,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                 default -> {
                     List<RecipeData> craftingData = recipeTypes.get(recipe.getType());
                     if (craftingData != null) {
-                        addSpecialRecipesIdentifiers(session, recipe, craftingData);
+                        addSpecialRecipesIdentifiers(addedRecipeIds, recipe, craftingData);
                         craftingDataPacket.getCraftingData().addAll(craftingData);
                     }
                 }
@@ -263,32 +322,24 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
             }
         }
 
-        session.getLastRecipeNetId().set(netId);
-
         // Only send smithing trim recipes if Java/ViaVersion sends them.
         if (sendTrimRecipes) {
-            // BDS sends armor trim templates and materials before the CraftingDataPacket
-            TrimDataPacket trimDataPacket = new TrimDataPacket();
-            trimDataPacket.getPatterns().addAll(TrimRecipe.PATTERNS);
-            trimDataPacket.getMaterials().addAll(TrimRecipe.MATERIALS);
-            session.sendUpstreamPacket(trimDataPacket);
-
             // Identical smithing_trim recipe sent by BDS that uses tag-descriptors, as the client seems to ignore the
             // approach of using many default-descriptors (which we do for smithing_transform)
             craftingDataPacket.getCraftingData().add(SmithingTrimRecipeData.of(TrimRecipe.ID,
-                    TrimRecipe.BASE, TrimRecipe.ADDITION, TrimRecipe.TEMPLATE, "smithing_table", session.getLastRecipeNetId().getAndIncrement()));
+                    TrimRecipe.BASE, TrimRecipe.ADDITION, TrimRecipe.TEMPLATE, "smithing_table", netId++));
         } else {
             // manually add recipes for the upgrade template (workaround), since Java pre-1.20 doesn't
-            craftingDataPacket.getCraftingData().addAll(getSmithingTransformRecipes(session));
+            List<RecipeData> smithingRecipes = getSmithingTransformRecipes(session, netId);
+            craftingDataPacket.getCraftingData().addAll(smithingRecipes);
+            netId += smithingRecipes.size();
         }
-        session.setOldSmithingTable(!sendTrimRecipes);
-        session.sendUpstreamPacket(craftingDataPacket);
-        session.setCraftingRecipes(recipeMap);
-        session.setStonecutterRecipes(stonecutterRecipeMap);
-        session.setJavaToBedrockRecipeIds(recipeIDs);
+
+        return new TranslatedRecipes(craftingDataPacket, recipeMap, stonecutterRecipeMap, addedRecipeIds, replacedRecipeIds,
+                sendTrimRecipes, netId);
     }
 
-    private void addSpecialRecipesIdentifiers(GeyserSession session, Recipe recipe, List<RecipeData> craftingData) {
+    private void addSpecialRecipesIdentifiers(Map<String, List<String>> recipeIDs, Recipe recipe, List<RecipeData> craftingData) {
         String javaRecipeID = recipe.getIdentifier();
 
         switch (recipe.getType()) {
@@ -316,7 +367,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                 bedrockRecipeIDs.add(((org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.ShapelessRecipeData) data).getId());
             }
         }
-        addRecipeIdentifier(session, javaRecipeID, bedrockRecipeIDs);
+        addRecipeIdentifier(recipeIDs, javaRecipeID, bedrockRecipeIDs);
     }
 
     //TODO: rewrite
@@ -350,13 +401,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                         continue;
                     }
 
-                    int idCount = 0;
-                    //not optimal
-                    for (ItemMapping mapping : session.getItemMappings().getItems()) {
-                        if (mapping.getBedrockDefinition() == groupedItem.id) {
-                            idCount++;
-                        }
-                    }
+                    int idCount = session.getItemMappings().getMappingCount(groupedItem.id);
                     if (entry.getValue().size() < idCount) {
                         optionSet.addAll(entry.getValue());
                     } else {
@@ -410,8 +455,144 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         return combinations;
     }
 
-    private void addRecipeIdentifier(GeyserSession session, String javaIdentifier, List<String> bedrockIdentifiers) {
-        session.getJavaToBedrockRecipeIds().computeIfAbsent(javaIdentifier, k -> new ArrayList<>()).addAll(bedrockIdentifiers);
+    private void addRecipeIdentifier(Map<String, List<String>> recipeIDs, String javaIdentifier, List<String> bedrockIdentifiers) {
+        recipeIDs.computeIfAbsent(javaIdentifier, k -> new ArrayList<>()).addAll(bedrockIdentifiers);
+    }
+
+    /**
+     * Invalidates all shared recipe translations, for example when a locale has been loaded.
+     */
+    public static void invalidateRecipeCache() {
+        RECIPE_CACHE.invalidateAll();
+    }
+
+    /**
+     * @return the hit/miss statistics of the shared recipe cache
+     */
+    public static CacheStats getRecipeCacheStats() {
+        return RECIPE_CACHE.stats();
+    }
+
+    public static long getRecipeCacheSize() {
+        return RECIPE_CACHE.size();
+    }
+
+    /**
+     * Identifies everything the translated recipes depend on: the Java recipes, the Bedrock version and the
+     * session settings that change how items are translated.
+     *
+     * @param recipesHash a hash of every recipe field read by {@link #translateRecipes(GeyserSession, ClientboundUpdateRecipesPacket)}
+     */
+    private record RecipesKey(HashCode recipesHash, int protocolVersion, String locale, boolean advancedTooltips) {
+        static RecipesKey of(GeyserSession session, ClientboundUpdateRecipesPacket packet) {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            hasher.putInt(packet.getRecipes().length);
+            for (Recipe recipe : packet.getRecipes()) {
+                hasher.putInt(recipe.getType().ordinal());
+                hasher.putUnencodedChars(recipe.getIdentifier());
+                switch (recipe.getType()) {
+                    case CRAFTING_SHAPELESS -> {
+                        ShapelessRecipeData data = (ShapelessRecipeData) recipe.getData();
+                        putIngredients(hasher, data.getIngredients());
+                        putItem(hasher, data.getResult());
+                    }
+                    case CRAFTING_SHAPED -> {
+                        ShapedRecipeData data = (ShapedRecipeData) recipe.getData();
+                        hasher.putInt(data.getWidth());
+                        hasher.putInt(data.getHeight());
+                        putIngredients(hasher, data.getIngredients());
+                        putItem(hasher, data.getResult());
+                    }
+                    case STONECUTTING -> {
+                        StoneCuttingRecipeData data = (StoneCuttingRecipeData) recipe.getData();
+                        putIngredient(hasher, data.getIngredient());
+                        putItem(hasher, data.getResult());
+                    }
+                    case SMITHING_TRANSFORM -> {
+                        SmithingTransformRecipeData data = (SmithingTransformRecipeData) recipe.getData();
+                        putIngredient(hasher, data.getTemplate());
+                        putIngredient(hasher, data.getBase());
+                        putIngredient(hasher, data.getAddition());
+                        putItem(hasher, data.getResult());
+                    }
+                    default -> {
+                        // Only the type is used
+                    }
+                }
+            }
+            return new RecipesKey(hasher.hash(), session.getUpstream().getProtocolVersion(),
+                    session.locale().toLowerCase(Locale.ROOT), session.isAdvancedTooltips());
+        }
+
+        private static void putIngredients(Hasher hasher, Ingredient[] ingredients) {
+            hasher.putInt(ingredients.length);
+            for (Ingredient ingredient : ingredients) {
+                putIngredient(hasher, ingredient);
+            }
+        }
+
+        private static void putIngredient(Hasher hasher, Ingredient ingredient) {
+            hasher.putInt(ingredient.getOptions().length);
+            for (ItemStack option : ingredient.getOptions()) {
+                putItem(hasher, option);
+            }
+        }
+
+        private static void putItem(Hasher hasher, @Nullable ItemStack item) {
+            if (item == null) {
+                hasher.putInt(-1);
+                return;
+            }
+            hasher.putInt(item.getId());
+            hasher.putInt(item.getAmount());
+            putTag(hasher, item.getNbt());
+        }
+
+        private static void putTag(Hasher hasher, @Nullable Tag tag) {
+            if (tag == null) {
+                hasher.putByte((byte) 0);
+            } else if (tag instanceof CompoundTag compoundTag) {
+                hasher.putByte((byte) 1);
+                hasher.putInt(compoundTag.size());
+                for (Tag value : compoundTag) {
+                    hasher.putUnencodedChars(value.getName());
+                    putTag(hasher, value);
+                }
+            } else if (tag instanceof ListTag listTag) {
+                hasher.putByte((byte) 2);
+                hasher.putInt(listTag.size());
+                for (Tag value : listTag) {
+                    putTag(hasher, value);
+                }
+            } else {
+                hasher.putByte((byte) 3);
+                hasher.putUnencodedChars(tag.getClass().getSimpleName());
+                Object value = tag.getValue();
+                if (value instanceof byte[] bytes) {
+                    hasher.putInt(bytes.length);
+                    hasher.putBytes(bytes);
+                } else if (value instanceof int[] ints) {
+                    hasher.putUnencodedChars(Arrays.toString(ints));
+                } else if (value instanceof long[] longs) {
+                    hasher.putUnencodedChars(Arrays.toString(longs));
+                } else {
+                    hasher.putUnencodedChars(String.valueOf(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * The result of translating one recipe list. Shared between sessions and never modified.
+     *
+     * @param addedRecipeIds Bedrock recipe IDs to add to the Java recipe IDs of the session
+     * @param replacedRecipeIds Bedrock recipe IDs that replace those of the Java recipe ID in the session
+     * @param lastNetId the next free recipe network ID
+     */
+    private record TranslatedRecipes(CraftingDataPacket craftingDataPacket, Int2ObjectMap<GeyserRecipe> recipes,
+                                     Int2ObjectMap<GeyserStonecutterData> stonecutterRecipes,
+                                     Map<String, List<String>> addedRecipeIds, Map<String, List<String>> replacedRecipeIds,
+                                     boolean trimRecipes, int lastNetId) {
     }
 
     @EqualsAndHashCode
@@ -421,7 +602,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
         int count;
     }
 
-    private List<RecipeData> getSmithingTransformRecipes(GeyserSession session) {
+    private List<RecipeData> getSmithingTransformRecipes(GeyserSession session, int netId) {
         List<RecipeData> recipes = new ArrayList<>();
         ItemMapping template = session.getItemMappings().getStoredItems().upgradeTemplate();
 
@@ -432,7 +613,7 @@ public class JavaUpdateRecipesTranslator extends PacketTranslator<ClientboundUpd
                     getDescriptorFromId(session, "minecraft:netherite_ingot"),
                     ItemData.builder().definition(Objects.requireNonNull(session.getItemMappings().getDefinition(identifier))).count(1).build(),
                     "smithing_table",
-                    session.getLastRecipeNetId().getAndIncrement()));
+                    netId++));
         }
         return recipes;
     }
@@ -33,7 +33,6 @@ import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.cloudburstmc.protocol.bedrock.data.inventory.crafting.recipe.ShapedRecipeData;
 import org.cloudburstmc.protocol.bedrock.data.inventory.descriptor.ItemDescriptorWithCount;
 import org.cloudburstmc.protocol.bedrock.packet.CraftingDataPacket;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.geyser.GeyserLogger;
 import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.inventory.Inventory;
@@ -171,11 +170,7 @@ public class JavaContainerSetSlotTranslator extends PacketTranslator<Clientbound
                     ItemStack[] itemStacks = new ItemStack[] {geyserItemStack.isEmpty() ? null : geyserItemStack.getItemStack(1)};
                     javaIngredients[index] = new Ingredient(itemStacks);
 
-                    InventorySlotPacket slotPacket = new InventorySlotPacket();
-                    slotPacket.setContainerId(ContainerId.UI);
-                    slotPacket.setSlot(col + (row * gridDimensions) + offset);
-                    slotPacket.setItem(ItemData.AIR);
-                    session.sendUpstreamPacket(slotPacket);
+                    session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, col + (row * gridDimensions) + offset, ItemData.AIR);
                     index++;
                 }
             }
@@ -201,11 +196,7 @@ public class JavaContainerSetSlotTranslator extends PacketTranslator<Clientbound
             index = 0;
             for (int row = firstRow; row < height + firstRow; row++) {
                 for (int col = firstCol; col < width + firstCol; col++) {
-                    InventorySlotPacket slotPacket = new InventorySlotPacket();
-                    slotPacket.setContainerId(ContainerId.UI);
-                    slotPacket.setSlot(col + (row * gridDimensions) + offset);
-                    slotPacket.setItem(ingredients[index]);
-                    session.sendUpstreamPacket(slotPacket);
+                    session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, col + (row * gridDimensions) + offset, ingredients[index]);
                     index++;
                 }
             }
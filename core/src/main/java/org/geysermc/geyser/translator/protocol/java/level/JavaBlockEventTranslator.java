@@ -34,6 +34,7 @@ import org.cloudburstmc.protocol.bedrock.packet.BlockEntityDataPacket;
 import org.cloudburstmc.protocol.bedrock.packet.BlockEventPacket;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import org.geysermc.geyser.api.util.PlatformType;
+import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.physics.Direction;
 import org.geysermc.geyser.session.GeyserSession;
@@ -42,6 +43,8 @@ import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 
+import java.util.concurrent.CompletableFuture;
+
 @Translator(packet = ClientboundBlockEventPacket.class)
 public class JavaBlockEventTranslator extends PacketTranslator<ClientboundBlockEventPacket> {
 
@@ -75,22 +78,25 @@ public class JavaBlockEventTranslator extends PacketTranslator<ClientboundBlockE
                 // Retracting sticky pistons is an exception, since the event is not called on Spigot from 1.13.2 - 1.17.1
                 // See https://github.com/PaperMC/Paper/blob/6fa1983e9ce177a4a412d5b950fd978620174777/patches/server/0304-Fire-BlockPistonRetractEvent-for-all-empty-pistons.patch
                 if (action == PistonValueType.PULLING || action == PistonValueType.CANCELLED_MID_PUSH) {
-                    int pistonBlock = session.getGeyser().getWorldManager().getBlockAt(session, position);
-                    if (!BlockStateValues.isStickyPiston(pistonBlock)) {
-                        return;
-                    }
-                    if (action != PistonValueType.CANCELLED_MID_PUSH) {
-                        Vector3i blockInFrontPos = position.add(direction.getUnitVector());
-                        int blockInFront = session.getGeyser().getWorldManager().getBlockAt(session, blockInFrontPos);
-                        if (blockInFront != BlockStateValues.JAVA_AIR_ID) {
+                    // Both lookups are sent right away, so they only cost one round trip to the backend
+                    WorldManager worldManager = session.getGeyser().getWorldManager();
+                    CompletableFuture<Integer> pistonBlock = worldManager.getLiveBlockAtAsync(session, position);
+                    CompletableFuture<Integer> blockInFront = action == PistonValueType.CANCELLED_MID_PUSH ?
+                            CompletableFuture.completedFuture(BlockStateValues.JAVA_AIR_ID) :
+                            worldManager.getLiveBlockAtAsync(session, position.add(direction.getUnitVector()));
+                    pistonBlock.thenAcceptBoth(blockInFront, (pistonBlockId, blockInFrontId) -> session.ensureInEventLoop(() -> {
+                        if (!BlockStateValues.isStickyPiston(pistonBlockId)) {
+                            return;
+                        }
+                        if (blockInFrontId != BlockStateValues.JAVA_AIR_ID) {
                             // Piston pulled something
                             return;
                         }
-                    }
-                    PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, true, true));
-                    if (blockEntity.getAction() != action) {
-                        blockEntity.setAction(action, Object2IntMaps.emptyMap());
-                    }
+                        PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> new PistonBlockEntity(session, pos, direction, true, true));
+                        if (blockEntity.getAction() != action) {
+                            blockEntity.setAction(action, Object2IntMaps.emptyMap());
+                        }
+                    }));
                 }
             } else {
                 PistonBlockEntity blockEntity = pistonCache.getPistons().computeIfAbsent(position, pos -> {
@@ -54,7 +54,6 @@ import org.cloudburstmc.nbt.NbtUtils;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.geysermc.erosion.util.LecternUtils;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.chunk.BlockStorage;
@@ -77,7 +76,6 @@ import org.geysermc.geyser.util.DimensionUtils;
 import java.io.IOException;
 import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import static org.geysermc.geyser.util.ChunkUtils.EMPTY_BLOCK_STORAGE;
 import static org.geysermc.geyser.util.ChunkUtils.EMPTY_CHUNK_SECTION_SIZE;
@@ -385,9 +383,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 extendedCollisionNextSection = thisExtendedCollisionNextSection;
             }
 
-            if (!session.getErosionHandler().isActive()) {
-                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
-            }
+            // Also cached with Erosion, where the cache mirrors the backend for block lookups
+            session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
 
             final int chunkBlockX = packet.getX() << 4;
             final int chunkBlockZ = packet.getZ() << 4;
@@ -530,14 +527,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             session.getGeyser().getWorldManager().sendLecternData(session, packet.getX(), packet.getZ(), lecterns);
         }
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
-            }
-        }
+        // Update the item frames in this chunk so they don't get lost in the abyss
+        session.getItemFrameCache().forEachInChunk(packet.getX(), packet.getZ(), (position, itemFrame) -> itemFrame.updateBlock(true));
     }
 
     static final class ExtendedCollisionsStorage {
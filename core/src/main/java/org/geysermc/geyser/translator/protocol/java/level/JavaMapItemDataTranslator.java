@@ -44,8 +44,6 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
     @Override
     public void translate(GeyserSession session, ClientboundMapItemDataPacket packet) {
         org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket mapItemDataPacket = new org.cloudburstmc.protocol.bedrock.packet.ClientboundMapItemDataPacket();
-        boolean shouldStore = false;
-
         mapItemDataPacket.setUniqueMapId(packet.getMapId());
         mapItemDataPacket.setDimensionId(DimensionUtils.javaToBedrock(session.getDimension()));
         mapItemDataPacket.setLocked(packet.isLocked());
@@ -61,17 +59,11 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
             mapItemDataPacket.setWidth(data.getColumns());
             mapItemDataPacket.setHeight(data.getRows());
 
-            // We have a full map image, this usually only happens on spawn for the initial image
-            if (mapItemDataPacket.getWidth() == 128 && mapItemDataPacket.getHeight() == 128) {
-                shouldStore = true;
-            }
-
             // Every int entry is an ARGB color
-            int[] colors = new int[data.getData().length];
-
-            int idx = 0;
-            for (byte colorId : data.getData()) {
-                colors[idx++] = MapColor.fromId(colorId & 0xFF).getARGB();
+            byte[] colorIds = data.getData();
+            int[] colors = new int[colorIds.length];
+            for (int i = 0; i < colorIds.length; i++) {
+                colors[i] = MapColor.toARGB(colorIds[i]);
             }
 
             mapItemDataPacket.setColors(colors);
@@ -88,9 +80,7 @@ public class JavaMapItemDataTranslator extends PacketTranslator<ClientboundMapIt
         }
 
         // Store the map to send when the client requests it, as bedrock expects the data after a MapInfoRequestPacket
-        if (shouldStore) {
-            session.getStoredMaps().put(mapItemDataPacket.getUniqueMapId(), mapItemDataPacket);
-        }
+        session.getMapCache().update(packet.getMapId(), data, mapItemDataPacket);
 
         // Send anyway just in case
         session.sendUpstreamPacket(mapItemDataPacket);
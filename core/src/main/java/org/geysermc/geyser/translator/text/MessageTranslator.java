@@ -27,6 +27,9 @@ package org.geysermc.geyser.translator.text;
 
 import com.github.steveice10.mc.protocol.data.DefaultComponentSerializer;
 import com.github.steveice10.mc.protocol.data.game.scoreboard.TeamColor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ScoreComponent;
 import net.kyori.adventure.text.TranslatableComponent;
@@ -43,6 +46,7 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.text.*;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class MessageTranslator {
     // These are used for handling the translations of the messages
@@ -55,6 +59,17 @@ public class MessageTranslator {
     private static final LegacyComponentSerializer BEDROCK_SERIALIZER;
     private static final String BEDROCK_COLORS;
 
+    /**
+     * Converted messages shared between all sessions, keyed by the (immutable) component and the lowercase locale.
+     * Broadcasts, boss bars, team prefixes and item lore are usually identical for every player, so only the first
+     * conversion per locale needs to render and serialize the component.
+     */
+    private static final Cache<ConversionKey, String> CONVERSION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
     // Store team colors for player names
     private static final Map<TeamColor, String> TEAM_COLORS = new EnumMap<>(TeamColor.class);
 
@@ -148,6 +163,25 @@ public class MessageTranslator {
      * @return Parsed and formatted message for bedrock
      */
     public static String convertMessage(Component message, String locale) {
+        ConversionKey key = new ConversionKey(message, locale.toLowerCase(Locale.ROOT));
+        String cached = CONVERSION_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String converted = convertMessageUncached(message, locale);
+        if (converted != null) {
+            CONVERSION_CACHE.put(key, converted);
+            return converted;
+        }
+        // Failed conversions are not cached so the error is logged each time
+        return "";
+    }
+
+    /**
+     * @return the converted message, or null if the message could not be converted
+     */
+    private static String convertMessageUncached(Component message, String locale) {
         try {
             // Translate any components that require it
             message = RENDERER.render(message, locale);
@@ -183,10 +217,31 @@ public class MessageTranslator {
             GeyserImpl.getInstance().getLogger().debug(GSON_SERIALIZER.serialize(message));
             GeyserImpl.getInstance().getLogger().error("Failed to parse message", e);
 
-            return "";
+            return null;
         }
     }
 
+    /**
+     * Clears all converted messages. Should be called when the translation strings of a locale change.
+     */
+    public static void invalidateConversionCache() {
+        CONVERSION_CACHE.invalidateAll();
+    }
+
+    /**
+     * @return the hit/miss statistics of the shared message conversion cache
+     */
+    public static CacheStats getConversionCacheStats() {
+        return CONVERSION_CACHE.stats();
+    }
+
+    /**
+     * @return the amount of converted messages currently cached
+     */
+    public static long getConversionCacheSize() {
+        return CONVERSION_CACHE.size();
+    }
+
     public static String convertJsonMessage(String message, String locale) {
         return convertMessage(GSON_SERIALIZER.deserialize(message), locale);
     }
@@ -362,4 +417,7 @@ public class MessageTranslator {
     public static void init() {
         // no-op
     }
+
+    private record ConversionKey(Component message, String locale) {
+    }
 }
@@ -119,6 +119,8 @@ public class ChunkUtils {
      * @param position the position of the block
      */
     public static void updateBlock(GeyserSession session, int blockState, Vector3i position) {
+        // This update is newer than anything a piston queued for this position
+        session.getPistonCache().getBlockUpdates().discard(position);
         updateBlockClientSide(session, blockState, position);
         session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
     }
@@ -39,7 +39,6 @@ import org.cloudburstmc.nbt.NbtType;
 import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ContainerId;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
-import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
 import org.cloudburstmc.protocol.bedrock.packet.PlayerHotbarPacket;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.inventory.Container;
@@ -92,6 +91,8 @@ public class InventoryUtils {
     }
 
     public static void displayInventory(GeyserSession session, Inventory inventory) {
+        // Bedrock container IDs are reused between inventories
+        session.getInventorySlotTracker().invalidateAll();
         InventoryTranslator translator = session.getInventoryTranslator();
         if (translator != null && translator.prepareInventory(session, inventory)) {
             if (translator instanceof DoubleChestInventoryTranslator && !((Container) inventory).isUsingRealBlock()) {
@@ -117,6 +118,7 @@ public class InventoryUtils {
     }
 
     public static void closeInventory(GeyserSession session, int javaId, boolean confirm) {
+        session.getInventorySlotTracker().invalidateAll();
         session.getPlayerInventory().setCursor(GeyserItemStack.EMPTY, session);
         updateCursor(session);
 
@@ -173,11 +175,7 @@ public class InventoryUtils {
     }
 
     public static void updateCursor(GeyserSession session) {
-        InventorySlotPacket cursorPacket = new InventorySlotPacket();
-        cursorPacket.setContainerId(ContainerId.UI);
-        cursorPacket.setSlot(0);
-        cursorPacket.setItem(session.getPlayerInventory().getCursor().getItemData(session));
-        session.sendUpstreamPacket(cursorPacket);
+        session.getInventorySlotTracker().sendSlot(session, ContainerId.UI, 0, session.getPlayerInventory().getCursor().getItemData(session));
     }
 
     public static boolean canStack(GeyserItemStack item1, GeyserItemStack item2) {
@@ -25,6 +25,8 @@
 
 package org.geysermc.geyser.util;
 
+import org.cloudburstmc.math.vector.Vector3i;
+
 public class MathUtils {
     public static final double SQRT_OF_TWO = Math.sqrt(2);
 
@@ -190,6 +192,41 @@ public class MathUtils {
         return ((x & 0xFFFFFFFFL) << 32L) | (z & 0xFFFFFFFFL);
     }
 
+    /**
+     * Packs a block position into a single {@code long}, in the same layout as Java Edition.
+     * X and Z use 26 bits each and Y uses 12 bits.
+     *
+     * @return the packed position
+     */
+    public static long blockPositionToLong(int x, int y, int z) {
+        return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | (y & 0xFFFL);
+    }
+
+    public static long blockPositionToLong(Vector3i position) {
+        return blockPositionToLong(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * @return the X coordinate of a position packed with {@link #blockPositionToLong(int, int, int)}
+     */
+    public static int unpackBlockX(long packedPosition) {
+        return (int) (packedPosition >> 38);
+    }
+
+    /**
+     * @return the Y coordinate of a position packed with {@link #blockPositionToLong(int, int, int)}
+     */
+    public static int unpackBlockY(long packedPosition) {
+        return (int) (packedPosition << 52 >> 52);
+    }
+
+    /**
+     * @return the Z coordinate of a position packed with {@link #blockPositionToLong(int, int, int)}
+     */
+    public static int unpackBlockZ(long packedPosition) {
+        return (int) (packedPosition << 26 >> 38);
+    }
+
     /**
      * @return the bits per entry used when this number is the maximum amount of entries.
      */
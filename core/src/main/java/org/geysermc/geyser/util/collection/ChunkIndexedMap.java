@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A map of block positions that is indexed by chunk, so everything in one chunk or around one position can be found
+ * without going through every entry. Not thread-safe.
+ *
+ * @param <V> the value type
+ */
+public class ChunkIndexedMap<V> {
+    /**
+     * Maps the chunk position (see {@link MathUtils#chunkPositionToLong(int, int)}) to the entries in that chunk.
+     * Empty chunks are removed.
+     */
+    private final Long2ObjectMap<Object2ObjectMap<Vector3i, V>> chunks = new Long2ObjectOpenHashMap<>();
+    private int size;
+
+    public @Nullable V get(Vector3i position) {
+        Object2ObjectMap<Vector3i, V> chunk = chunks.get(chunkPosition(position));
+        return chunk == null ? null : chunk.get(position);
+    }
+
+    public boolean containsKey(Vector3i position) {
+        Object2ObjectMap<Vector3i, V> chunk = chunks.get(chunkPosition(position));
+        return chunk != null && chunk.containsKey(position);
+    }
+
+    public @Nullable V put(Vector3i position, V value) {
+        V previous = chunks.computeIfAbsent(chunkPosition(position), k -> new Object2ObjectOpenHashMap<>()).put(position, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    public V computeIfAbsent(Vector3i position, Function<Vector3i, V> mappingFunction) {
+        Object2ObjectMap<Vector3i, V> chunk = chunks.computeIfAbsent(chunkPosition(position), k -> new Object2ObjectOpenHashMap<>());
+        V value = chunk.get(position);
+        if (value == null) {
+            value = mappingFunction.apply(position);
+            chunk.put(position, value);
+            size++;
+        }
+        return value;
+    }
+
+    public @Nullable V remove(Vector3i position) {
+        long chunkPosition = chunkPosition(position);
+        Object2ObjectMap<Vector3i, V> chunk = chunks.get(chunkPosition);
+        if (chunk == null) {
+            return null;
+        }
+        V value = chunk.remove(position);
+        if (value != null) {
+            size--;
+            if (chunk.isEmpty()) {
+                chunks.remove(chunkPosition);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the entry for this position only if it is currently mapped to the given value.
+     */
+    public boolean remove(Vector3i position, V value) {
+        long chunkPosition = chunkPosition(position);
+        Object2ObjectMap<Vector3i, V> chunk = chunks.get(chunkPosition);
+        if (chunk == null || !chunk.remove(position, value)) {
+            return false;
+        }
+        size--;
+        if (chunk.isEmpty()) {
+            chunks.remove(chunkPosition);
+        }
+        return true;
+    }
+
+    /**
+     * Calls the consumer for every entry in this chunk.
+     */
+    public void forEachInChunk(int chunkX, int chunkZ, BiConsumer<Vector3i, V> consumer) {
+        Object2ObjectMap<Vector3i, V> chunk = chunks.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunk != null) {
+            chunk.forEach(consumer);
+        }
+    }
+
+    /**
+     * Removes every entry in this chunk, calling the consumer for each of them after they are removed.
+     */
+    public void removeChunk(int chunkX, int chunkZ, BiConsumer<Vector3i, V> consumer) {
+        Object2ObjectMap<Vector3i, V> chunk = chunks.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunk != null) {
+            size -= chunk.size();
+            chunk.forEach(consumer);
+        }
+    }
+
+    /**
+     * Calls the consumer for every entry in the chunks that are within the given horizontal distance of a position.
+     * Entries in these chunks can still be farther away than the distance, so the consumer should check itself.
+     */
+    public void forEachNear(double x, double z, int distance, BiConsumer<Vector3i, V> consumer) {
+        int minChunkX = ((int) Math.floor(x) - distance) >> 4;
+        int maxChunkX = ((int) Math.floor(x) + distance) >> 4;
+        int minChunkZ = ((int) Math.floor(z) - distance) >> 4;
+        int maxChunkZ = ((int) Math.floor(z) + distance) >> 4;
+
+        long area = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (area > chunks.size()) {
+            // Fewer chunks are occupied than are in range; checking each of them is cheaper
+            for (Long2ObjectMap.Entry<Object2ObjectMap<Vector3i, V>> entry : chunks.long2ObjectEntrySet()) {
+                long chunkPosition = entry.getLongKey();
+                // See MathUtils#chunkPositionToLong
+                int chunkX = (int) (chunkPosition >> 32);
+                int chunkZ = (int) chunkPosition;
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    entry.getValue().forEach(consumer);
+                }
+            }
+            return;
+        }
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                forEachInChunk(chunkX, chunkZ, consumer);
+            }
+        }
+    }
+
+    public void forEach(BiConsumer<Vector3i, V> consumer) {
+        for (Object2ObjectMap<Vector3i, V> chunk : chunks.values()) {
+            chunk.forEach(consumer);
+        }
+    }
+
+    /**
+     * Removes every entry that matches the predicate.
+     */
+    public void removeIf(BiPredicate<Vector3i, V> predicate) {
+        Iterator<Object2ObjectMap<Vector3i, V>> chunkIterator = chunks.values().iterator();
+        while (chunkIterator.hasNext()) {
+            Object2ObjectMap<Vector3i, V> chunk = chunkIterator.next();
+            int previousSize = chunk.size();
+            chunk.object2ObjectEntrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+            size -= previousSize - chunk.size();
+            if (chunk.isEmpty()) {
+                chunkIterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        chunks.clear();
+        size = 0;
+    }
+
+    private static long chunkPosition(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
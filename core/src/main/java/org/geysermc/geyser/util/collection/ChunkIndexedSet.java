@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import org.cloudburstmc.math.vector.Vector3i;
+
+/**
+ * A set of block positions that is indexed by chunk. See {@link ChunkIndexedMap}.
+ */
+public class ChunkIndexedSet {
+    private final ChunkIndexedMap<Boolean> map = new ChunkIndexedMap<>();
+
+    public boolean contains(Vector3i position) {
+        return map.containsKey(position);
+    }
+
+    public boolean add(Vector3i position) {
+        return map.put(position, Boolean.TRUE) == null;
+    }
+
+    public boolean remove(Vector3i position) {
+        return map.remove(position) != null;
+    }
+
+    /**
+     * Removes every position in this chunk.
+     */
+    public void removeChunk(int chunkX, int chunkZ) {
+        map.removeChunk(chunkX, chunkZ, (position, value) -> {});
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+}
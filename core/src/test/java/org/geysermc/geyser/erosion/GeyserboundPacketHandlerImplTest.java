@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.erosion;
+
+import io.netty.channel.Channel;
+import org.geysermc.erosion.packet.ErosionPacketSender;
+import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
+import org.geysermc.erosion.packet.backendbound.BackendboundPacket;
+import org.geysermc.erosion.packet.geyserbound.GeyserboundBlockIdPacket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+public class GeyserboundPacketHandlerImplTest {
+
+    @Test
+    public void testLookupsArePipelined() {
+        LoopbackSender sender = new LoopbackSender();
+        GeyserboundPacketHandlerImpl handler = new GeyserboundPacketHandlerImpl(null, sender);
+
+        // Transaction IDs are handed out in order
+        int firstId = handler.getNextTransactionId() + 1;
+        CompletableFuture<Integer> first = handler.lookupBlock(0, 64, 0);
+        CompletableFuture<Integer> second = handler.lookupBlock(0, 64, 1);
+        // Both requests are out before the backend answered any of them
+        Assertions.assertEquals(2, sender.requests);
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertFalse(second.isDone());
+
+        // The backend may answer in any order
+        handler.handleBlockId(new GeyserboundBlockIdPacket(firstId + 1, 20));
+        Assertions.assertEquals(20, second.join());
+        Assertions.assertFalse(first.isDone());
+        handler.handleBlockId(new GeyserboundBlockIdPacket(firstId, 10));
+        Assertions.assertEquals(10, first.join());
+    }
+
+    /**
+     * Stands in for the backend connection; the test answers the requests itself.
+     */
+    private static final class LoopbackSender implements ErosionPacketSender<BackendboundPacket> {
+        private int requests;
+
+        @Override
+        public void sendPacket(BackendboundPacket packet) {
+            Assertions.assertInstanceOf(BackendboundBlockRequestPacket.class, packet);
+            requests++;
+        }
+
+        @Override
+        public void setChannel(Channel channel) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.event;
+
+import org.geysermc.event.Cancellable;
+import org.geysermc.event.Event;
+import org.geysermc.event.subscribe.Subscribe;
+import org.geysermc.event.subscribe.Subscriber;
+import org.geysermc.geyser.api.event.EventRegistrar;
+import org.geysermc.geyser.api.event.EventSubscriber;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GeyserEventBusTest {
+    private static final EventRegistrar OWNER = new EventRegistrar() {
+    };
+
+    @Test
+    public void testHasSubscribers() {
+        GeyserEventBus eventBus = new GeyserEventBus();
+        Assertions.assertFalse(eventBus.hasSubscribers(ChildEvent.class));
+
+        Subscriber<ParentEvent> subscriber = eventBus.subscribe(OWNER, ParentEvent.class, event -> { });
+        Assertions.assertTrue(eventBus.hasSubscribers(ParentEvent.class));
+        // Subscribers of supertypes receive the event as well
+        Assertions.assertTrue(eventBus.hasSubscribers(ChildEvent.class));
+        Assertions.assertTrue(eventBus.hasSubscribers(ChildEventImpl.class));
+        Assertions.assertFalse(eventBus.hasSubscribers(OtherEvent.class));
+
+        //noinspection unchecked
+        eventBus.unsubscribe((EventSubscriber<EventRegistrar, ? extends Event>) subscriber);
+        Assertions.assertFalse(eventBus.hasSubscribers(ChildEvent.class));
+
+        eventBus.subscribe(OWNER, ChildEvent.class, event -> { });
+        Assertions.assertTrue(eventBus.hasSubscribers(ChildEventImpl.class));
+        Assertions.assertFalse(eventBus.hasSubscribers(ParentEvent.class));
+
+        eventBus.unregisterAll(OWNER);
+        Assertions.assertFalse(eventBus.hasSubscribers(ChildEventImpl.class));
+    }
+
+    @Test
+    public void testRegisterListener() {
+        GeyserEventBus eventBus = new GeyserEventBus();
+        TestListener listener = new TestListener();
+        eventBus.register(OWNER, listener);
+        Assertions.assertTrue(eventBus.hasSubscribers(ChildEventImpl.class));
+        Assertions.assertTrue(eventBus.hasSubscribers(CancellableEventImpl.class));
+
+        eventBus.fire(new ChildEventImpl());
+        Assertions.assertEquals(1, listener.childEvents);
+
+        CancellableEventImpl event = new CancellableEventImpl();
+        eventBus.fire(event);
+        Assertions.assertEquals(1, listener.cancellableEvents);
+        Assertions.assertEquals(2, listener.childEvents);
+
+        // Only the subscriber that doesn't ignore cancelled events is called
+        event.setCancelled(true);
+        eventBus.fire(event);
+        Assertions.assertEquals(1, listener.cancellableEvents);
+        Assertions.assertEquals(3, listener.childEvents);
+
+        eventBus.unregisterAll(OWNER);
+        Assertions.assertFalse(eventBus.hasSubscribers(ChildEventImpl.class));
+        eventBus.fire(new ChildEventImpl());
+        Assertions.assertEquals(3, listener.childEvents);
+    }
+
+    @Test
+    public void testInvalidListenerIsNotRegistered() {
+        GeyserEventBus eventBus = new GeyserEventBus();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> eventBus.register(OWNER, new InvalidListener()));
+        // Neither the valid method declared next to the invalid one
+        Assertions.assertFalse(eventBus.hasSubscribers(ChildEventImpl.class));
+    }
+
+    @Test
+    public void testFireWithoutSubscribers() {
+        GeyserEventBus eventBus = new GeyserEventBus();
+        Assertions.assertSame(eventBus.fire(new ChildEventImpl()), eventBus.fire(new ChildEventImpl()));
+
+        List<ChildEvent> received = new ArrayList<>();
+        Subscriber<ChildEvent> subscriber = eventBus.subscribe(OWNER, ChildEvent.class, received::add);
+        ChildEventImpl event = new ChildEventImpl();
+        eventBus.fire(event);
+        Assertions.assertEquals(List.of(event), received);
+
+        //noinspection unchecked
+        eventBus.unsubscribe((EventSubscriber<EventRegistrar, ? extends Event>) subscriber);
+        eventBus.fire(new ChildEventImpl());
+        Assertions.assertEquals(List.of(event), received);
+    }
+
+    public static final class TestListener {
+        private int childEvents;
+        private int cancellableEvents;
+
+        @Subscribe
+        private void onChild(ChildEvent event) {
+            childEvents++;
+        }
+
+        @Subscribe(ignoreCancelled = true)
+        public void onCancellable(CancellableEventImpl event) {
+            cancellableEvents++;
+        }
+    }
+
+    public static final class InvalidListener {
+        @Subscribe
+        public void onChild(ChildEvent event) {
+        }
+
+        @Subscribe
+        public void onNothing() {
+        }
+    }
+
+    public interface ParentEvent extends Event {
+    }
+
+    public interface ChildEvent extends ParentEvent {
+    }
+
+    public interface OtherEvent extends Event {
+    }
+
+    public static final class ChildEventImpl implements ChildEvent {
+    }
+
+    public static final class CancellableEventImpl implements ChildEvent, Cancellable {
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.item;
+
+import it.unimi.dsi.fastutil.Pair;
+import org.cloudburstmc.protocol.bedrock.data.definitions.ItemDefinition;
+import org.cloudburstmc.protocol.bedrock.data.definitions.SimpleItemDefinition;
+import org.geysermc.geyser.api.item.custom.CustomItemOptions;
+import org.geysermc.geyser.api.util.TriState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CustomItemSelectorTest {
+    private static final TriState[] TRI_STATES = TriState.values();
+
+    @Test
+    public void testEquivalentToScan() {
+        Random random = new Random(1234);
+        for (int run = 0; run < 50; run++) {
+            List<Pair<CustomItemOptions, ItemDefinition>> options = randomOptions(random, 1 + random.nextInt(200), 40, random.nextInt(4) == 0);
+            for (boolean checkDamage : new boolean[] {true, false}) {
+                CustomItemSelector selector = CustomItemSelector.compile(options, checkDamage);
+                for (int customModelData = -2; customModelData < 45; customModelData++) {
+                    for (int damage = 0; damage < 45; damage += 4) {
+                        for (boolean unbreakable : new boolean[] {true, false}) {
+                            boolean actuallyUnbreakable = checkDamage && unbreakable;
+                            Assertions.assertEquals(scan(options, checkDamage, customModelData, damage, actuallyUnbreakable),
+                                    selector.select(customModelData, damage, actuallyUnbreakable));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testManyCustomModelDataOptions() {
+        List<Pair<CustomItemOptions, ItemDefinition>> options = manyCustomModelDataOptions();
+        CustomItemSelector selector = CustomItemSelector.compile(options, true);
+
+        for (int customModelData = 0; customModelData <= 10_001; customModelData++) {
+            Assertions.assertEquals(scan(options, true, customModelData, 0, false), selector.select(customModelData, 0, false));
+        }
+    }
+
+    /**
+     * Compares the compiled selector to the linear scan with 10,000 options. Timing depends on the machine, so this
+     * only runs when the {@code GEYSER_BENCHMARKS} environment variable is set to {@code true}.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "GEYSER_BENCHMARKS", matches = "true")
+    public void benchmarkManyCustomModelDataOptions() {
+        Random random = new Random(5678);
+        List<Pair<CustomItemOptions, ItemDefinition>> options = manyCustomModelDataOptions();
+        CustomItemSelector selector = CustomItemSelector.compile(options, true);
+
+        int[] queries = new int[4096];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = 1 + random.nextInt(10_000);
+        }
+
+        // Warm up both paths before measuring
+        long scanNanos = 0;
+        long selectorNanos = 0;
+        for (int round = 0; round < 5; round++) {
+            scanNanos = time(queries, customModelData -> scan(options, true, customModelData, 0, false));
+            selectorNanos = time(queries, customModelData -> selector.select(customModelData, 0, false));
+        }
+
+        System.out.printf("Custom item selection with %d options: scan %d ns/op, compiled %d ns/op%n", options.size(),
+                scanNanos / queries.length, selectorNanos / queries.length);
+        Assertions.assertTrue(selectorNanos < scanNanos, "Compiled selector is slower than the scan");
+    }
+
+    private static long time(int[] queries, Lookup lookup) {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int customModelData : queries) {
+            if (lookup.find(customModelData) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Assertions.assertEquals(queries.length, found); // Keeps the lookups alive; every query has a match
+        return elapsed;
+    }
+
+    /**
+     * One base item with many CustomModelData variants, as resource pack servers register them
+     */
+    private static List<Pair<CustomItemOptions, ItemDefinition>> manyCustomModelDataOptions() {
+        List<Pair<CustomItemOptions, ItemDefinition>> options = new ArrayList<>(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            CustomItemOptions option = new GeyserCustomItemOptions(TriState.NOT_SET, OptionalInt.of(i), OptionalInt.empty(), false);
+            options.add(Pair.of(option, new SimpleItemDefinition("geyser:test_item_" + i, i, true)));
+        }
+        // Same as ItemRegistryPopulator
+        Collections.reverse(options);
+        return options;
+    }
+
+    private static List<Pair<CustomItemOptions, ItemDefinition>> randomOptions(Random random, int count, int maxCustomModelData, boolean withDamage) {
+        List<Pair<CustomItemOptions, ItemDefinition>> options = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CustomItemOptions option = new GeyserCustomItemOptions(
+                    withDamage ? TRI_STATES[random.nextInt(TRI_STATES.length)] : TriState.NOT_SET,
+                    random.nextInt(10) == 0 ? OptionalInt.empty() : OptionalInt.of(random.nextInt(maxCustomModelData)),
+                    withDamage && random.nextBoolean() ? OptionalInt.of(random.nextInt(40)) : OptionalInt.empty(),
+                    random.nextInt(50) == 0
+            );
+            options.add(Pair.of(option, new SimpleItemDefinition("geyser:test_item_" + i, i + 1, true)));
+        }
+        return options;
+    }
+
+    /**
+     * The in-order scan CustomItemTranslator used before options were compiled.
+     */
+    private static ItemDefinition scan(List<Pair<CustomItemOptions, ItemDefinition>> customMappings, boolean checkDamage,
+                                       int customModelData, int damage, boolean unbreakable) {
+        for (Pair<CustomItemOptions, ItemDefinition> mappingTypes : customMappings) {
+            CustomItemOptions options = mappingTypes.key();
+
+            if (checkDamage) {
+                if (unbreakable && options.unbreakable() == TriState.FALSE) {
+                    continue;
+                }
+
+                OptionalInt damagePredicate = options.damagePredicate();
+                if (damagePredicate.isPresent() && damage < damagePredicate.getAsInt()) {
+                    continue;
+                }
+            } else {
+                if (options.unbreakable() != TriState.NOT_SET || options.damagePredicate().isPresent()) {
+                    continue;
+                }
+            }
+
+            OptionalInt customModelDataOption = options.customModelData();
+            if (customModelDataOption.isPresent() && customModelData < customModelDataOption.getAsInt()) {
+                continue;
+            }
+
+            if (options.defaultItem()) {
+                return null;
+            }
+
+            return mappingTypes.value();
+        }
+
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        ItemDefinition find(int customModelData);
+    }
+}
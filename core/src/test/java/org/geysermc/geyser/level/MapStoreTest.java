@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level;
+
+import com.github.steveice10.mc.protocol.data.game.level.map.MapData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class MapStoreTest {
+    private static final MapStore.MapKey KEY = new MapStore.MapKey("localhost:25565", 0);
+
+    private static MapData fullImage(byte color) {
+        byte[] data = new byte[MapStore.MAP_SIZE * MapStore.MAP_SIZE];
+        Arrays.fill(data, color);
+        return new MapData(MapStore.MAP_SIZE, MapStore.MAP_SIZE, 0, 0, data);
+    }
+
+    @Test
+    public void testEqualImagesAreShared() {
+        MapStore.MapPixels first = MapStore.update(KEY, null, fullImage((byte) 4));
+        MapStore.MapPixels second = MapStore.update(KEY, null, fullImage((byte) 4));
+        Assertions.assertNotNull(first);
+        Assertions.assertSame(first, second);
+
+        MapStore.release(first);
+        MapStore.release(second);
+    }
+
+    @Test
+    public void testPatches() {
+        // A patch can't be stored without a full image
+        MapData patch = new MapData(2, 1, 10, 20, new byte[] {8, 9});
+        Assertions.assertNull(MapStore.update(KEY, null, patch));
+
+        MapStore.MapPixels first = MapStore.update(KEY, null, fullImage((byte) 4));
+        MapStore.MapPixels second = MapStore.update(KEY, null, fullImage((byte) 4));
+
+        // The image is shared, so it is copied before being patched
+        MapStore.MapPixels patched = MapStore.update(KEY, first, patch);
+        Assertions.assertNotSame(second, patched);
+        int[] colors = MapStore.toARGB(patched);
+        Assertions.assertEquals(MapColor.toARGB(8), colors[20 * MapStore.MAP_SIZE + 10]);
+        Assertions.assertEquals(MapColor.toARGB(9), colors[20 * MapStore.MAP_SIZE + 11]);
+        Assertions.assertEquals(MapColor.toARGB(4), colors[20 * MapStore.MAP_SIZE + 12]);
+        Assertions.assertEquals(MapColor.toARGB(4), MapStore.toARGB(second)[20 * MapStore.MAP_SIZE + 10]);
+
+        // The same patch received by the other session joins the patched image again
+        Assertions.assertSame(patched, MapStore.update(KEY, second, patch));
+
+        MapStore.release(patched);
+        MapStore.release(patched);
+    }
+}
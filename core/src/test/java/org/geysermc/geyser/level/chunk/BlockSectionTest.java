@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BlockSectionTest {
+
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(0);
+        for (int paletteSize : new int[] {1, 2, 3, 16, 17, 300}) {
+            int[] states = new int[BlockSection.SIZE];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = 1000 + random.nextInt(paletteSize);
+            }
+            BlockSection section = BlockSection.of(states);
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        Assertions.assertEquals(states[y << 8 | z << 4 | x], section.get(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUpdatesAreCanonical() {
+        int[] states = new int[BlockSection.SIZE];
+        BlockSection air = BlockSection.of(states);
+        Assertions.assertTrue(air.isSingleValue(0));
+
+        BlockSection stone = air.with(3, 4, 5, 1);
+        Assertions.assertEquals(1, stone.get(3, 4, 5));
+        Assertions.assertEquals(0, stone.get(4, 4, 5));
+        Assertions.assertNotEquals(air, stone);
+
+        // Removing the block again drops it from the palette, so the section equals a fresh air section
+        BlockSection removed = stone.with(3, 4, 5, 0);
+        Assertions.assertEquals(air, removed);
+        Assertions.assertEquals(air.getSizeInBytes(), removed.getSizeInBytes());
+
+        states[3] = 1;
+        Assertions.assertEquals(BlockSection.of(states), air.with(3, 0, 0, 1));
+    }
+
+    @Test
+    public void testInterning() {
+        int[] states = new int[BlockSection.SIZE];
+        states[10] = 5;
+        BlockSection first = SectionStore.intern(BlockSection.of(states));
+        int sections = SectionStore.getSectionCount();
+        BlockSection second = SectionStore.intern(BlockSection.of(states));
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(sections, SectionStore.getSectionCount());
+
+        SectionStore.release(first);
+        Assertions.assertEquals(sections, SectionStore.getSectionCount());
+        SectionStore.release(second);
+        Assertions.assertEquals(sections - 1, SectionStore.getSectionCount());
+    }
+
+    @Test
+    public void testMutableCopy() {
+        Random random = new Random(1);
+        int[] states = new int[BlockSection.SIZE];
+        BlockSection air = BlockSection.of(states);
+        BlockSection section = air.mutableCopy();
+        Assertions.assertTrue(section.isMutable());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SectionStore.intern(section));
+
+        // Enough different states to repack the indices a few times
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(16);
+            int y = random.nextInt(16);
+            int z = random.nextInt(16);
+            int state = random.nextInt(i < 10_000 ? 3 : 600);
+            section.set(x, y, z, state);
+            states[y << 8 | z << 4 | x] = state;
+        }
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    Assertions.assertEquals(states[y << 8 | z << 4 | x], section.get(x, y, z));
+                }
+            }
+        }
+
+        // The shared section is left untouched
+        Assertions.assertTrue(air.isSingleValue(0));
+        Assertions.assertNotEquals(BlockSection.of(states), section);
+        Assertions.assertThrows(IllegalStateException.class, () -> air.set(0, 0, 0, 1));
+    }
+}
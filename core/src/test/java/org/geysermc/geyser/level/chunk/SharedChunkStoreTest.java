@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SharedChunkStoreTest {
+    private static final SharedChunkStore.ColumnKey KEY = new SharedChunkStore.ColumnKey("localhost:25565", "world", 0, "minecraft:overworld", 0);
+
+    private static GeyserChunk column(int block) {
+        int[] states = new int[BlockSection.SIZE];
+        states[0] = block;
+        return new GeyserChunk(new BlockSection[] {SectionStore.intern(BlockSection.of(states)), null});
+    }
+
+    @Test
+    public void testEqualColumnsAreShared() {
+        GeyserChunk first = SharedChunkStore.share(KEY, column(1));
+        GeyserChunk second = SharedChunkStore.share(KEY, column(1));
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(2, SharedChunkStore.getReferences(first));
+
+        SharedChunkStore.release(second);
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(first));
+        SharedChunkStore.release(first);
+    }
+
+    @Test
+    public void testDivergentColumnsAreNotShared() {
+        long divergent = SharedChunkStore.getDivergentColumns();
+        GeyserChunk first = SharedChunkStore.share(KEY, column(1));
+        // e.g. anti-xray showing this player a different block
+        GeyserChunk second = SharedChunkStore.share(KEY, column(2));
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(divergent + 1, SharedChunkStore.getDivergentColumns());
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(first));
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(second));
+
+        // The newest column is the one later players join
+        GeyserChunk third = SharedChunkStore.share(KEY, column(2));
+        Assertions.assertSame(second, third);
+
+        SharedChunkStore.release(first);
+        SharedChunkStore.release(second);
+        SharedChunkStore.release(third);
+    }
+
+    @Test
+    public void testDetach() {
+        GeyserChunk first = SharedChunkStore.share(KEY, column(3));
+        GeyserChunk second = SharedChunkStore.share(KEY, column(3));
+
+        // Held by two sessions, so the caller gets its own copy
+        GeyserChunk copy = SharedChunkStore.detach(second);
+        Assertions.assertNotSame(first, copy);
+        Assertions.assertArrayEquals(first.sections(), copy.sections());
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(first));
+        Assertions.assertEquals(0, SharedChunkStore.getReferences(copy));
+
+        // Only held by one session; it stays the same column but isn't offered anymore
+        Assertions.assertSame(first, SharedChunkStore.detach(first));
+        Assertions.assertEquals(0, SharedChunkStore.getReferences(first));
+        GeyserChunk third = SharedChunkStore.share(KEY, column(3));
+        Assertions.assertNotSame(first, third);
+        Assertions.assertNotSame(copy, third);
+
+        SharedChunkStore.release(first);
+        SharedChunkStore.release(copy);
+        SharedChunkStore.release(third);
+    }
+
+    @Test
+    public void testWorldsBehindOneProxyAreSeparate() {
+        SharedChunkStore.ColumnKey lobby = new SharedChunkStore.ColumnKey("localhost:25565", "lobby", 1, "minecraft:overworld", 0);
+        SharedChunkStore.ColumnKey survival = new SharedChunkStore.ColumnKey("localhost:25565", "world", 2, "minecraft:overworld", 0);
+        GeyserChunk first = SharedChunkStore.share(lobby, column(4));
+        GeyserChunk second = SharedChunkStore.share(survival, column(4));
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(first));
+        Assertions.assertEquals(1, SharedChunkStore.getReferences(second));
+
+        SharedChunkStore.release(first);
+        SharedChunkStore.release(second);
+    }
+}
@@ -26,6 +26,8 @@
 package org.geysermc.geyser.network.translators.chat;
 
 import com.github.steveice10.mc.protocol.data.DefaultComponentSerializer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -94,6 +96,18 @@ public class MessageTranslatorTest {
         Assertions.assertEquals("     ", MessageTranslator.convertToPlainTextLenient("     ", "en_US"), "Whitespace is not preserved");
     }
 
+    @Test
+    public void convertMessageCached() {
+        Component message = Component.text("Cached broadcast", NamedTextColor.GOLD);
+        String first = MessageTranslator.convertMessage(message, "en_US");
+
+        long hits = MessageTranslator.getConversionCacheStats().hitCount();
+        // Locales are cached case-insensitively, and equal components share the same entry
+        String second = MessageTranslator.convertMessage(Component.text("Cached broadcast", NamedTextColor.GOLD), "en_us");
+        Assertions.assertEquals(first, second, "Cached conversion differs from the original conversion");
+        Assertions.assertEquals(hits + 1, MessageTranslator.getConversionCacheStats().hitCount(), "Equal component was not served from the cache");
+    }
+
     @Test
     public void testNullTextPacket() {
         DefaultComponentSerializer.get().deserialize("null");
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.populator;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.cloudburstmc.nbt.NbtMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public class BlockPaletteSnapshotTest {
+    private static final List<NbtMap> BLOCK_STATES = List.of(
+            state("minecraft:air", NbtMap.EMPTY),
+            state("minecraft:stone", NbtMap.builder().putString("stone_type", "stone").build()),
+            state("minecraft:stone", NbtMap.builder().putString("stone_type", "granite").build()),
+            state("minecraft:oak_log", NbtMap.builder().putString("pillar_axis", "y").build()),
+            state("minecraft:water", NbtMap.builder().putInt("liquid_depth", 0).build()),
+            state("minecraft:lever", NbtMap.builder()
+                    .putString("lever_direction", "north")
+                    .putBoolean("open_bit", true)
+                    .build())
+    );
+    private static final int[] VANILLA_INDICES = {0, 1, 2, -1, 3, 4, 4, 5};
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = folder.resolve("block_palette.test.bin");
+        BlockPaletteSnapshot.write(file, 42, BLOCK_STATES, VANILLA_INDICES);
+
+        Interner<NbtMap> statesInterner = Interners.newStrongInterner();
+        BlockPaletteSnapshot snapshot = BlockPaletteSnapshot.read(file, 42, VANILLA_INDICES.length, statesInterner);
+        Assertions.assertNotNull(snapshot);
+        Assertions.assertEquals(BLOCK_STATES, snapshot.blockStates());
+        for (int i = 0; i < VANILLA_INDICES.length; i++) {
+            Assertions.assertEquals(VANILLA_INDICES[i], snapshot.vanillaIndex(i));
+        }
+        // Loaded states are shared with the other palettes
+        Assertions.assertSame(statesInterner.intern(BLOCK_STATES.get(1).getCompound("states")),
+                snapshot.blockStates().get(1).getCompound("states"));
+
+        // The file can be replaced while the snapshot is in use
+        BlockPaletteSnapshot.write(file, 43, BLOCK_STATES.subList(0, 2), new int[] {0, 1});
+        Assertions.assertNotNull(BlockPaletteSnapshot.read(file, 43, 2, statesInterner));
+    }
+
+    @Test
+    public void testStaleSnapshot() throws IOException {
+        Path file = folder.resolve("block_palette.stale.bin");
+        BlockPaletteSnapshot.write(file, 42, BLOCK_STATES, VANILLA_INDICES);
+
+        Interner<NbtMap> statesInterner = Interners.newStrongInterner();
+        // Written by another build
+        Assertions.assertNull(BlockPaletteSnapshot.read(file, 43, VANILLA_INDICES.length, statesInterner));
+        // The Java block states changed
+        Assertions.assertNull(BlockPaletteSnapshot.read(file, 42, VANILLA_INDICES.length + 1, statesInterner));
+    }
+
+    private static NbtMap state(String name, NbtMap states) {
+        return NbtMap.builder().putString("name", name).putCompound("states", states).build();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.registry.type;
+
+import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Random;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ItemMappingIndexTest {
+    private static final int MAPPINGS = 2000;
+
+    private final BlockDefinition[] blocks = new BlockDefinition[16];
+
+    private int[] runtimeIds;
+    private int[] damages;
+    private BlockDefinition[] blockDefinitions;
+    private boolean[] anyDamage;
+    private boolean[] excluded;
+
+    @Test
+    public void testEquivalentToScan() {
+        Random random = new Random(1234);
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = new TestBlockDefinition(i);
+        }
+
+        runtimeIds = new int[MAPPINGS];
+        damages = new int[MAPPINGS];
+        blockDefinitions = new BlockDefinition[MAPPINGS];
+        anyDamage = new boolean[MAPPINGS];
+        excluded = new boolean[MAPPINGS];
+        for (int i = 0; i < MAPPINGS; i++) {
+            // Few runtime IDs and damage values, so buckets share both like dyes and potions do
+            runtimeIds[i] = random.nextInt(200);
+            damages[i] = random.nextInt(4) == 0 ? random.nextInt(8) : 0;
+            blockDefinitions[i] = random.nextBoolean() ? blocks[random.nextInt(blocks.length)] : null;
+            anyDamage[i] = random.nextInt(20) == 0;
+            excluded[i] = random.nextInt(30) == 0;
+        }
+
+        ItemMappingIndex index = ItemMappingIndex.create(runtimeIds, damages, blockDefinitions, anyDamage, excluded);
+        for (int runtimeId = -1; runtimeId <= 201; runtimeId++) {
+            for (int damage = 0; damage < 10; damage++) {
+                Assertions.assertEquals(scan(runtimeId, damage, null), index.find(runtimeId, damage, null),
+                        "Runtime ID " + runtimeId + ", damage " + damage);
+                for (BlockDefinition block : blocks) {
+                    Assertions.assertEquals(scan(runtimeId, damage, block), index.find(runtimeId, damage, block),
+                            "Runtime ID " + runtimeId + ", damage " + damage + ", block " + block);
+                }
+            }
+        }
+    }
+
+    /**
+     * The linear scan {@link ItemMappings#getMapping(org.cloudburstmc.protocol.bedrock.data.inventory.ItemData)} used before the index.
+     */
+    private int scan(int runtimeId, int damage, BlockDefinition blockDefinition) {
+        boolean isBlock = blockDefinition != null;
+        boolean hasDamage = damage != 0;
+
+        for (int i = 0; i < runtimeIds.length; i++) {
+            if (runtimeIds[i] == runtimeId) {
+                if (isBlock && !hasDamage) {
+                    if (blockDefinition != blockDefinitions[i]) {
+                        continue;
+                    }
+                } else {
+                    if (!(damages[i] == damage || anyDamage[i])) {
+                        continue;
+                    }
+                }
+                if (!excluded[i]) {
+                    return i;
+                }
+            }
+        }
+        return ItemMappingIndex.NOT_FOUND;
+    }
+
+    private record TestBlockDefinition(int getRuntimeId) implements BlockDefinition {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.scoreboard;
+
+import org.cloudburstmc.protocol.bedrock.data.ScoreInfo;
+import org.cloudburstmc.protocol.bedrock.packet.SetScorePacket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScoreboardSnapshotCacheTest {
+
+    @Test
+    public void testSharedScores() {
+        long id = ScoreboardSnapshotCache.scoreId("sidebar", "Player");
+        Assertions.assertEquals(id, ScoreboardSnapshotCache.scoreId("sidebar", "Player"));
+        Assertions.assertNotEquals(id, ScoreboardSnapshotCache.scoreId("sidebar", "Other"));
+        Assertions.assertNotEquals(id, ScoreboardSnapshotCache.scoreId("list", "Player"));
+
+        ScoreInfo info = ScoreboardSnapshotCache.scoreInfo(id, "sidebar", 3, "Player");
+        Assertions.assertSame(info, ScoreboardSnapshotCache.scoreInfo(id, "sidebar", 3, "Player"));
+        Assertions.assertNotSame(info, ScoreboardSnapshotCache.scoreInfo(id, "sidebar", 4, "Player"));
+    }
+
+    @Test
+    public void testSharedScorePackets() {
+        ScoreInfo first = ScoreboardSnapshotCache.scoreInfo(ScoreboardSnapshotCache.scoreId("packets", "a"), "packets", 1, "a");
+        ScoreInfo second = ScoreboardSnapshotCache.scoreInfo(ScoreboardSnapshotCache.scoreId("packets", "b"), "packets", 2, "b");
+
+        // Every session builds its own list of changes
+        List<ScoreInfo> session1 = new ArrayList<>(List.of(first, second));
+        List<ScoreInfo> session2 = new ArrayList<>(List.of(first, second));
+        SetScorePacket packet = ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.SET, session1);
+        Assertions.assertSame(packet, ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.SET, session2));
+        Assertions.assertEquals(SetScorePacket.Action.SET, packet.getAction());
+        Assertions.assertEquals(List.of(first, second), packet.getInfos());
+
+        // The session's list is not retained
+        session1.clear();
+        Assertions.assertEquals(List.of(first, second), packet.getInfos());
+
+        Assertions.assertNotSame(packet, ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.REMOVE, session2));
+        Assertions.assertNotSame(packet, ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.SET, List.of(second, first)));
+        Assertions.assertNotSame(packet, ScoreboardSnapshotCache.setScorePacket(SetScorePacket.Action.SET, List.of(first)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.text;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class LocaleTableTest {
+    private static final Map<String, String> LANG = Map.of(
+            "block.minecraft.stone", "Stone",
+            "chat.type.text", "<%s> %s",
+            "empty", ""
+    );
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testLookup() throws IOException {
+        LocaleTable table = LocaleTable.load(folder.resolve("en_us.bin"), 1, () -> LANG);
+        Assertions.assertNotNull(table);
+        for (Map.Entry<String, String> entry : LANG.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), table.get(entry.getKey()));
+        }
+        Assertions.assertNull(table.get("block.minecraft.dirt"));
+        // Decoded values are kept
+        Assertions.assertSame(table.get("block.minecraft.stone"), table.get("block.minecraft.stone"));
+    }
+
+    @Test
+    public void testCacheFile() throws IOException {
+        Path cacheFile = folder.resolve("de_de.bin");
+        LocaleTable.load(cacheFile, 1, () -> LANG);
+        Assertions.assertTrue(Files.exists(cacheFile));
+
+        LocaleTable cached = LocaleTable.load(cacheFile, 1, () -> {
+            throw new AssertionError("The cache file should have been used");
+        });
+        Assertions.assertNotNull(cached);
+        Assertions.assertEquals("Stone", cached.get("block.minecraft.stone"));
+
+        // A different source stamp means the locale files changed
+        LocaleTable rebuilt = LocaleTable.load(cacheFile, 2, () -> Map.of("block.minecraft.stone", "Stein"));
+        Assertions.assertNotNull(rebuilt);
+        Assertions.assertEquals("Stein", rebuilt.get("block.minecraft.stone"));
+        Assertions.assertNull(rebuilt.get("chat.type.text"));
+    }
+
+    @Test
+    public void testEmptyLocale() throws IOException {
+        Assertions.assertNull(LocaleTable.load(folder.resolve("xx_xx.bin"), 1, Map::of));
+    }
+}
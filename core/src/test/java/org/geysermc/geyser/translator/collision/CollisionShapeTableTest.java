@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.collision;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.geysermc.geyser.level.physics.Axis;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class CollisionShapeTableTest {
+    private static final BlockCollision[] COLLISIONS = {
+            null,
+            // Full block
+            new OtherCollision(new BoundingBox[] {new BoundingBox(0.5, 0.5, 0.5, 1, 1, 1)}),
+            // Stairs
+            new OtherCollision(new BoundingBox[] {
+                    new BoundingBox(0.5, 0.25, 0.5, 1, 0.5, 1),
+                    new BoundingBox(0.5, 0.75, 0.75, 1, 0.5, 0.5)
+            }),
+            // Fence
+            new OtherCollision(new BoundingBox[] {new BoundingBox(0.5, 0.75, 0.5, 0.25, 1.5, 0.25)})
+    };
+
+    private static CollisionShapeTable createTable() {
+        Int2ObjectMap<BlockCollision> collisionMap = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < COLLISIONS.length; i++) {
+            collisionMap.put(i, COLLISIONS[i]);
+        }
+        return CollisionShapeTable.of(collisionMap, COLLISIONS.length);
+    }
+
+    @Test
+    public void testMatchesBlockCollision() {
+        CollisionShapeTable table = createTable();
+        Assertions.assertTrue(table.isEmpty(0));
+        Assertions.assertTrue(table.isEmpty(-1));
+        Assertions.assertTrue(table.isEmpty(COLLISIONS.length));
+        Assertions.assertEquals(0, table.getFlags(1));
+
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            int blockId = 1 + random.nextInt(COLLISIONS.length - 1);
+            BlockCollision collision = COLLISIONS[blockId];
+            int x = random.nextInt(64) - 32;
+            int y = random.nextInt(64) - 32;
+            int z = random.nextInt(64) - 32;
+            BoundingBox player = new BoundingBox(x + random.nextDouble() * 3 - 1, y + random.nextDouble() * 4 - 1,
+                    z + random.nextDouble() * 3 - 1, 0.6, 1.8, 0.6);
+
+            Assertions.assertEquals(collision.checkIntersection(x, y, z, player), table.checkIntersection(blockId, x, y, z, player));
+
+            for (Axis axis : Axis.VALUES) {
+                double offset = random.nextDouble() * 4 - 2;
+                Assertions.assertEquals(collision.computeCollisionOffset(x, y, z, player, axis, offset),
+                        table.computeCollisionOffset(blockId, x, y, z, player, axis, offset));
+            }
+
+            BoundingBox expected = player.clone();
+            collision.correctPosition(null, x, y, z, expected);
+            table.correctPosition(blockId, x, y, z, player);
+            Assertions.assertEquals(expected, player);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MathUtilsTest {
+
+    @Test
+    public void testBlockPositionPacking() {
+        int[][] positions = {{0, 0, 0}, {-1, -64, -1}, {33554431, 2047, -33554432}, {-30000000, 319, 30000000}};
+        for (int[] position : positions) {
+            long packed = MathUtils.blockPositionToLong(position[0], position[1], position[2]);
+            Assertions.assertEquals(position[0], MathUtils.unpackBlockX(packed));
+            Assertions.assertEquals(position[1], MathUtils.unpackBlockY(packed));
+            Assertions.assertEquals(position[2], MathUtils.unpackBlockZ(packed));
+        }
+        Assertions.assertNotEquals(MathUtils.blockPositionToLong(1, 0, 0), MathUtils.blockPositionToLong(0, 0, 1));
+    }
+}
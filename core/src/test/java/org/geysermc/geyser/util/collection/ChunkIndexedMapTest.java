@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019-2024 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util.collection;
+
+import org.cloudburstmc.math.vector.Vector3i;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class ChunkIndexedMapTest {
+
+    @Test
+    public void testChunkQueries() {
+        ChunkIndexedMap<String> map = new ChunkIndexedMap<>();
+        map.put(Vector3i.from(1, 64, 1), "a");
+        map.put(Vector3i.from(15, -10, 15), "b");
+        map.put(Vector3i.from(-1, 64, 0), "c");
+        map.put(Vector3i.from(100, 64, 100), "d");
+        Assertions.assertEquals(4, map.size());
+
+        Set<String> found = new HashSet<>();
+        map.forEachInChunk(0, 0, (position, value) -> found.add(value));
+        Assertions.assertEquals(Set.of("a", "b"), found);
+
+        found.clear();
+        map.forEachNear(0, 0, 16, (position, value) -> found.add(value));
+        Assertions.assertEquals(Set.of("a", "b", "c"), found);
+
+        found.clear();
+        map.removeChunk(-1, 0, (position, value) -> found.add(value));
+        Assertions.assertEquals(Set.of("c"), found);
+        Assertions.assertNull(map.get(Vector3i.from(-1, 64, 0)));
+        Assertions.assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testRemoval() {
+        ChunkIndexedMap<String> map = new ChunkIndexedMap<>();
+        Vector3i position = Vector3i.from(-20, 0, 40);
+        Assertions.assertEquals("a", map.computeIfAbsent(position, pos -> "a"));
+        Assertions.assertEquals("a", map.computeIfAbsent(position, pos -> "b"));
+
+        Assertions.assertFalse(map.remove(position, "b"));
+        Assertions.assertTrue(map.containsKey(position));
+        Assertions.assertTrue(map.remove(position, "a"));
+        Assertions.assertTrue(map.isEmpty());
+
+        map.put(position, "a");
+        map.put(Vector3i.from(0, 0, 0), "b");
+        map.removeIf((pos, value) -> value.equals("a"));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("b", map.get(Vector3i.ZERO));
+    }
+}